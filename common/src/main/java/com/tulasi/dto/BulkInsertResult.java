@@ -0,0 +1,14 @@
+package com.tulasi.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk insert. Rows listed in {@code errors} were skipped; every
+ * other row was inserted and its generated id is in {@code ids}, in request order.
+ */
+public record BulkInsertResult(int received, int inserted, List<Integer> ids, List<RowError> errors) {
+
+	public record RowError(int index, String message) {
+	}
+
+}
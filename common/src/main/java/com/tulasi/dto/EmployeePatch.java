@@ -0,0 +1,20 @@
+package com.tulasi.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Partial update body for PATCH /api/{id}. Only non-null fields are written.
+ */
+public record EmployeePatch(
+		@Pattern(regexp = ".*\\S.*", message = "Name cannot be empty") String name,
+		@Pattern(regexp = ".*\\S.*", message = "Department cannot be empty") String department,
+		@Min(value = 1000, message = "Salary must be at least 1000") Double salary,
+		String email,
+		String phno) {
+
+	public boolean isEmpty() {
+		return name == null && department == null && salary == null && email == null && phno == null;
+	}
+
+}
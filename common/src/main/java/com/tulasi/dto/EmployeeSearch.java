@@ -0,0 +1,9 @@
+package com.tulasi.dto;
+
+/**
+ * Filters for GET /api/search. Null fields are not applied; the rest are
+ * combined with AND.
+ */
+public record EmployeeSearch(String department, Double minSalary, Double maxSalary, String email,
+		String namePrefix) {
+}
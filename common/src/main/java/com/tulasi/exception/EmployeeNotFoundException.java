@@ -1,6 +1,6 @@
 package com.tulasi.exception;
 
-public class EmployeeNotFoundException extends RuntimeException{
+public class EmployeeNotFoundException extends StacklessException {
 	public EmployeeNotFoundException(String msg) {
 		super(msg);
 	}
@@ -0,0 +1,9 @@
+package com.tulasi.exception;
+
+// the row exists but its version no longer matches the client's If-Match
+public class EmployeeVersionMismatchException extends StacklessException {
+	public EmployeeVersionMismatchException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.tulasi.exception;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rate-limited logging of handled errors, aggregated per exception type.
+ * <p>
+ * The first error of a type in each {@code interval} is logged as it happens
+ * (5xx at ERROR with its stack trace, 4xx at INFO with the message only). The
+ * rest are just counted and reported as one summary line when the interval
+ * has passed, either by the next occurrence or by {@link #flush()}. Recording
+ * a repeat allocates nothing.
+ */
+public class ErrorLog {
+
+	private static final Logger logger = LoggerFactory.getLogger(ErrorLog.class);
+
+	private final long intervalNanos;
+	private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+	public ErrorLog(Duration interval) {
+		this.intervalNanos = interval.toNanos();
+	}
+
+	public void record(int status, Throwable ex) {
+		Window window = windows.get(ex.getClass());
+		if (window == null) {
+			window = windows.computeIfAbsent(ex.getClass(), type -> new Window(status, System.nanoTime() - intervalNanos));
+		}
+		long now = System.nanoTime();
+		long start = window.start.get();
+		if (now - start >= intervalNanos && window.start.compareAndSet(start, now)) {
+			report(ex.getClass(), window);
+			if (status >= 500) {
+				logger.error("{} {}: {} (repeats in the next {}s are counted)", status, ex.getClass().getSimpleName(),
+						ex.getMessage(), intervalSeconds(), ex);
+			} else {
+				logger.info("{} {}: {} (repeats in the next {}s are counted)", status, ex.getClass().getSimpleName(),
+						ex.getMessage(), intervalSeconds());
+			}
+		} else {
+			window.suppressed.increment();
+			window.lastMessage = ex.getMessage();
+		}
+	}
+
+	// reports windows that have ended; run periodically so counts show up even when the errors stop
+	public void flush() {
+		long now = System.nanoTime();
+		windows.forEach((type, window) -> {
+			if (now - window.start.get() >= intervalNanos) {
+				report(type, window);
+			}
+		});
+	}
+
+	private void report(Class<?> type, Window window) {
+		long repeats = window.suppressed.sumThenReset();
+		if (repeats == 0) {
+			return;
+		}
+		if (window.status >= 500) {
+			logger.error("{} {} repeated {} more times (last: {})", window.status, type.getSimpleName(), repeats,
+					window.lastMessage);
+		} else {
+			logger.info("{} {} repeated {} more times (last: {})", window.status, type.getSimpleName(), repeats,
+					window.lastMessage);
+		}
+	}
+
+	private long intervalSeconds() {
+		return Duration.ofNanos(intervalNanos).toSeconds();
+	}
+
+	private static final class Window {
+
+		private final int status;
+		// when the last immediately-logged occurrence happened
+		private final AtomicLong start;
+		private final LongAdder suppressed = new LongAdder();
+		private volatile String lastMessage;
+
+		Window(int status, long start) {
+			this.status = status;
+			this.start = new AtomicLong(start);
+		}
+
+	}
+
+}
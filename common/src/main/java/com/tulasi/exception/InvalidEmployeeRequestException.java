@@ -0,0 +1,8 @@
+package com.tulasi.exception;
+
+public class InvalidEmployeeRequestException extends StacklessException {
+	public InvalidEmployeeRequestException(String msg) {
+		super(msg);
+	}
+
+}
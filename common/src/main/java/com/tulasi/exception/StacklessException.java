@@ -0,0 +1,15 @@
+package com.tulasi.exception;
+
+/**
+ * Base for expected outcomes that end in a 4xx response (unknown id, bad input,
+ * stale version, full queue). They are thrown often, by id-scanning clients
+ * among others, and the message says everything, so no stack trace is filled
+ * in and no suppressed list is kept.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+	protected StacklessException(String msg) {
+		super(msg, null, false, false);
+	}
+
+}
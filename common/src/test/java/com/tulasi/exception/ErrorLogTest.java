@@ -0,0 +1,78 @@
+package com.tulasi.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class ErrorLogTest {
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(ErrorLog.class);
+	private final ListAppender<ILoggingEvent> lines = new ListAppender<>();
+
+	@BeforeEach
+	void attach() {
+		lines.start();
+		logger.addAppender(lines);
+	}
+
+	@AfterEach
+	void detach() {
+		logger.detachAppender(lines);
+	}
+
+	@Test
+	void testRepeatsAreCountedAndSummarisedOnce() throws Exception {
+		ErrorLog errorLog = new ErrorLog(Duration.ofMillis(200));
+		for (int id = 1; id <= 1000; id++) {
+			errorLog.record(404, new EmployeeNotFoundException("Employee not found with id:" + id));
+		}
+		assertEquals(1, lines.list.size());
+		assertEquals(Level.INFO, lines.list.get(0).getLevel());
+		assertTrue(lines.list.get(0).getFormattedMessage().contains("Employee not found with id:1"));
+
+		errorLog.flush();
+		assertEquals(1, lines.list.size(), "interval has not ended yet");
+
+		Thread.sleep(250);
+		errorLog.flush();
+		assertEquals(2, lines.list.size());
+		assertEquals("404 EmployeeNotFoundException repeated 999 more times (last: Employee not found with id:1000)",
+				lines.list.get(1).getFormattedMessage());
+
+		errorLog.flush();
+		assertEquals(2, lines.list.size(), "nothing new to report");
+	}
+
+	@Test
+	void testServerErrorsKeepTheirStackTrace() {
+		ErrorLog errorLog = new ErrorLog(Duration.ofMinutes(1));
+		errorLog.record(500, new IllegalStateException("boom"));
+		errorLog.record(404, new EmployeeNotFoundException("gone"));
+
+		List<ILoggingEvent> events = lines.list;
+		assertEquals(2, events.size());
+		assertEquals(Level.ERROR, events.get(0).getLevel());
+		assertEquals("boom", events.get(0).getThrowableProxy().getMessage());
+		assertNull(events.get(1).getThrowableProxy());
+	}
+
+	@Test
+	void testDomainExceptionsCarryNoStackTrace() {
+		assertEquals(0, new EmployeeNotFoundException("gone").getStackTrace().length);
+		assertEquals(0, new InvalidEmployeeRequestException("bad").getStackTrace().length);
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.tulasi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import jakarta.annotation.Generated;
+
+@SpringBootApplication
+@EnableScheduling
+@Generated("jacoco-ignore")
+public class ReactiveEmployeeApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveEmployeeApplication.class, args);
+	}
+
+}
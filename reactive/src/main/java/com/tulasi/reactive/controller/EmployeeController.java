@@ -0,0 +1,178 @@
+package com.tulasi.reactive.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.exception.EmployeeVersionMismatchException;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.reactive.dto.EmployeePage;
+import com.tulasi.reactive.entity.Employee;
+import com.tulasi.reactive.service.EmployeeService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same routes, parameters, headers and status codes as the servlet
+ * application's EmployeeController. GET /api has no table-wide ETag: the page
+ * is streamed outside a transaction, so a table version read beside it could
+ * be newer than the rows.
+ */
+@RestController
+@RequestMapping("/api")
+public class EmployeeController {
+
+	public static final String NDJSON = "application/x-ndjson";
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	private final EmployeeService service;
+
+	public EmployeeController(EmployeeService service) {
+		this.service = service;
+	}
+
+	@PostMapping("/add")
+	public Mono<ResponseEntity<Employee>> addEmployee(@Valid @RequestBody Employee emp) {
+		return service.addEmployee(emp).map(employee -> new ResponseEntity<>(employee, HttpStatus.CREATED));
+	}
+
+	// per-row validation and duplicate errors come back in the result instead of failing the call
+	@PostMapping("/bulk")
+	public Mono<BulkInsertResult> bulkAddEmployees(@RequestBody List<Employee> emps) {
+		return service.bulkAddEmployees(emps);
+	}
+
+	// ?ids=3,1,2 -> found employees in requested order; unknown ids are left out
+	@GetMapping("/batch")
+	public Flux<Employee> findEmployeesByIds(@RequestParam("ids") List<Integer> ids) {
+		return service.findEmployeesByIds(ids);
+	}
+
+	// ETag is the row version; a matching If-None-Match gets an empty 304
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<Employee>> findemployeeById(@PathVariable("id") int id, ServerWebExchange exchange) {
+		return service.findEmployeeById(id).flatMap(emp -> {
+			String etag = etagOf(emp.getVersion());
+			if (exchange.checkNotModified(etag)) {
+				return Mono.empty();
+			}
+			return Mono.just(ResponseEntity.ok().eTag(etag).body(emp));
+		});
+	}
+
+	// keyset pagination: ?after=<last id seen>&limit=N, next cursor in X-Next-Cursor and Link headers;
+	// ?fields=name,department serializes only those fields (plus id). The body is streamed as rows arrive.
+	@GetMapping
+	public Mono<ResponseEntity<Flux<?>>> findAllEmployees(
+			@RequestParam(name = "after", defaultValue = "0") int after,
+			@RequestParam(name = "limit", defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int limit,
+			@RequestParam(name = "fields", required = false) List<String> fields) {
+		return service.getEmployeesPage(fields, after, limit).map(page -> {
+			HttpHeaders headers = new HttpHeaders();
+			if (page.hasNext()) {
+				String fieldsParam = fields == null || fields.isEmpty() ? "" : "&fields=" + String.join(",", fields);
+				headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+				headers.add(HttpHeaders.LINK, "</api?after=" + page.nextCursor() + "&limit="
+						+ Math.min(Math.max(limit, 1), EmployeeService.MAX_PAGE_SIZE) + fieldsParam + ">; rel=\"next\"");
+			}
+			return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+		});
+	}
+
+	// combinable filters, same keyset paging as GET /api; the Link header keeps the filters
+	@GetMapping("/search")
+	public Mono<ResponseEntity<Flux<?>>> searchEmployees(
+			@RequestParam(name = "department", required = false) String department,
+			@RequestParam(name = "minSalary", required = false) Double minSalary,
+			@RequestParam(name = "maxSalary", required = false) Double maxSalary,
+			@RequestParam(name = "email", required = false) String email,
+			@RequestParam(name = "name", required = false) String namePrefix,
+			@RequestParam(name = "after", defaultValue = "0") int after,
+			@RequestParam(name = "limit", defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int limit,
+			ServerWebExchange exchange) {
+		EmployeeSearch search = new EmployeeSearch(department, minSalary, maxSalary, email, namePrefix);
+		return service.searchEmployees(search, after, limit).map(page -> {
+			HttpHeaders headers = new HttpHeaders();
+			if (page.hasNext()) {
+				headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+				String next = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+						.replaceQueryParam("after", page.nextCursor())
+						.build().toUriString();
+				headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+			}
+			return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+		});
+	}
+
+	// one JSON document per line, written as rows come off the connection
+	@GetMapping(value = "/export", produces = NDJSON)
+	public Flux<Employee> exportEmployees() {
+		return service.exportEmployees();
+	}
+
+	// If-Match makes the write conditional on the row version; a stale tag gets 412
+	@PutMapping("/{id}")
+	public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") int id, @Valid @RequestBody Employee emp,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return service.updateEmployee(id, emp, versionOf(ifMatch))
+				.map(updated -> updated.getVersion() != null
+						? ResponseEntity.ok().eTag(etagOf(updated.getVersion())).body(updated)
+						: ResponseEntity.ok(updated));
+	}
+
+	// writes only the fields present in the body, in one UPDATE
+	@PatchMapping("/{id}")
+	public Mono<ResponseEntity<Void>> patchEmployee(@PathVariable("id") int id, @Valid @RequestBody EmployeePatch patch) {
+		return service.patchEmployee(id, patch).thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+	}
+
+	@DeleteMapping("/{id}")
+	public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable("id") int id,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return service.deleteEmployee(id, versionOf(ifMatch)).thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+	}
+
+	static String etagOf(long version) {
+		return "\"" + version + "\"";
+	}
+
+	// null (unconditional) when If-Match is absent or "*"; weak or foreign tags can never match a row version
+	static Long versionOf(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		if (tag.contains(",")) {
+			throw new InvalidEmployeeRequestException("If-Match must carry a single ETag");
+		}
+		if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+			throw new EmployeeVersionMismatchException("If-Match does not match the current version");
+		}
+		try {
+			return Long.parseLong(tag.substring(1, tag.length() - 1));
+		} catch (NumberFormatException e) {
+			throw new EmployeeVersionMismatchException("If-Match does not match the current version");
+		}
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.tulasi.reactive.dto;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * One keyset page whose rows are still to be streamed. {@code nextCursor} is
+ * known before the first row is read, so it can go out in the headers;
+ * {@code null} on the last page. Items are employees or, for {@code ?fields=},
+ * maps of the selected fields.
+ */
+public record EmployeePage(Flux<?> items, Integer nextCursor) {
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.tulasi.reactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The employee row as mapped by R2DBC; same table, columns and constraints as
+ * the JPA entity of the servlet application. New rows get their id from
+ * {@link com.tulasi.reactive.repo.EmployeeIdAllocator}.
+ */
+@Table("employee")
+@Data
+@NoArgsConstructor
+public class Employee {
+
+	@Id
+	private Integer id;
+	@NotBlank(message = "Name cannot be null or empty")
+	private String name;
+	@NotBlank
+	private String department;
+	@Min(value = 1000, message = "Salary must be at least 1000")
+	private Double salary;
+
+	private String email;
+
+	private String phno;
+
+	// null marks a row that has not been inserted yet; exposed to clients only as the ETag
+	@Version
+	@JsonIgnore
+	private Long version;
+
+	public Employee(Integer id, String name, String department, Double salary, String email, String phno) {
+		this.id = id;
+		this.name = name;
+		this.department = department;
+		this.salary = salary;
+		this.email = email;
+		this.phno = phno;
+	}
+
+}
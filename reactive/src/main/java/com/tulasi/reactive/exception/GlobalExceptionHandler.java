@@ -0,0 +1,106 @@
+package com.tulasi.reactive.exception;
+
+import java.time.Duration;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.exception.EmployeeVersionMismatchException;
+import com.tulasi.exception.ErrorLog;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+
+import jakarta.annotation.Generated;
+
+/**
+ * Same mapping as the servlet application's handler: RFC 7807
+ * {@code application/problem+json} bodies with identical statuses and detail
+ * messages, logged through {@link ErrorLog}. WebFlux reports body validation
+ * failures as {@link WebExchangeBindException} and unconvertible path
+ * variables as a {@link ServerWebInputException} caused by a
+ * {@link TypeMismatchException}.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private final ErrorLog errorLog;
+
+    public GlobalExceptionHandler(@Value("${employee.error-log.interval:PT1M}") Duration interval) {
+        this.errorLog = new ErrorLog(interval);
+    }
+
+    // Handles Employee not found
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ProblemDetail handleEmployeeNotFound(EmployeeNotFoundException ex) {
+        return problem(HttpStatus.NOT_FOUND, ex, ex.getMessage());
+    }
+
+    // Handles validation errors (null fields etc)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ProblemDetail handleValidationErrors(WebExchangeBindException ex) {
+        String errorMessage = ex.getBindingResult().getFieldErrors()
+                .stream()
+                .map(e -> e.getField() + " " + e.getDefaultMessage())
+                .findFirst()
+                .orElse("Validation failed");
+        return problem(HttpStatus.BAD_REQUEST, ex, errorMessage);
+    }
+
+    // Handles requests the service rejects up front (e.g. oversized bulk payloads)
+    @ExceptionHandler(InvalidEmployeeRequestException.class)
+    public ProblemDetail handleInvalidRequest(InvalidEmployeeRequestException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex, ex.getMessage());
+    }
+
+    // Handles If-Match writes that lost the race (or carried a stale ETag)
+    @ExceptionHandler(EmployeeVersionMismatchException.class)
+    public ProblemDetail handleVersionMismatch(EmployeeVersionMismatchException ex) {
+        return problem(HttpStatus.PRECONDITION_FAILED, ex, ex.getMessage());
+    }
+
+    //Handles wrong path variable type (/api/abc) and other unreadable input
+    @ExceptionHandler(ServerWebInputException.class)
+    public ProblemDetail handleInput(ServerWebInputException ex) {
+        if (ex.getCause() instanceof TypeMismatchException) {
+            return problem(HttpStatus.BAD_REQUEST, ex, "Invalid employee ID type. It must be a number.");
+        }
+        return problem(HttpStatus.BAD_REQUEST, ex, ex.getReason());
+    }
+
+    // Handles duplicate email
+    @Generated("jacoco-ignore")
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail handleDuplicate(DataIntegrityViolationException ex) {
+        return problem(HttpStatus.CONFLICT, ex, "Duplicate Employee data not allowed!");
+    }
+    @Generated("jacoco-ignore")
+    @ExceptionHandler(Exception.class)
+    public ProblemDetail handleOtherExceptions(Exception ex) {
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, ex, ex.getMessage());
+    }
+    @Generated("jacoco-ignore")
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ProblemDetail handleDatabaseFailure(DataAccessResourceFailureException ex) {
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, ex, "Database error: " + ex.getMessage());
+    }
+
+    // summaries for errors that stopped repeating; otherwise the next occurrence reports them
+    @Scheduled(fixedDelayString = "${employee.error-log.interval:PT1M}")
+    public void flushErrorLog() {
+        errorLog.flush();
+    }
+
+    private ProblemDetail problem(HttpStatus status, Exception ex, String detail) {
+        errorLog.record(status.value(), ex);
+        return ProblemDetail.forStatusAndDetail(status, detail);
+    }
+}
@@ -0,0 +1,110 @@
+package com.tulasi.reactive.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulasi.reactive.entity.Employee;
+import com.tulasi.reactive.repo.EmployeeTableVersion;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes {@code employee_change} rows for the reactive write paths, in the
+ * shape the servlet application's outbox writes them, so its GET /api/changes
+ * relays changes made here as well.
+ * <p>
+ * Callers chain {@link #record} into the write's transaction, as its last
+ * step, so a change is relayed if and only if it committed. A bulk insert goes
+ * out as multi-row inserts rather than a round trip per employee. Recording
+ * also increments the employee table version behind the servlet application's
+ * list ETag, with the outbox switched off as well.
+ */
+@Component
+public class ChangeOutbox {
+
+	// the servlet side's EmployeeChangedEvent.Type, stored by name
+	public enum Type {
+		CREATED, UPDATED, PATCHED, DELETED
+	}
+
+	/**
+	 * One change: {@code employee} is the new state, only the written fields
+	 * for PATCHED, and null for DELETED.
+	 */
+	public record Change(Type type, int employeeId, Employee employee) {
+	}
+
+	// rows per insert statement, so a 5000-row bulk insert stays within bind parameter limits
+	private static final int ROWS_PER_INSERT = 500;
+
+	private final DatabaseClient db;
+	private final ObjectMapper objectMapper;
+	private final EmployeeTableVersion tableVersion;
+	private final boolean enabled;
+	// H2 will not convert a bound string to its ENUM column on its own; MySQL has no CAST to varchar
+	private final String typeParam;
+
+	public ChangeOutbox(DatabaseClient db, ObjectMapper objectMapper, ConnectionFactory connectionFactory,
+			EmployeeTableVersion tableVersion, @Value("${employee.changes.enabled:true}") boolean enabled) {
+		this.db = db;
+		this.objectMapper = objectMapper;
+		this.tableVersion = tableVersion;
+		this.enabled = enabled;
+		this.typeParam = DialectResolver.getDialect(connectionFactory) instanceof MySqlDialect ? ":t%d"
+				: "cast(:t%d as varchar(16))";
+	}
+
+	public Mono<Void> record(Type type, int employeeId, Employee employee) {
+		return record(List.of(new Change(type, employeeId, employee)));
+	}
+
+	public Mono<Void> record(List<Change> changes) {
+		if (changes.isEmpty()) {
+			return Mono.empty();
+		}
+		Mono<Void> rows = enabled ? Flux.fromIterable(changes).buffer(ROWS_PER_INSERT).concatMap(this::insert).then()
+				: Mono.empty();
+		return rows.then(tableVersion.increment());
+	}
+
+	private Mono<Long> insert(List<Change> changes) {
+		StringBuilder sql = new StringBuilder(
+				"insert into employee_change (employee_id, type, payload, created_at) values ");
+		for (int i = 0; i < changes.size(); i++) {
+			sql.append(i == 0 ? "" : ", ").append("(:e").append(i).append(", ").append(typeParam.formatted(i))
+					.append(", :p").append(i).append(", :c").append(i).append(')');
+		}
+		// local wall-clock time, as Hibernate writes the servlet side's Instant without a JDBC time zone
+		LocalDateTime now = LocalDateTime.now();
+		DatabaseClient.GenericExecuteSpec insert = db.sql(sql.toString());
+		for (int i = 0; i < changes.size(); i++) {
+			Change change = changes.get(i);
+			String payload = payloadOf(change);
+			insert = insert.bind("e" + i, change.employeeId()).bind("t" + i, change.type().name()).bind("c" + i, now);
+			insert = payload == null ? insert.bindNull("p" + i, String.class) : insert.bind("p" + i, payload);
+		}
+		return insert.fetch().rowsUpdated();
+	}
+
+	private String payloadOf(Change change) {
+		if (change.employee() == null) {
+			return null;
+		}
+		try {
+			return objectMapper.writeValueAsString(change.employee());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot serialize employee " + change.employeeId(), e);
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.tulasi.reactive.repo;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import com.tulasi.reactive.entity.Employee;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Assigns ids to new employees from {@code Employee_SEQ}, the sequence the
+ * servlet application's Hibernate pooled generator draws from, so both can
+ * insert into one table. Every value {@code hi} fetched reserves the block
+ * {@code (hi - 50, hi]}, the same block Hibernate derives from it; the
+ * initial value 1 is skipped because Hibernate treats it specially.
+ * <p>
+ * On MySQL the sequence is Hibernate's one-row {@code next_val} table.
+ */
+@Component
+public class EmployeeIdAllocator implements BeforeConvertCallback<Employee> {
+
+	// matches @SequenceGenerator(allocationSize = 50) on the JPA entity
+	static final int ALLOCATION_SIZE = 50;
+
+	private final DatabaseClient db;
+	private final TransactionalOperator tx;
+	private final boolean mysql;
+
+	// current block; next > hi means exhausted. guarded by this
+	private long next = 1;
+	private long hi = 0;
+
+	public EmployeeIdAllocator(DatabaseClient db, ReactiveTransactionManager transactionManager,
+			ConnectionFactory connectionFactory) {
+		this.db = db;
+		// its own transaction, as Hibernate's table generator does: a block stays reserved even when the
+		// insert that needed it rolls back, since ids from it may already be in use
+		this.tx = TransactionalOperator.create(transactionManager,
+				new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+		this.mysql = DialectResolver.getDialect(connectionFactory) instanceof MySqlDialect;
+	}
+
+	@Override
+	public Publisher<Employee> onBeforeConvert(Employee emp, SqlIdentifier table) {
+		if (emp.getId() != null) {
+			return Mono.just(emp);
+		}
+		return nextId().map(id -> {
+			emp.setId(id);
+			return emp;
+		});
+	}
+
+	Mono<Integer> nextId() {
+		Integer id = takeFromBlock();
+		if (id != null) {
+			return Mono.just(id);
+		}
+		// a concurrent refill may win; the losing block is simply left unused
+		return fetchHi().flatMap(hi -> hi <= 1 ? fetchHi() : Mono.just(hi)).map(this::startBlock);
+	}
+
+	private synchronized Integer takeFromBlock() {
+		return next <= hi ? (int) next++ : null;
+	}
+
+	private synchronized int startBlock(long newHi) {
+		hi = newHi;
+		next = newHi - ALLOCATION_SIZE + 1;
+		return (int) next++;
+	}
+
+	private Mono<Long> fetchHi() {
+		if (!mysql) {
+			return db.sql("select next value for Employee_SEQ").map(row -> row.get(0, Long.class)).one();
+		}
+		// what Hibernate's table-backed sequence does: read next_val under a row lock, then advance it
+		return db.sql("select next_val from Employee_SEQ for update").map(row -> row.get(0, Long.class)).one()
+				.flatMap(value -> db.sql("update Employee_SEQ set next_val = :next")
+						.bind("next", value + ALLOCATION_SIZE).then().thenReturn(value))
+				.as(tx::transactional);
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.tulasi.reactive.repo;
+
+import java.util.Collection;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import com.tulasi.reactive.entity.Employee;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EmployeeRepo extends R2dbcRepository<Employee, Integer> {
+
+	// ids only, so the page boundary costs an index range scan and no row reads
+	@Query("select id from employee where id > :after order by id limit :limit")
+	Flux<Integer> findIdsAfter(int after, int limit);
+
+	@Query("select * from employee where id > :after and id <= :upTo order by id")
+	Flux<Employee> findRange(int after, int upTo);
+
+	@Query("select * from employee where id > :after order by id")
+	Flux<Employee> findAllAfter(int after);
+
+	@Query("select email from employee where email in (:emails)")
+	Flux<String> findExistingEmails(Collection<String> emails);
+
+	@Modifying
+	@Query("update employee set name = :name, department = :department, salary = :salary, email = :email,"
+			+ " phno = :phno, version = version + 1 where id = :id")
+	Mono<Integer> updateById(int id, String name, String department, Double salary, String email, String phno);
+
+	@Modifying
+	@Query("update employee set name = :name, department = :department, salary = :salary, email = :email,"
+			+ " phno = :phno, version = version + 1 where id = :id and version = :version")
+	Mono<Integer> updateByIdAndVersion(int id, long version, String name, String department, Double salary,
+			String email, String phno);
+
+	@Modifying
+	@Query("delete from employee where id = :id")
+	Mono<Integer> deleteEmployeeById(int id);
+
+	@Modifying
+	@Query("delete from employee where id = :id and version = :version")
+	Mono<Integer> deleteEmployeeByIdAndVersion(int id, long version);
+
+}
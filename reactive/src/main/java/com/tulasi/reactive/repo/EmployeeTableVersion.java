@@ -0,0 +1,31 @@
+package com.tulasi.reactive.repo;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Increments the employee row of {@code table_version}, the counter the
+ * servlet application's list ETag is read from. A write transaction calls
+ * {@link #increment} once, as its last statement: the row lock is held until
+ * commit, so the counter moves in commit order across both applications.
+ */
+@Component
+public class EmployeeTableVersion {
+
+	private final DatabaseClient db;
+
+	public EmployeeTableVersion(DatabaseClient db) {
+		this.db = db;
+	}
+
+	public Mono<Void> increment() {
+		return db.sql("update table_version set version = version + 1 where name = 'employee'").fetch().rowsUpdated()
+				// the servlet application seeds the row at startup; only a table it never saw lacks it
+				.flatMap(rows -> rows > 0 ? Mono.just(rows)
+						: db.sql("insert into table_version (name, version) values ('employee', 1)").fetch().rowsUpdated())
+				.then();
+	}
+
+}
@@ -0,0 +1,387 @@
+package com.tulasi.reactive.service;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.tulasi.dto.BulkInsertResult.RowError;
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.exception.EmployeeVersionMismatchException;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.reactive.dto.EmployeePage;
+import com.tulasi.reactive.entity.Employee;
+import com.tulasi.reactive.outbox.ChangeOutbox.Change;
+import com.tulasi.reactive.outbox.ChangeOutbox.Type;
+import com.tulasi.reactive.outbox.ChangeOutbox;
+import com.tulasi.reactive.repo.EmployeeRepo;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the servlet application's EmployeeServiceImpl:
+ * same limits, validation messages and not-found/stale-version rules, with
+ * every database call made through R2DBC. There is no cache or index
+ * here; those live in the servlet application's memory. Every write adds its
+ * {@code employee_change} row through {@link ChangeOutbox} in the same
+ * transaction, so the servlet application relays it on GET /api/changes, and
+ * increments the table version its list ETag is read from.
+ */
+@Service
+public class EmployeeService {
+
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 500;
+	public static final int MAX_BULK_SIZE = 5000;
+	public static final int MAX_BATCH_IDS = 200;
+	// accepted by ?fields=; id is always included since it is the page cursor
+	public static final List<String> SELECTABLE_FIELDS = List.of("id", "name", "department", "salary", "email", "phno");
+
+	private static final int EMAIL_LOOKUP_CHUNK = 1000;
+	// rows requested from the driver at a time while streaming; bounds what is buffered per response
+	private static final int STREAM_PREFETCH = 256;
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
+
+	private final EmployeeRepo repo;
+	private final R2dbcEntityTemplate template;
+	private final DatabaseClient db;
+	private final TransactionalOperator tx;
+	private final Validator validator;
+	private final ChangeOutbox outbox;
+
+	public EmployeeService(EmployeeRepo repo, R2dbcEntityTemplate template, DatabaseClient db,
+			TransactionalOperator tx, Validator validator, ChangeOutbox outbox) {
+		this.repo = repo;
+		this.template = template;
+		this.db = db;
+		this.tx = tx;
+		this.validator = validator;
+		this.outbox = outbox;
+	}
+
+	public Mono<Employee> addEmployee(Employee emp) {
+		logger.debug("Attempting to add new employee: {}", emp.getName());
+		return repo.save(copyOf(emp))
+				.flatMap(saved -> outbox.record(Type.CREATED, saved.getId(), saved).thenReturn(saved))
+				.as(tx::transactional)
+				.doOnNext(saved -> logger.debug("Employee added sucessfully with ID: {}", saved.getId()))
+				.onErrorMap(DataIntegrityViolationException.class, e -> {
+					logger.error("Duplicate employee email detected: {}", emp.getEmail());
+					return new DataIntegrityViolationException("Duplicate Employee data(email already exists)");
+				});
+	}
+
+	public Mono<BulkInsertResult> bulkAddEmployees(List<Employee> emps) {
+		if (emps == null || emps.isEmpty()) {
+			return Mono.error(new InvalidEmployeeRequestException("No employees to add"));
+		}
+		if (emps.size() > MAX_BULK_SIZE) {
+			return Mono.error(
+					new InvalidEmployeeRequestException("Bulk insert accepts at most " + MAX_BULK_SIZE + " employees"));
+		}
+		logger.debug("Bulk adding {} employees", emps.size());
+
+		List<RowError> errors = new ArrayList<>();
+		boolean[] rejected = new boolean[emps.size()];
+		// keyed by the lower-cased email: the unique index may ignore case, as it does on MySQL
+		Map<String, Integer> firstIndexByEmail = new HashMap<>();
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < emps.size(); i++) {
+			String error = validate(emps.get(i));
+			if (error == null) {
+				String email = emps.get(i).getEmail();
+				String key = email == null ? null : email.toLowerCase(Locale.ROOT);
+				if (key != null && firstIndexByEmail.putIfAbsent(key, i) != null) {
+					error = "email duplicates row " + firstIndexByEmail.get(key);
+				} else if (key != null) {
+					emails.add(email);
+				}
+			}
+			if (error != null) {
+				rejected[i] = true;
+				errors.add(new RowError(i, error));
+			}
+		}
+
+		Mono<BulkInsertResult> insert = Flux.fromIterable(emails)
+				.buffer(EMAIL_LOOKUP_CHUNK)
+				.concatMap(repo::findExistingEmails)
+				// an existing row comes back in its stored spelling, which need not be the request's
+				.doOnNext(email -> {
+					Integer i = firstIndexByEmail.get(email.toLowerCase(Locale.ROOT));
+					if (i != null && !rejected[i]) {
+						rejected[i] = true;
+						errors.add(new RowError(i, "email already exists"));
+					}
+				})
+				.thenMany(Flux.range(0, emps.size()).filter(i -> !rejected[i]))
+				// one at a time, in request order, on the transaction's connection
+				.concatMap(i -> template.insert(copyOf(emps.get(i))))
+				.collectList()
+				.flatMap(inserted -> outbox.record(inserted.stream()
+						.map(e -> new Change(Type.CREATED, e.getId(), e)).toList())
+						.thenReturn(inserted.stream().map(Employee::getId).toList()))
+				.map(ids -> {
+					errors.sort(Comparator.comparingInt(RowError::index));
+					logger.info("Bulk insert finished: {} inserted, {} rejected", ids.size(), errors.size());
+					return new BulkInsertResult(emps.size(), ids.size(), ids, errors);
+				});
+		return insert.as(tx::transactional);
+	}
+
+	public Mono<Employee> findEmployeeById(int id) {
+		logger.debug("fetching employee with ID: {}", id);
+		return repo.findById(id).switchIfEmpty(Mono.error(() -> {
+			logger.debug("Employee not found with ID: {}", id);
+			return new EmployeeNotFoundException("Employee not found with id:" + id);
+		}));
+	}
+
+	// found employees in requested order; unknown ids are left out
+	public Flux<Employee> findEmployeesByIds(List<Integer> ids) {
+		Set<Integer> wanted = new LinkedHashSet<>(ids);
+		if (wanted.size() > MAX_BATCH_IDS) {
+			return Flux.error(new InvalidEmployeeRequestException("At most " + MAX_BATCH_IDS + " ids per batch"));
+		}
+		logger.debug("fetching {} employees by ID", wanted.size());
+		return repo.findAllById(wanted)
+				.collectMap(Employee::getId)
+				.flatMapIterable(found -> wanted.stream().map(found::get).filter(e -> e != null).toList());
+	}
+
+	/**
+	 * Keyset page after {@code after}. The page end is found first with an
+	 * id-only query; the rows are then streamed from the database to the client
+	 * as demand allows instead of being collected.
+	 */
+	public Mono<EmployeePage> getEmployeesPage(List<String> fields, int after, int limit) {
+		List<String> columns;
+		try {
+			columns = fields == null || fields.isEmpty() ? null : selectedColumns(fields);
+		} catch (InvalidEmployeeRequestException e) {
+			return Mono.error(e);
+		}
+		int pageSize = pageSize(limit);
+		logger.debug("fetching {} employees after ID: {}", pageSize, after);
+		// read one extra id to know whether another page exists without a count query
+		return repo.findIdsAfter(after, pageSize + 1).collectList().map(ids -> {
+			if (ids.isEmpty()) {
+				return new EmployeePage(Flux.empty(), null);
+			}
+			Integer nextCursor = ids.size() > pageSize ? ids.get(pageSize - 1) : null;
+			// bounded by the ids just read, so rows inserted meanwhile cannot stretch the page
+			int upTo = nextCursor != null ? nextCursor : ids.get(ids.size() - 1);
+			Flux<Employee> rows = repo.findRange(after, upTo).limitRate(STREAM_PREFETCH);
+			return new EmployeePage(columns == null ? rows : rows.map(emp -> select(emp, columns)), nextCursor);
+		});
+	}
+
+	public Mono<EmployeePage> searchEmployees(EmployeeSearch search, int after, int limit) {
+		if (search.minSalary() != null && search.maxSalary() != null && search.minSalary() > search.maxSalary()) {
+			return Mono.error(new InvalidEmployeeRequestException("minSalary must not be greater than maxSalary"));
+		}
+		if (search.namePrefix() != null && search.namePrefix().isBlank()) {
+			return Mono.error(new InvalidEmployeeRequestException("name prefix cannot be empty"));
+		}
+		int pageSize = pageSize(limit);
+		logger.debug("searching {} employees after ID: {} matching {}", pageSize, after, search);
+		Query query = Query.query(matching(search, after)).sort(Sort.by("id")).limit(pageSize + 1);
+		return template.select(Employee.class).matching(query).all().collectList().map(rows -> {
+			if (rows.size() <= pageSize) {
+				return new EmployeePage(Flux.fromIterable(rows), null);
+			}
+			List<Employee> items = rows.subList(0, pageSize);
+			return new EmployeePage(Flux.fromIterable(items), items.get(pageSize - 1).getId());
+		});
+	}
+
+	// whole table in id order; the driver is asked for rows only as fast as the client takes them
+	public Flux<Employee> exportEmployees() {
+		logger.debug("exporting all employees");
+		return repo.findAllAfter(0).limitRate(STREAM_PREFETCH);
+	}
+
+	public Mono<Employee> updateEmployee(int id, Employee emp, Long expectedVersion) {
+		logger.debug("updating employee with id: {}", id);
+		Mono<Integer> rows = expectedVersion == null
+				? repo.updateById(id, emp.getName(), emp.getDepartment(), emp.getSalary(), emp.getEmail(), emp.getPhno())
+				: repo.updateByIdAndVersion(id, expectedVersion, emp.getName(), emp.getDepartment(), emp.getSalary(),
+						emp.getEmail(), emp.getPhno());
+		return rows.flatMap(count -> {
+			if (count == 0) {
+				return notFoundOrStale(id, expectedVersion, "Employee not found with the id " + id);
+			}
+			// every column was just written from the request, so it already is the stored row
+			Employee updated = copyOf(emp);
+			updated.setId(id);
+			updated.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+			logger.debug("Employee updated successfully : {}", id);
+			return outbox.record(Type.UPDATED, id, updated).thenReturn(updated);
+		}).as(tx::transactional);
+	}
+
+	// writes only the fields present in the patch, in one UPDATE
+	public Mono<Void> patchEmployee(int id, EmployeePatch patch) {
+		if (patch.isEmpty()) {
+			return Mono.error(new InvalidEmployeeRequestException("No fields to update"));
+		}
+		logger.debug("patching employee with id: {}", id);
+		Map<String, Object> values = new LinkedHashMap<>();
+		putIfPresent(values, "name", patch.name());
+		putIfPresent(values, "department", patch.department());
+		putIfPresent(values, "salary", patch.salary());
+		putIfPresent(values, "email", patch.email());
+		putIfPresent(values, "phno", patch.phno());
+		String assignments = values.keySet().stream().map(column -> column + " = :" + column)
+				.collect(Collectors.joining(", "));
+		DatabaseClient.GenericExecuteSpec update = db
+				.sql("update employee set " + assignments + ", version = version + 1 where id = :id").bind("id", id);
+		for (Map.Entry<String, Object> value : values.entrySet()) {
+			update = update.bind(value.getKey(), value.getValue());
+		}
+		return update.fetch().rowsUpdated().flatMap(count -> {
+			if (count == 0) {
+				logger.debug("Employee not found with Id: {}", id);
+				return Mono.error(new EmployeeNotFoundException("Employee not found with the id " + id));
+			}
+			// only the written fields, like the servlet side's PATCHED event
+			return outbox.record(Type.PATCHED, id,
+					new Employee(id, patch.name(), patch.department(), patch.salary(), patch.email(), patch.phno()));
+		}).as(tx::transactional);
+	}
+
+	public Mono<Void> deleteEmployee(int id, Long expectedVersion) {
+		logger.debug("Deleting employee with Id: {}", id);
+		Mono<Integer> rows = expectedVersion == null ? repo.deleteEmployeeById(id)
+				: repo.deleteEmployeeByIdAndVersion(id, expectedVersion);
+		return rows.flatMap(count -> count == 0
+				? notFoundOrStale(id, expectedVersion, "Employee not found with id" + id).then()
+				: outbox.record(Type.DELETED, id, null)).as(tx::transactional);
+	}
+
+	// a conditional write touched no row: only worth a second query when the client sent a version
+	private Mono<Employee> notFoundOrStale(int id, Long expectedVersion, String notFoundMessage) {
+		Mono<Boolean> exists = expectedVersion == null ? Mono.just(false) : repo.existsById(id);
+		return exists.flatMap(found -> Mono.error(found
+				? new EmployeeVersionMismatchException("Employee " + id + " was modified by another request")
+				: new EmployeeNotFoundException(notFoundMessage)));
+	}
+
+	// same filters as the servlet side's EmployeeSpecs, so the same indexes serve them
+	private static Criteria matching(EmployeeSearch search, int after) {
+		Criteria criteria = after > 0 ? where("id").greaterThan(after) : Criteria.empty();
+		if (search.department() != null) {
+			criteria = criteria.and("department").is(search.department());
+		}
+		if (search.minSalary() != null) {
+			criteria = criteria.and("salary").greaterThanOrEquals(search.minSalary());
+		}
+		if (search.maxSalary() != null) {
+			criteria = criteria.and("salary").lessThanOrEquals(search.maxSalary());
+		}
+		if (search.email() != null) {
+			criteria = criteria.and("email").is(search.email());
+		}
+		if (search.namePrefix() != null) {
+			criteria = criteria.and("name").like(escapeLike(search.namePrefix()) + "%");
+		}
+		return criteria;
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	private static int pageSize(int limit) {
+		return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+	}
+
+	// id first, then the requested fields in order, without duplicates
+	private static List<String> selectedColumns(List<String> fields) {
+		Set<String> columns = new LinkedHashSet<>();
+		columns.add("id");
+		for (String field : fields) {
+			String name = field.trim();
+			if (name.isEmpty()) {
+				continue;
+			}
+			if (!SELECTABLE_FIELDS.contains(name)) {
+				throw new InvalidEmployeeRequestException("Unknown field '" + name + "', expected any of " + SELECTABLE_FIELDS);
+			}
+			columns.add(name);
+		}
+		return new ArrayList<>(columns);
+	}
+
+	private static Map<String, Object> select(Employee emp, List<String> columns) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (String column : columns) {
+			row.put(column, switch (column) {
+				case "id" -> emp.getId();
+				case "name" -> emp.getName();
+				case "department" -> emp.getDepartment();
+				case "salary" -> emp.getSalary();
+				case "email" -> emp.getEmail();
+				default -> emp.getPhno();
+			});
+		}
+		return row;
+	}
+
+	private static void putIfPresent(Map<String, Object> values, String column, Object value) {
+		if (value != null) {
+			values.put(column, value);
+		}
+	}
+
+	private Employee copyOf(Employee emp) {
+		Employee e = new Employee();
+		e.setName(emp.getName());
+		e.setDepartment(emp.getDepartment());
+		e.setSalary(emp.getSalary());
+		e.setEmail(emp.getEmail());
+		e.setPhno(emp.getPhno());
+		return e;
+	}
+
+	private String validate(Employee emp) {
+		if (emp == null) {
+			return "employee must not be null";
+		}
+		Set<ConstraintViolation<Employee>> violations = validator.validate(emp);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.map(v -> v.getPropertyPath() + " " + v.getMessage())
+				.sorted()
+				.collect(Collectors.joining("; "));
+	}
+
+}
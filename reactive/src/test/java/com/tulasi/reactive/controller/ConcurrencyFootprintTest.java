@@ -0,0 +1,122 @@
+package com.tulasi.reactive.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.tulasi.reactive.entity.Employee;
+import com.tulasi.reactive.repo.EmployeeRepo;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Threads and connections used while serving many concurrent GET /api pages.
+ * The servlet application has the same test (same load, same H2 data, same
+ * pool size), and scripts/compare-reactive.sh prints both report lines side
+ * by side. Load is set with -Dfootprint.concurrency and -Dfootprint.requests.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.r2dbc.url=r2dbc:h2:mem:///footprint;DB_CLOSE_DELAY=-1",
+		"spring.r2dbc.username=sa",
+		"spring.r2dbc.password=",
+		"spring.sql.init.mode=always" })
+class ConcurrencyFootprintTest {
+
+	private static final int CONCURRENCY = Integer.getInteger("footprint.concurrency", 200);
+	private static final int REQUESTS = Integer.getInteger("footprint.requests", 1000);
+	private static final int ROWS = 500;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	@Autowired
+	private ConnectionFactory connectionFactory;
+
+	@Test
+	void testFootprintUnderConcurrentListing() throws Exception {
+		if (repo.count().block() == 0) {
+			Flux.range(0, ROWS).concatMap(i -> repo.save(new Employee(null, "employee" + i, "Engineering",
+					5000.0 + i, "footprint" + i + "@example.com", "9876543210"))).blockLast();
+		}
+		PoolMetrics pool = ((ConnectionPool) connectionFactory).getMetrics().orElseThrow();
+
+		ExecutorService clientThreads = Executors.newFixedThreadPool(4);
+		HttpClient client = HttpClient.newBuilder().executor(clientThreads).build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api?limit=50")).build();
+		for (int i = 0; i < 50; i++) {
+			client.send(request, HttpResponse.BodyHandlers.discarding());
+		}
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		AtomicInteger peakConnections = new AtomicInteger();
+		AtomicInteger peakWaiting = new AtomicInteger();
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		int baselineThreads = threads.getThreadCount();
+		threads.resetPeakThreadCount();
+		sampler.scheduleAtFixedRate(() -> {
+			peakConnections.accumulateAndGet(pool.acquiredSize(), Math::max);
+			peakWaiting.accumulateAndGet(pool.pendingAcquireSize(), Math::max);
+		}, 0, 1, TimeUnit.MILLISECONDS);
+
+		long[] latencies = new long[REQUESTS];
+		AtomicInteger failures = new AtomicInteger();
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		CountDownLatch done = new CountDownLatch(REQUESTS);
+		long start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			int n = i;
+			inFlight.acquire();
+			long sent = System.nanoTime();
+			client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+				latencies[n] = System.nanoTime() - sent;
+				if (error != null || response.statusCode() != 200) {
+					failures.incrementAndGet();
+				}
+				inFlight.release();
+				done.countDown();
+			});
+		}
+		assertTrue(done.await(2, TimeUnit.MINUTES));
+		long elapsed = System.nanoTime() - start;
+		sampler.shutdownNow();
+		clientThreads.shutdownNow();
+
+		Arrays.sort(latencies);
+		System.out.printf("footprint reactive concurrency=%d requests=%d rps=%.0f p50=%.1fms p99=%.1fms"
+				+ " threads=%d (+%d over idle) connections=%d/%d waitingForConnection=%d%n",
+				CONCURRENCY, REQUESTS, REQUESTS * 1e9 / elapsed, latencies[REQUESTS / 2] / 1e6,
+				latencies[REQUESTS * 99 / 100] / 1e6, threads.getPeakThreadCount(),
+				threads.getPeakThreadCount() - baselineThreads, peakConnections.get(), pool.getMaxAllocatedSize(),
+				peakWaiting.get());
+
+		assertEquals(0, failures.get());
+		assertTrue(peakConnections.get() <= pool.getMaxAllocatedSize());
+	}
+
+}
@@ -0,0 +1,239 @@
+package com.tulasi.reactive.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.tulasi.reactive.entity.Employee;
+import com.tulasi.reactive.repo.EmployeeRepo;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs the reactive API end to end on R2DBC H2 and checks the responses match
+ * what the servlet application returns for the same requests.
+ */
+@SpringBootTest(properties = {
+		"spring.r2dbc.url=r2dbc:h2:mem:///controller;DB_CLOSE_DELAY=-1",
+		"spring.r2dbc.username=sa",
+		"spring.r2dbc.password=",
+		"spring.sql.init.mode=always" })
+@AutoConfigureWebTestClient
+class EmployeeControllerTest {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	@Autowired
+	private DatabaseClient db;
+
+	@BeforeEach
+	void setup() {
+		repo.deleteAll().block();
+	}
+
+	@Test
+	void testAddAndFindWithEtag() {
+		Employee created = add("Alice", "alice@example.com");
+
+		String etag = client.get().uri("/api/{id}", created.getId()).exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("ETag", "\"0\"")
+				.expectBody().jsonPath("$.name").isEqualTo("Alice")
+				.jsonPath("$.version").doesNotExist()
+				.returnResult().getResponseHeaders().getETag();
+
+		client.get().uri("/api/{id}", created.getId()).header("If-None-Match", etag).exchange()
+				.expectStatus().isNotModified();
+	}
+
+	@Test
+	void testErrorsAreProblemDetails() {
+		client.get().uri("/api/999").exchange()
+				.expectStatus().isNotFound()
+				.expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+				.expectBody().jsonPath("$.title").isEqualTo("Not Found")
+				.jsonPath("$.detail").isEqualTo("Employee not found with id:999")
+				.jsonPath("$.instance").isEqualTo("/api/999");
+
+		client.get().uri("/api/abc").exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.detail").isEqualTo("Invalid employee ID type. It must be a number.");
+
+		client.post().uri("/api/add").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee(0, "Bob", "IT", 10.0, "bob@example.com", null)).exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.detail").isEqualTo("salary Salary must be at least 1000");
+
+		add("Carol", "carol@example.com");
+		client.post().uri("/api/add").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new Employee(0, "Carol2", "IT", 5000.0, "carol@example.com", null)).exchange()
+				.expectStatus().isEqualTo(409)
+				.expectBody().jsonPath("$.detail").isEqualTo("Duplicate Employee data not allowed!");
+	}
+
+	@Test
+	void testKeysetPagingStreamsPagesWithCursorHeaders() {
+		List<Integer> ids = Flux.range(0, 5).concatMap(i -> repo.save(employee("e" + i, "page" + i + "@example.com")))
+				.map(Employee::getId).collectList().block();
+
+		client.get().uri("/api?limit=2").exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("X-Next-Cursor", String.valueOf(ids.get(1)))
+				.expectHeader().valueEquals("Link", "</api?after=" + ids.get(1) + "&limit=2>; rel=\"next\"")
+				.expectBody().jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0].id").isEqualTo(ids.get(0));
+
+		client.get().uri("/api?after={after}&limit=2&fields=name", ids.get(3)).exchange()
+				.expectStatus().isOk()
+				.expectHeader().doesNotExist("X-Next-Cursor")
+				.expectBody().json("[{\"id\":" + ids.get(4) + ",\"name\":\"e4\"}]", JsonCompareMode.STRICT);
+
+		client.get().uri("/api?fields=salary,nope").exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void testSearchAndExport() {
+		repo.save(employee("Ann", "ann@example.com")).block();
+		Employee sales = employee("Andy", "andy@example.com");
+		sales.setDepartment("Sales");
+		repo.save(sales).block();
+
+		client.get().uri("/api/search?department=Sales&name=An").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.length()").isEqualTo(1)
+				.jsonPath("$[0].name").isEqualTo("Andy");
+		client.get().uri("/api/search?minSalary=9000&maxSalary=1000").exchange()
+				.expectStatus().isBadRequest();
+
+		List<String> lines = client.get().uri("/api/export").accept(MediaType.APPLICATION_NDJSON).exchange()
+				.expectStatus().isOk()
+				.returnResult(String.class).getResponseBody().collectList().block();
+		assertEquals(2, lines.size());
+		assertTrue(lines.get(0).contains("\"name\":\"Ann\""), lines.get(0));
+	}
+
+	@Test
+	void testConditionalUpdatePatchAndDelete() {
+		Employee created = add("Dan", "dan@example.com");
+		Employee changed = employee("Daniel", "dan@example.com");
+
+		client.put().uri("/api/{id}", created.getId()).header("If-Match", "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(changed).exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("ETag", "\"1\"");
+		client.put().uri("/api/{id}", created.getId()).header("If-Match", "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(changed).exchange()
+				.expectStatus().isEqualTo(412);
+
+		client.patch().uri("/api/{id}", created.getId()).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(Map.of("salary", 7000)).exchange()
+				.expectStatus().isNoContent();
+		Employee stored = repo.findById(created.getId()).block();
+		assertEquals(7000.0, stored.getSalary());
+		assertEquals("Daniel", stored.getName());
+		assertEquals(2L, stored.getVersion());
+
+		client.delete().uri("/api/{id}", created.getId()).header("If-Match", "\"1\"").exchange()
+				.expectStatus().isEqualTo(412);
+		client.delete().uri("/api/{id}", created.getId()).exchange()
+				.expectStatus().isNoContent();
+		client.delete().uri("/api/{id}", created.getId()).exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void testBulkAndBatch() {
+		add("Eve", "eve@example.com");
+		List<Employee> rows = List.of(employee("A", "a@example.com"), employee("", "b@example.com"),
+				// the unique index may ignore case, so another spelling is still a duplicate
+				employee("C", "eve@example.com"), employee("D", "A@example.com"), employee("E", "e@example.com"));
+
+		client.post().uri("/api/bulk").contentType(MediaType.APPLICATION_JSON).bodyValue(rows).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.received").isEqualTo(5)
+				.jsonPath("$.inserted").isEqualTo(2)
+				.jsonPath("$.errors[0].index").isEqualTo(1)
+				.jsonPath("$.errors[1].message").isEqualTo("email already exists")
+				.jsonPath("$.errors[2].message").isEqualTo("email duplicates row 0");
+
+		List<Integer> ids = repo.findAll().map(Employee::getId).sort().collectList().block();
+		client.get().uri("/api/batch?ids={a},{b},424242", ids.get(2), ids.get(0)).exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0].id").isEqualTo(ids.get(2))
+				.jsonPath("$[1].id").isEqualTo(ids.get(0));
+	}
+
+	@Test
+	void testWritesAddOutboxRowsForTheChangeStream() {
+		long versionBefore = tableVersion();
+		Employee created = add("Fay", "fay@example.com");
+		client.patch().uri("/api/{id}", created.getId()).contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(Map.of("salary", 8000)).exchange()
+				.expectStatus().isNoContent();
+		// a rejected write leaves no row behind
+		client.put().uri("/api/{id}", created.getId()).header("If-Match", "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).bodyValue(employee("Fay", "fay@example.com")).exchange()
+				.expectStatus().isEqualTo(412);
+		client.delete().uri("/api/{id}", created.getId()).exchange()
+				.expectStatus().isNoContent();
+
+		List<Map<String, Object>> changes = db.sql("select employee_id, type, payload from employee_change"
+				+ " where employee_id = :id order by id").bind("id", created.getId()).fetch().all().collectList().block();
+		assertEquals(List.of("CREATED", "PATCHED", "DELETED"), changes.stream().map(c -> c.get("TYPE")).toList());
+		assertTrue(((String) changes.get(0).get("PAYLOAD")).contains("\"name\":\"Fay\""));
+		assertTrue(((String) changes.get(1).get("PAYLOAD")).contains("\"salary\":8000.0"));
+		assertNull(changes.get(2).get("PAYLOAD"));
+		// one increment per committed write, for the servlet application's list ETag
+		assertEquals(versionBefore + 3, tableVersion());
+	}
+
+	@Test
+	void testConcurrentInsertsGetDistinctIdsFromSequenceBlocks() {
+		List<Integer> ids = Flux.range(0, 120)
+				.flatMap(i -> repo.save(employee("p" + i, "parallel" + i + "@example.com")), 16)
+				.map(Employee::getId).collectList().block();
+
+		Set<Integer> distinct = new HashSet<>(ids);
+		assertEquals(120, distinct.size());
+		assertTrue(distinct.stream().allMatch(id -> id > 1), distinct.toString());
+	}
+
+	private long tableVersion() {
+		return db.sql("select version from table_version where name = 'employee'").map(row -> row.get(0, Long.class))
+				.one().defaultIfEmpty(0L).block();
+	}
+
+	private Employee add(String name, String email) {
+		return client.post().uri("/api/add").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(employee(name, email)).exchange()
+				.expectStatus().isCreated()
+				.expectBody(Employee.class).returnResult().getResponseBody();
+	}
+
+	private static Employee employee(String name, String email) {
+		return new Employee(null, name, "Engineering", 5000.0, email, "9876543210");
+	}
+
+}
@@ -0,0 +1,30 @@
+-- what Hibernate's ddl-auto creates for the servlet application's Employee entity (H2 dialect)
+create sequence if not exists Employee_SEQ start with 1 increment by 50;
+create table if not exists employee (
+	id integer not null,
+	department varchar(255),
+	email varchar(255) unique,
+	name varchar(255),
+	phno varchar(255),
+	salary float(53),
+	version bigint not null,
+	primary key (id)
+);
+create index if not exists idx_employee_department_salary on employee (department, salary);
+create index if not exists idx_employee_salary on employee (salary);
+create index if not exists idx_employee_name on employee (name);
+create table if not exists employee_change (
+	id bigint generated by default as identity,
+	created_at timestamp(6) with time zone not null,
+	employee_id integer not null,
+	payload varchar(2048),
+	type enum ('CREATED','DELETED','PATCHED','UPDATED') not null,
+	primary key (id)
+);
+create index if not exists idx_employee_change_employee on employee_change (employee_id, id);
+create index if not exists idx_employee_change_created on employee_change (created_at);
+create table if not exists table_version (
+	version bigint not null,
+	name varchar(64) not null,
+	primary key (name)
+);
@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Compares the servlet application (Tomcat + JDBC/Hikari) with the reactive module
+# (Netty + R2DBC pool) under the same GET /api load on in-memory H2: peak threads,
+# peak connections in use, requests waiting for a connection, throughput and p50/p99.
+# Both use 10 connections. r2dbc-h2 wraps the blocking H2 engine and runs queries on
+# the calling (event-loop) thread, so its latency figures understate what a truly
+# non-blocking driver such as r2dbc-mysql achieves; thread and connection counts carry over.
+#
+#   scripts/compare-reactive.sh [concurrency] [requests]
+set -euo pipefail
+
+CONCURRENCY=${1:-500}
+REQUESTS=${2:-5000}
+ARGS=(-q -B -Dtest=ConcurrencyFootprintTest -Dsurefire.failIfNoSpecifiedTests=false
+	-Dfootprint.concurrency="$CONCURRENCY" -Dfootprint.requests="$REQUESTS")
+
+cd "$(dirname "$0")/.."
+# one reactor build, servlet module first
+./mvnw -pl servlet,reactive -am "${ARGS[@]}" test | grep '^footprint '
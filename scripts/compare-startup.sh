@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the plain image (Dockerfile), the
+# fast-start image (Dockerfile.aot: layered jar + Spring AOT + CDS) and, when built,
+# the GraalVM native image.
+#
+# Needs Docker and the MySQL service from docker-compose.yml. The native image is
+# optional; build it first with:
+#   ./mvnw -pl common -DskipTests install
+#   ./mvnw -pl servlet -Pnative -DskipTests spring-boot:build-image -Dspring-boot.build-image.imageName=employee-app:native
+#
+#   scripts/compare-startup.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+DB_URL=${DB_URL:-jdbc:mysql://mysql:3306/employeedb?allowPublicKeyRetrieval=true&useSSL=false&useCursorFetch=true&rewriteBatchedStatements=true}
+
+cd "$(dirname "$0")/.."
+docker compose up -d mysql
+NETWORK=$(docker inspect mysql --format '{{range $k, $v := .NetworkSettings.Networks}}{{$k}}{{end}}')
+
+./mvnw -q -B -pl servlet -am -DskipTests package
+docker build -q -t employee-app:plain . >/dev/null
+./mvnw -q -B -pl servlet -am -Paot -DskipTests package
+docker build -q -f Dockerfile.aot -t employee-app:aot . >/dev/null
+
+IMAGES=(plain aot)
+if docker image inspect employee-app:native >/dev/null 2>&1; then
+	IMAGES+=(native)
+fi
+
+# prints "<seconds until ready> <rss KiB>" for one cold start
+measure() {
+	local image=$1 container
+	container=$(docker run -d -p "$PORT:8080" --network "$NETWORK" \
+		-e SPRING_DATASOURCE_URL="$DB_URL" -e SPRING_JPA_SHOW_SQL=false "employee-app:$image")
+	trap 'docker rm -f "$container" >/dev/null 2>&1 || true' RETURN
+	until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null; do
+		if [ "$(docker inspect -f '{{.State.Running}}' "$container")" != true ]; then
+			docker logs "$container" >&2
+			return 1
+		fi
+		sleep 0.1
+	done
+	# Spring's own figure covers JVM start as well: "Started ... (process running for 2.345)"
+	local seconds rss
+	seconds=$(docker logs "$container" 2>&1 | sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' | head -1)
+	rss=$(docker top "$container" -o rss | awk 'NR > 1 { sum += $1 } END { print sum }')
+	echo "$seconds $rss"
+}
+
+median() {
+	sort -n | sed -n "$(((RUNS + 1) / 2))p"
+}
+
+printf '%-8s %12s %12s\n' image "startup (s)" "RSS (MiB)"
+for image in "${IMAGES[@]}"; do
+	results=$(for ((i = 0; i < RUNS; i++)); do measure "$image"; done)
+	# medians: the first run after a build pays for a cold page cache
+	seconds=$(awk '{ print $1 }' <<<"$results" | median)
+	rss=$(awk '{ print $2 }' <<<"$results" | median)
+	printf '%-8s %12s %12d\n' "$image" "$seconds" "$((rss / 1024))"
+done
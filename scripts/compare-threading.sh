@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Compares throughput and p99 latency of the default Tomcat platform-thread pool
+# against the "virtual" profile (virtual threads + DB bulkhead) at high concurrency.
+#
+# Needs: Java 21, MySQL reachable at $DB_URL (docker compose up -d mysql) and
+# `hey` (https://github.com/rakyll/hey) on the PATH.
+#
+#   scripts/compare-threading.sh [concurrency] [duration]
+set -euo pipefail
+
+CONCURRENCY=${1:-2000}
+DURATION=${2:-30s}
+PORT=${PORT:-8080}
+DB_URL=${DB_URL:-jdbc:mysql://localhost:3307/employeedb?allowPublicKeyRetrieval=true&useSSL=false&useCursorFetch=true&rewriteBatchedStatements=true}
+JAR=servlet/target/springBoot-CRUD-Operations-0.0.1-SNAPSHOT.jar
+
+cd "$(dirname "$0")/.."
+./mvnw -q -B -pl servlet -am -Pjava21 -DskipTests package
+
+run() {
+	local label=$1 profiles=$2
+	java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" \
+		--spring.datasource.url="$DB_URL" --spring.jpa.show-sql=false >"servlet/target/threading-$label.log" 2>&1 &
+	local pid=$!
+	trap 'kill $pid 2>/dev/null || true' RETURN
+	until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null; do sleep 1; done
+
+	# seed one row so GET /api/{id} and GET /api do real work
+	curl -sf -X POST "http://localhost:$PORT/api/add" -H 'Content-Type: application/json' \
+		-d "{\"name\":\"load\",\"department\":\"IT\",\"salary\":5000,\"email\":\"load-$label-$$@example.com\"}" >/dev/null || true
+
+	echo "== $label (c=$CONCURRENCY, $DURATION)"
+	hey -z "$DURATION" -c "$CONCURRENCY" "http://localhost:$PORT/api?limit=50" \
+		| grep -E "Requests/sec|99%|Status code|\[[0-9]{3}\]"
+}
+
+run platform default
+run virtual virtual
@@ -0,0 +1,34 @@
+package com.tulasi.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.tulasi.SpringBootCrudOperationsApplication;
+
+/**
+ * Boots the application against an in-memory H2 database for benchmarks.
+ */
+final class BenchmarkContext {
+
+	private BenchmarkContext() {
+	}
+
+	// passed as command-line args so they win over application.properties
+	static ConfigurableApplicationContext start(String... extraProperties) {
+		List<String> args = new ArrayList<>(List.of("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+				"--spring.datasource.driver-class-name=org.h2.Driver", "--spring.datasource.username=sa",
+				"--spring.datasource.password=", "--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.jpa.show-sql=false", "--spring.main.banner-mode=off"));
+		for (String property : extraProperties) {
+			args.add("--" + property);
+		}
+		return new SpringApplicationBuilder(SpringBootCrudOperationsApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(args.toArray(String[]::new));
+	}
+
+}
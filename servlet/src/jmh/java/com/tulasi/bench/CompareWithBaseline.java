@@ -0,0 +1,60 @@
+package com.tulasi.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prints score and allocation deltas between two JMH JSON result files.
+ * <p>
+ * Usage: {@code CompareWithBaseline <baseline.json> <current.json>}
+ */
+public final class CompareWithBaseline {
+
+	private static final String ALLOC = "gc.alloc.rate.norm";
+
+	private CompareWithBaseline() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("usage: CompareWithBaseline <baseline.json> <current.json>");
+			System.exit(2);
+		}
+		Map<String, double[]> baseline = read(new File(args[0]));
+		Map<String, double[]> current = read(new File(args[1]));
+
+		System.out.printf("%-70s %14s %14s %9s %12s %12s%n", "benchmark", "base ops/s", "ops/s", "delta", "base B/op",
+				"B/op");
+		current.forEach((name, now) -> {
+			double[] base = baseline.get(name);
+			if (base == null) {
+				System.out.printf("%-70s %14s %14.1f %9s %12s %12.1f%n", name, "-", now[0], "new", "-", now[1]);
+				return;
+			}
+			double delta = (now[0] - base[0]) / base[0] * 100;
+			System.out.printf("%-70s %14.1f %14.1f %+8.1f%% %12.1f %12.1f%n", name, base[0], now[0], delta, base[1],
+					now[1]);
+		});
+	}
+
+	// key: benchmark + params, value: { primary score, bytes allocated per op (NaN without -prof gc) }
+	private static Map<String, double[]> read(File file) throws IOException {
+		Map<String, double[]> results = new LinkedHashMap<>();
+		for (JsonNode run : new ObjectMapper().readTree(file)) {
+			StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+			run.path("params").fields().forEachRemaining(p -> key.append(' ').append(p.getKey()).append('=')
+					.append(p.getValue().asText()));
+			double score = run.path("primaryMetric").path("score").asDouble();
+			JsonNode alloc = run.path("secondaryMetrics").path(ALLOC);
+			double bytes = alloc.isMissingNode() ? Double.NaN : alloc.path("score").asDouble();
+			results.put(key.toString(), new double[] { score, bytes });
+		}
+		return results;
+	}
+
+}
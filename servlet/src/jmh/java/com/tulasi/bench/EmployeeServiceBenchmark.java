@@ -0,0 +1,106 @@
+package com.tulasi.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.tulasi.dto.EmployeePage;
+import com.tulasi.entity.Employee;
+import com.tulasi.service.EmployeeService;
+
+/**
+ * EmployeeServiceImpl operations against embedded H2, with the read cache on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeServiceBenchmark {
+
+	private static final int ROWS = 1000;
+
+	@Param({ "true", "false" })
+	public boolean cache;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService service;
+	private List<Integer> ids;
+	private final AtomicLong sequence = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = BenchmarkContext.start("employee.cache.enabled=" + cache);
+		service = context.getBean(EmployeeService.class);
+		List<Employee> rows = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			rows.add(employee("seed" + i));
+		}
+		ids = service.bulkAddEmployees(rows).ids();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Employee findById() {
+		return service.findEmployeeById(nextId());
+	}
+
+	@Benchmark
+	public EmployeePage firstPage() {
+		return service.getEmployeesPage(0, EmployeeService.DEFAULT_PAGE_SIZE);
+	}
+
+	@Benchmark
+	public EmployeePage deepPage() {
+		return service.getEmployeesPage(ids.get(ROWS - EmployeeService.DEFAULT_PAGE_SIZE - 1),
+				EmployeeService.DEFAULT_PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<Employee> batchOf20() {
+		int start = (int) (sequence.getAndIncrement() % (ROWS - 20));
+		return service.findEmployeesByIds(ids.subList(start, start + 20));
+	}
+
+	@Benchmark
+	public Employee update() {
+		int id = nextId();
+		Employee emp = employee("upd" + id);
+		return service.updateEmployee(id, emp);
+	}
+
+	@Benchmark
+	public Employee add() {
+		return service.addEmployee(employee("add" + sequence.incrementAndGet()));
+	}
+
+	private int nextId() {
+		return ids.get((int) (sequence.getAndIncrement() % ROWS));
+	}
+
+	private static Employee employee(String key) {
+		return new Employee(0, key, "IT", 5000.0, key + "@example.com", "9876543210");
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.tulasi.bench;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.exception.GlobalExceptionHandler;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+
+/**
+ * Cost of building error responses, including creating the exception the service would throw.
+ * <p>
+ * {@link #notFoundBefore()} replays the previous 404 path for comparison: an exception with a filled-in
+ * stack trace, a HashMap body and an ERROR line whose appender renders that stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ErrorHandlingBenchmark {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler(Duration.ofMinutes(1));
+	private int id;
+
+	@Benchmark
+	public ProblemDetail notFound() {
+		return handler.handleEmployeeNotFound(new EmployeeNotFoundException("Employee not found with id:" + (++id)));
+	}
+
+	@Benchmark
+	public Object notFoundBefore() {
+		RuntimeException ex = new RuntimeException("Employee not found with id:" + (++id));
+		StringWriter rendered = new StringWriter();
+		ex.printStackTrace(new PrintWriter(rendered));
+		Map<String, Object> error = new HashMap<>();
+		error.put("error", ex.getMessage());
+		error.put("status", HttpStatus.NOT_FOUND.value());
+		error.put("timestamp", System.currentTimeMillis());
+		return new ResponseEntity<>(error, HttpStatus.NOT_FOUND).hashCode() + rendered.getBuffer().length();
+	}
+
+	@Benchmark
+	public ProblemDetail invalidRequest() {
+		return handler.handleInvalidRequest(new InvalidEmployeeRequestException("No fields to update"));
+	}
+
+}
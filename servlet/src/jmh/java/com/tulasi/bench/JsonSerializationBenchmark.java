@@ -0,0 +1,78 @@
+package com.tulasi.bench;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulasi.entity.Employee;
+
+/**
+ * Jackson serialization of the response bodies, using the same mapper defaults as Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+	@Param({ "1", "50", "500" })
+	public int size;
+
+	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+	private Employee employee;
+	private List<Employee> employees;
+	// what GET /api?fields=name returns
+	private List<Map<String, Object>> sparse;
+
+	@Setup
+	public void setup() {
+		employees = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			employees.add(new Employee(i + 1, "employee" + i, "Engineering", 5000.0 + i, "employee" + i + "@example.com",
+					"98765" + (43210 + i)));
+		}
+		employee = employees.get(0);
+		sparse = new ArrayList<>(size);
+		for (Employee e : employees) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("id", e.getId());
+			row.put("name", e.getName());
+			sparse.add(row);
+		}
+	}
+
+	@Benchmark
+	public byte[] single() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(employee);
+	}
+
+	@Benchmark
+	public byte[] list() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(employees);
+	}
+
+	@Benchmark
+	public byte[] sparseList() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(sparse);
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.tulasi.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tulasi.dto.Suggestion;
+import com.tulasi.suggest.PrefixIndex;
+
+/**
+ * Typeahead lookups (top 10) against an index of {@code employees} names and
+ * emails, for one- to three-character prefixes as typed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SuggestBenchmark {
+
+	private static final String[] FIRST = { "Aarav", "Anika", "Bhavya", "Chetan", "Deepa", "Farhan", "Gauri", "Harsh",
+			"Isha", "Kiran", "Lakshmi", "Manoj", "Neha", "Pranav", "Ravi", "Sneha", "Tulasi", "Varun", "Yamini" };
+
+	@Param({ "100000" })
+	private int employees;
+
+	private PrefixIndex index;
+	private String[] prefixes;
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		PrefixIndex.Builder builder = new PrefixIndex.Builder();
+		for (int id = 1; id <= employees; id++) {
+			String name = FIRST[random.nextInt(FIRST.length)] + " " + (char) ('A' + random.nextInt(26)) + id;
+			builder.add(id, PrefixIndex.NAME, name)
+					.add(id, PrefixIndex.EMAIL, name.toLowerCase().replace(' ', '.') + "@example.com");
+		}
+		index = builder.build();
+		prefixes = new String[1024];
+		for (int i = 0; i < prefixes.length; i++) {
+			String first = FIRST[random.nextInt(FIRST.length)];
+			prefixes[i] = first.substring(0, 1 + random.nextInt(3));
+		}
+	}
+
+	@Benchmark
+	public List<Suggestion> suggestTop10() {
+		return index.find(prefixes[next++ & (prefixes.length - 1)], 10);
+	}
+
+	@Benchmark
+	public List<Suggestion> suggestTop10WithPendingWrites() {
+		// a write lands between lookups, as on a live service
+		int id = 1 + (next & 0xffff);
+		index.put(id, PrefixIndex.NAME, "Renamed " + id);
+		return index.find(prefixes[next++ & (prefixes.length - 1)], 10);
+	}
+
+}
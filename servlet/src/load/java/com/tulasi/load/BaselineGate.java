@@ -0,0 +1,95 @@
+package com.tulasi.load;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Compares a run with the stored baseline and lists what regressed. Only the
+ * operations present in both are compared. A latency percentile regresses when
+ * it grew by more than the tolerance and by more than {@code minDeltaMillis}
+ * (sub-millisecond jitter is not a regression). Throughput regresses when it
+ * dropped by more than the tolerance. Errors regress when their share of
+ * requests went up by more than a percentage point. p999 uses the looser
+ * {@code tailTolerance}, since a few hundred samples decide it.
+ */
+final class BaselineGate {
+
+	private static final String[] SETTINGS = { "model", "rate", "concurrency", "mix" };
+
+	private BaselineGate() {
+	}
+
+	/**
+	 * @return regressions, empty when the run is within the baseline or the
+	 *         two runs used different settings and cannot be compared
+	 */
+	static List<String> check(JsonNode baseline, JsonNode current, LoadConfig config) {
+		for (String setting : SETTINGS) {
+			if (!baseline.path(setting).equals(current.path(setting))) {
+				System.out.printf("load: baseline was recorded with %s=%s, this run used %s; not comparing%n", setting,
+						baseline.path(setting), current.path(setting));
+				return List.of();
+			}
+		}
+
+		List<String> regressions = new ArrayList<>();
+		System.out.printf("%-8s %-10s %12s %12s %9s%n", "op", "metric", "baseline", "current", "delta");
+		for (Iterator<Map.Entry<String, JsonNode>> it = current.path("operations").fields(); it.hasNext();) {
+			Map.Entry<String, JsonNode> entry = it.next();
+			JsonNode base = baseline.path("operations").path(entry.getKey());
+			if (base.isMissingNode()) {
+				System.out.printf("%-8s %-10s %12s %12s %9s%n", entry.getKey(), "-", "-", "-", "new");
+				continue;
+			}
+			JsonNode now = entry.getValue();
+			latency(regressions, entry.getKey(), "p50", base, now, config.tolerance(), config);
+			latency(regressions, entry.getKey(), "p99", base, now, config.tolerance(), config);
+			latency(regressions, entry.getKey(), "p999", base, now, config.tailTolerance(), config);
+
+			double baseRps = base.path("throughput").asDouble();
+			double rps = now.path("throughput").asDouble();
+			boolean slower = rps < baseRps * (1 - config.tolerance());
+			row(entry.getKey(), "req/s", baseRps, rps, slower);
+			if (slower) {
+				regressions.add(String.format("%s throughput %.1f -> %.1f req/s", entry.getKey(), baseRps, rps));
+			}
+
+			double baseErrors = errorRate(base);
+			double errors = errorRate(now);
+			boolean failing = errors > baseErrors + 0.01;
+			row(entry.getKey(), "errors %", baseErrors * 100, errors * 100, failing);
+			if (failing) {
+				regressions.add(String.format("%s error rate %.2f%% -> %.2f%%", entry.getKey(), baseErrors * 100,
+						errors * 100));
+			}
+		}
+		return regressions;
+	}
+
+	private static void latency(List<String> regressions, String operation, String metric, JsonNode base,
+			JsonNode now, double tolerance, LoadConfig config) {
+		double before = base.path(metric).asDouble();
+		double after = now.path(metric).asDouble();
+		boolean regressed = after > before * (1 + tolerance) && after - before > config.minDeltaMillis();
+		row(operation, metric + " ms", before, after, regressed);
+		if (regressed) {
+			regressions.add(String.format("%s %s %.2f -> %.2f ms", operation, metric, before, after));
+		}
+	}
+
+	private static void row(String operation, String metric, double before, double after, boolean regressed) {
+		double delta = before == 0 ? 0 : (after - before) / before * 100;
+		System.out.printf("%-8s %-10s %12.2f %12.2f %+8.1f%%%s%n", operation, metric, before, after, delta,
+				regressed ? "  REGRESSED" : "");
+	}
+
+	private static double errorRate(JsonNode operation) {
+		long count = operation.path("count").asLong();
+		return count == 0 ? 0 : (double) operation.path("errors").asLong() / count;
+	}
+
+}
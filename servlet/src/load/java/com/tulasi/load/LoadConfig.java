@@ -0,0 +1,85 @@
+package com.tulasi.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from {@code load.*} system properties (the
+ * {@code load} Maven profile forwards its properties of the same names).
+ *
+ * @param model          {@code open}: requests start on a fixed schedule at
+ *                       {@code rate} whatever the server does; {@code closed}:
+ *                       {@code concurrency} users, each sending its next
+ *                       request once the previous one has completed
+ * @param rate           requests per second. In the closed model this is
+ *                       shared between the users, and 0 means no pacing
+ * @param maxOutstanding open model: cap on in-flight requests (more waiting
+ *                       still counts against latency)
+ */
+record LoadConfig(Model model, double rate, int concurrency, int maxOutstanding, Duration warmup,
+		Duration duration, Map<Operation, Integer> mix, int seed, Path baseline, Path result,
+		double tolerance, double tailTolerance, double minDeltaMillis, boolean updateBaseline) {
+
+	enum Model {
+		OPEN, CLOSED
+	}
+
+	static LoadConfig fromSystemProperties() {
+		LoadConfig config = new LoadConfig(
+				Model.valueOf(property("load.model", "open").toUpperCase(Locale.ROOT)),
+				Double.parseDouble(property("load.rate", "200")),
+				Integer.parseInt(property("load.concurrency", "16")),
+				Integer.parseInt(property("load.max-outstanding", "1000")),
+				Duration.parse(property("load.warmup", "PT10S")),
+				Duration.parse(property("load.duration", "PT30S")),
+				parseMix(property("load.mix", "add=10,get=50,list=20,update=15,delete=5")),
+				Integer.parseInt(property("load.seed", "1000")),
+				Path.of(property("load.baseline", "src/load/baseline.json")),
+				Path.of(property("load.result", "target/load-result.json")),
+				Double.parseDouble(property("load.tolerance", "0.25")),
+				Double.parseDouble(property("load.tail-tolerance", "0.5")),
+				Double.parseDouble(property("load.min-delta-ms", "2")),
+				Boolean.parseBoolean(property("load.update-baseline", "false")));
+		if (config.model == Model.OPEN && config.rate <= 0) {
+			throw new IllegalArgumentException("load.rate must be positive in the open model");
+		}
+		if (config.concurrency < 1 || config.maxOutstanding < 1) {
+			throw new IllegalArgumentException("load.concurrency and load.max-outstanding must be positive");
+		}
+		return config;
+	}
+
+	// add=10,get=50 -> relative weights; operations left out are not sent
+	static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (String part : mix.split(",")) {
+			String[] kv = part.trim().split("=");
+			if (kv.length != 2) {
+				throw new IllegalArgumentException("load.mix entries look like get=50, not '" + part + "'");
+			}
+			int weight = Integer.parseInt(kv[1].trim());
+			if (weight > 0) {
+				weights.put(Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("load.mix has no operation with a positive weight");
+		}
+		return weights;
+	}
+
+	String mixString() {
+		StringBuilder sb = new StringBuilder();
+		mix.forEach((op, weight) -> sb.append(sb.isEmpty() ? "" : ",").append(op.label()).append('=').append(weight));
+		return sb.toString();
+	}
+
+	private static String property(String name, String defaultValue) {
+		String value = System.getProperty(name);
+		return value == null || value.isBlank() ? defaultValue : value.trim();
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.tulasi.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.tulasi.load.Workload.Call;
+
+/**
+ * Drives the workload for a fixed time and records every request.
+ * <p>
+ * Both models work from a schedule of intended start times. The open model
+ * has one schedule at {@code rate} and sends asynchronously, so a slow
+ * response does not hold back the requests behind it. In the closed model
+ * each user has its own schedule at {@code rate / concurrency} and waits for
+ * its previous response. When a user falls behind, its next request goes out
+ * at once but is still timed from its slot. Either way a stall shows up in
+ * every request it delayed, not just the one that hit it; this is the
+ * coordinated-omission correction. A closed run with rate 0 has no schedule
+ * and times each request from its send.
+ */
+final class LoadGenerator {
+
+	/** What one run measured. */
+	record Results(Map<Operation, OperationStats> operations, long elapsedNanos) {
+
+		double throughput(Operation operation) {
+			return operations.get(operation).count() / (elapsedNanos / 1e9);
+		}
+
+	}
+
+	private final HttpClient client;
+	private final Workload workload;
+	private final LoadConfig config;
+
+	LoadGenerator(HttpClient client, Workload workload, LoadConfig config) {
+		this.client = client;
+		this.workload = workload;
+		this.config = config;
+	}
+
+	Results run(Duration length) throws InterruptedException {
+		Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+		for (Operation operation : config.mix().keySet()) {
+			stats.put(operation, new OperationStats());
+		}
+		// a drained id pool turns gets/updates/deletes into adds
+		stats.computeIfAbsent(Operation.ADD, op -> new OperationStats());
+
+		long start = System.nanoTime();
+		long end = start + length.toNanos();
+		if (config.model() == LoadConfig.Model.OPEN) {
+			runOpen(stats, start, end);
+		} else {
+			runClosed(stats, start, end);
+		}
+		return new Results(stats, System.nanoTime() - start);
+	}
+
+	private void runOpen(Map<Operation, OperationStats> stats, long start, long end) throws InterruptedException {
+		double interval = 1e9 / config.rate();
+		Semaphore outstanding = new Semaphore(config.maxOutstanding());
+		for (long i = 0;; i++) {
+			long intended = start + (long) (i * interval);
+			if (intended - end >= 0) {
+				break;
+			}
+			parkUntil(intended);
+			outstanding.acquire();
+			Call call = workload.next();
+			long sent = System.nanoTime();
+			client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+				long done = System.nanoTime();
+				stats.get(call.operation()).record(intended, sent, done, failed(response, error));
+				workload.completed(call, response);
+				outstanding.release();
+			});
+		}
+		// responses still in flight belong to this run
+		if (!outstanding.tryAcquire(config.maxOutstanding(), Workload.REQUEST_TIMEOUT.toSeconds() + 5,
+				TimeUnit.SECONDS)) {
+			System.err.println("load: gave up waiting for in-flight requests");
+		}
+	}
+
+	private void runClosed(Map<Operation, OperationStats> stats, long start, long end) throws InterruptedException {
+		int users = config.concurrency();
+		double interval = config.rate() > 0 ? users * 1e9 / config.rate() : 0;
+		List<Thread> threads = new ArrayList<>(users);
+		for (int u = 0; u < users; u++) {
+			// stagger the users across one interval so they do not fire in lockstep
+			long offset = (long) (interval * u / users);
+			Thread thread = new Thread(() -> runUser(stats, start + offset, end, interval), "load-user-" + u);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	private void runUser(Map<Operation, OperationStats> stats, long start, long end, double interval) {
+		for (long i = 0;; i++) {
+			long intended = start + (long) (i * interval);
+			if (interval > 0) {
+				if (intended - end >= 0) {
+					return;
+				}
+				parkUntil(intended);
+			} else if (System.nanoTime() - end >= 0) {
+				return;
+			}
+			Call call = workload.next();
+			long sent = System.nanoTime();
+			HttpResponse<String> response = null;
+			Throwable error = null;
+			try {
+				response = client.send(call.request(), HttpResponse.BodyHandlers.ofString());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				error = e;
+			}
+			long done = System.nanoTime();
+			stats.get(call.operation()).record(interval > 0 ? intended : sent, sent, done, failed(response, error));
+			workload.completed(call, response);
+		}
+	}
+
+	private static boolean failed(HttpResponse<String> response, Throwable error) {
+		return error != null || response == null || response.statusCode() >= 400;
+	}
+
+	private static void parkUntil(long deadline) {
+		for (long wait; (wait = deadline - System.nanoTime()) > 0;) {
+			LockSupport.parkNanos(wait);
+		}
+	}
+
+}
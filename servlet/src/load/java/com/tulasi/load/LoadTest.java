@@ -0,0 +1,159 @@
+package com.tulasi.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tulasi.SpringBootCrudOperationsApplication;
+
+/**
+ * Boots the application on a random port against in-memory H2, seeds it,
+ * warms it up and then drives the configured mix (see {@link LoadConfig}).
+ * Prints throughput and latency percentiles per operation, writes them to
+ * {@code load.result} and checks them against {@code load.baseline}. Exits
+ * with 1 when something regressed, which fails the Maven build.
+ * <p>
+ * {@code -Dload.update-baseline=true} stores the run as the new baseline.
+ * Baselines are only meaningful on the machine that recorded them.
+ */
+public final class LoadTest {
+
+	private static final int SEED_BATCH = 500;
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadConfig config = LoadConfig.fromSystemProperties();
+		ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		int status;
+		// the restarter would relaunch main in a new class loader
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		ConfigurableApplicationContext context = start();
+		ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+		try {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+			Workload workload = new Workload("http://localhost:" + port + "/api", config.mix());
+			seed(client, workload, port, config.seed());
+
+			LoadGenerator generator = new LoadGenerator(client, workload, config);
+			System.out.printf("load: %s model, %s, warmup %s, measuring %s%n", config.model().name().toLowerCase(),
+					config.model() == LoadConfig.Model.OPEN || config.rate() > 0 ? config.rate() + " req/s"
+							: "unpaced",
+					config.warmup(), config.duration());
+			generator.run(config.warmup());
+			LoadGenerator.Results results = generator.run(config.duration());
+
+			ObjectNode report = report(mapper, config, results);
+			Files.createDirectories(config.result().toAbsolutePath().getParent());
+			mapper.writeValue(config.result().toFile(), report);
+			status = gate(mapper, config, report);
+		} finally {
+			clientExecutor.shutdownNow();
+			context.close();
+		}
+		System.exit(status);
+	}
+
+	private static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(SpringBootCrudOperationsApplication.class).run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+				"--spring.datasource.driver-class-name=org.h2.Driver", "--spring.datasource.username=sa",
+				"--spring.datasource.password=", "--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.main.banner-mode=off",
+				// the report is the output; levels set here rather than in a logback-test.xml, which would
+				// stay behind in target/test-classes and quieten the unit tests of a later plain build
+				"--logging.level.root=WARN", "--logging.level.access=WARN");
+	}
+
+	private static void seed(HttpClient client, Workload workload, int port, int count)
+			throws IOException, InterruptedException {
+		for (int done = 0; done < count; done += SEED_BATCH) {
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bulk"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(workload.bulkJson(Math.min(SEED_BATCH, count - done))))
+					.build();
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("seeding failed: " + response.statusCode() + " " + response.body());
+			}
+			workload.addBulkIds(response.body());
+		}
+		System.out.printf("load: seeded %d employees%n", workload.knownIds());
+	}
+
+	private static ObjectNode report(ObjectMapper mapper, LoadConfig config, LoadGenerator.Results results) {
+		ObjectNode report = mapper.createObjectNode();
+		report.put("model", config.model().name().toLowerCase());
+		report.put("rate", config.rate());
+		report.put("concurrency", config.concurrency());
+		report.put("mix", config.mixString());
+		report.put("seconds", results.elapsedNanos() / 1e9);
+		ObjectNode operations = report.putObject("operations");
+
+		System.out.printf("%-8s %9s %7s %10s %10s %10s %10s %10s %12s%n", "op", "count", "errors", "req/s",
+				"p50 ms", "p99 ms", "p999 ms", "max ms", "svc p99 ms");
+		for (Map.Entry<Operation, OperationStats> entry : results.operations().entrySet()) {
+			OperationStats stats = entry.getValue();
+			if (stats.count() == 0) {
+				continue;
+			}
+			ObjectNode op = operations.putObject(entry.getKey().label());
+			op.put("count", stats.count());
+			op.put("errors", stats.errors());
+			op.put("throughput", round(results.throughput(entry.getKey())));
+			op.put("p50", round(stats.responseMillis(50)));
+			op.put("p99", round(stats.responseMillis(99)));
+			op.put("p999", round(stats.responseMillis(99.9)));
+			op.put("max", round(stats.maxMillis()));
+			op.put("serviceP99", round(stats.serviceMillis(99)));
+			System.out.printf("%-8s %9d %7d %10.1f %10.2f %10.2f %10.2f %10.2f %12.2f%n", entry.getKey().label(),
+					stats.count(), stats.errors(), results.throughput(entry.getKey()), stats.responseMillis(50),
+					stats.responseMillis(99), stats.responseMillis(99.9), stats.maxMillis(), stats.serviceMillis(99));
+		}
+		return report;
+	}
+
+	private static int gate(ObjectMapper mapper, LoadConfig config, ObjectNode report) throws IOException {
+		if (config.updateBaseline()) {
+			mapper.writeValue(config.baseline().toFile(), report);
+			System.out.println("load: baseline written to " + config.baseline());
+			return 0;
+		}
+		if (!Files.exists(config.baseline())) {
+			System.out.println("load: no baseline at " + config.baseline() + "; record one with -Dload.update-baseline=true");
+			return 0;
+		}
+		JsonNode baseline = mapper.readTree(config.baseline().toFile());
+		List<String> regressions = BaselineGate.check(baseline, report, config);
+		if (regressions.isEmpty()) {
+			System.out.println("load: within baseline");
+			return 0;
+		}
+		System.out.println("load: regressed past " + config.baseline() + ":");
+		regressions.forEach(r -> System.out.println("  " + r));
+		return 1;
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.tulasi.load;
+
+import java.util.Locale;
+
+/**
+ * The endpoints a load run drives, named as they appear in the report.
+ */
+enum Operation {
+
+	/** POST /api/add */
+	ADD,
+	/** GET /api/{id} */
+	GET,
+	/** GET /api?after=&limit= */
+	LIST,
+	/** PUT /api/{id} */
+	UPDATE,
+	/** DELETE /api/{id} */
+	DELETE;
+
+	String label() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+
+	boolean needsExistingId() {
+		return this == GET || this == UPDATE || this == DELETE;
+	}
+
+}
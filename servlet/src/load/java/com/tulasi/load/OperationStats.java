@@ -0,0 +1,52 @@
+package com.tulasi.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies of one operation. {@code response} runs from the request's
+ * intended start (its slot in the schedule) to completion, so time spent
+ * queued behind a slow response is counted instead of silently omitted;
+ * {@code service} runs from the actual send and shows how much of the
+ * response time was the server itself.
+ */
+final class OperationStats {
+
+	private static final long HIGHEST = TimeUnit.MINUTES.toNanos(2);
+
+	private final Histogram response = new ConcurrentHistogram(HIGHEST, 3);
+	private final Histogram service = new ConcurrentHistogram(HIGHEST, 3);
+	private final LongAdder errors = new LongAdder();
+
+	void record(long intendedStart, long sent, long done, boolean failed) {
+		response.recordValue(Math.min(HIGHEST, done - intendedStart));
+		service.recordValue(Math.min(HIGHEST, done - sent));
+		if (failed) {
+			errors.increment();
+		}
+	}
+
+	long count() {
+		return response.getTotalCount();
+	}
+
+	long errors() {
+		return errors.sum();
+	}
+
+	double responseMillis(double percentile) {
+		return response.getValueAtPercentile(percentile) / 1e6;
+	}
+
+	double maxMillis() {
+		return response.getMaxValue() / 1e6;
+	}
+
+	double serviceMillis(double percentile) {
+		return service.getValueAtPercentile(percentile) / 1e6;
+	}
+
+}
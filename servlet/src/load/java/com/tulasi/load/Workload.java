@@ -0,0 +1,157 @@
+package com.tulasi.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the next operation from the weighted mix and builds its request.
+ * Ids of created employees are kept so gets, updates and deletes hit rows
+ * that exist; a delete takes its id out of the pool before it is sent.
+ */
+final class Workload {
+
+	static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+	private static final Pattern BULK_IDS = Pattern.compile("\"ids\"\\s*:\\s*\\[([^\\]]*)]");
+	private static final String[] DEPARTMENTS = { "Engineering", "Sales", "HR", "Finance", "Support" };
+
+	/** One request about to be sent. */
+	record Call(Operation operation, HttpRequest request) {
+	}
+
+	private final String base;
+	private final Operation[] operations;
+	private final int[] cumulative;
+	private final String runId = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong sequence = new AtomicLong();
+	private final IdPool ids = new IdPool();
+
+	Workload(String base, Map<Operation, Integer> mix) {
+		this.base = base;
+		this.operations = mix.keySet().toArray(Operation[]::new);
+		this.cumulative = new int[operations.length];
+		int total = 0;
+		for (int i = 0; i < operations.length; i++) {
+			total += mix.get(operations[i]);
+			cumulative[i] = total;
+		}
+	}
+
+	Call next() {
+		int r = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+		int i = 0;
+		while (r >= cumulative[i]) {
+			i++;
+		}
+		return call(operations[i]);
+	}
+
+	Call call(Operation operation) {
+		int id = 0;
+		if (operation.needsExistingId()) {
+			id = operation == Operation.DELETE ? ids.take() : ids.peek();
+			if (id == 0) {
+				// pool drained (delete-heavy mix); keep the rate by creating instead
+				operation = Operation.ADD;
+			}
+		}
+		HttpRequest.Builder request = switch (operation) {
+		case ADD -> json(URI.create(base + "/add")).POST(BodyPublishers.ofString(employeeJson()));
+		case GET -> HttpRequest.newBuilder(URI.create(base + "/" + id)).GET();
+		case LIST -> HttpRequest.newBuilder(URI.create(base + "?after=" + Math.max(0, ids.peek() - 1) + "&limit=20"))
+				.GET();
+		case UPDATE -> json(URI.create(base + "/" + id)).PUT(BodyPublishers.ofString(employeeJson()));
+		case DELETE -> HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE();
+		};
+		return new Call(operation, request.timeout(REQUEST_TIMEOUT).build());
+	}
+
+	/** Feeds created ids back into the pool. */
+	void completed(Call call, HttpResponse<String> response) {
+		if (call.operation() == Operation.ADD && response != null && response.statusCode() == 201) {
+			Matcher m = ID.matcher(response.body());
+			if (m.find()) {
+				ids.add(Integer.parseInt(m.group(1)));
+			}
+		}
+	}
+
+	/** Body for POST /api/bulk with {@code count} new employees. */
+	String bulkJson(int count) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < count; i++) {
+			sb.append(i == 0 ? "" : ",").append(employeeJson());
+		}
+		return sb.append(']').toString();
+	}
+
+	/** Takes the generated ids from a POST /api/bulk response. */
+	void addBulkIds(String body) {
+		Matcher m = BULK_IDS.matcher(body);
+		if (m.find() && !m.group(1).isBlank()) {
+			for (String id : m.group(1).split(",")) {
+				ids.add(Integer.parseInt(id.trim()));
+			}
+		}
+	}
+
+	int knownIds() {
+		return ids.size();
+	}
+
+	private String employeeJson() {
+		long n = sequence.incrementAndGet();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return "{\"name\":\"load " + n + "\",\"department\":\"" + DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]
+				+ "\",\"salary\":" + (1000 + random.nextInt(9000)) + ",\"email\":\"load-" + runId + "-" + n
+				+ "@example.com\",\"phno\":\"98765" + (10000 + n % 90000) + "\"}";
+	}
+
+	private static HttpRequest.Builder json(URI uri) {
+		return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+	}
+
+	// random access plus O(1) removal (swap with last); 0 means empty since ids start at 1
+	private static final class IdPool {
+
+		private int[] ids = new int[1024];
+		private int size;
+
+		synchronized void add(int id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		synchronized int peek() {
+			return size == 0 ? 0 : ids[ThreadLocalRandom.current().nextInt(size)];
+		}
+
+		synchronized int take() {
+			if (size == 0) {
+				return 0;
+			}
+			int i = ThreadLocalRandom.current().nextInt(size);
+			int id = ids[i];
+			ids[i] = ids[--size];
+			return id;
+		}
+
+		synchronized int size() {
+			return size;
+		}
+
+	}
+
+}
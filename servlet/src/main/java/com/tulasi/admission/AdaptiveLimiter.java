@@ -0,0 +1,75 @@
+package com.tulasi.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit for one class of requests.
+ * <p>
+ * A request that completes within {@code latencyThreshold} while the limit is
+ * at least half used raises the limit by {@code 1/limit}, so roughly one per
+ * limit's worth of completions (additive increase). A slower or failed one
+ * multiplies it by {@code backoffRatio} (multiplicative decrease), at most
+ * once per threshold period so a burst of slow responses counts as one
+ * congestion signal. Requests beyond the limit are refused immediately.
+ */
+public class AdaptiveLimiter {
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final long thresholdNanos;
+	private final double backoffRatio;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile double limit;
+	// guarded by this
+	private long lastDecrease;
+
+	public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, long thresholdNanos, double backoffRatio) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.thresholdNanos = thresholdNanos;
+		this.backoffRatio = backoffRatio;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+		this.lastDecrease = System.nanoTime() - thresholdNanos;
+	}
+
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= (int) limit) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	// sample=false releases the slot without feeding the latency into the limit (streaming responses)
+	public void release(long latencyNanos, boolean failed, boolean sample, long now) {
+		int before = inFlight.getAndDecrement();
+		if (!sample) {
+			return;
+		}
+		synchronized (this) {
+			if (failed || latencyNanos > thresholdNanos) {
+				if (now - lastDecrease >= thresholdNanos) {
+					limit = Math.max(minLimit, limit * backoffRatio);
+					lastDecrease = now;
+				}
+			} else if (before * 2 >= limit) {
+				// an idle service says nothing about how much more it could take
+				limit = Math.min(maxLimit, limit + 1.0 / limit);
+			}
+		}
+	}
+
+	public int limit() {
+		return (int) limit;
+	}
+
+	public int inFlight() {
+		return inFlight.get();
+	}
+
+}
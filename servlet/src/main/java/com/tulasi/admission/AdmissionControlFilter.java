@@ -0,0 +1,138 @@
+package com.tulasi.admission;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control for {@code /api/**}: a per-client token bucket (429 when
+ * empty), then an {@link AdaptiveLimiter} for reads (GET/HEAD) and one for
+ * writes (503 when full). A client is its remote address; a client header is
+ * only honoured when one is configured, which is safe only behind a gateway
+ * that strips or overwrites it, since callers could otherwise pick any id.
+ * Refused requests get a fixed problem+json body and Retry-After without
+ * reaching MVC, the service or the connection pool.
+ * <p>
+ * Limits, in-flight counts and refusals are published as
+ * {@code employee.admission.*} meters.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+	private static final byte[] OVERLOADED = problem(HttpStatus.SERVICE_UNAVAILABLE,
+			"Too many requests in progress, retry later");
+	private static final byte[] RATE_LIMITED = problem(HttpStatus.TOO_MANY_REQUESTS,
+			"Request rate limit exceeded for this client");
+
+	private final AdaptiveLimiter reads;
+	private final AdaptiveLimiter writes;
+	private final ClientRateLimiter rateLimiter;
+	private final String clientHeader;
+	private final Set<String> unsampledPaths;
+	private final Set<String> excludedPaths;
+	private final Counter readsShed;
+	private final Counter writesShed;
+	private final Counter rateLimited;
+
+	public AdmissionControlFilter(AdaptiveLimiter reads, AdaptiveLimiter writes, ClientRateLimiter rateLimiter,
+			String clientHeader, Set<String> unsampledPaths, Set<String> excludedPaths, MeterRegistry registry) {
+		this.reads = reads;
+		this.writes = writes;
+		this.rateLimiter = rateLimiter;
+		this.clientHeader = clientHeader == null || clientHeader.isBlank() ? null : clientHeader;
+		this.unsampledPaths = unsampledPaths;
+		this.excludedPaths = excludedPaths;
+		for (String type : new String[] { "reads", "writes" }) {
+			AdaptiveLimiter limiter = type.equals("reads") ? reads : writes;
+			Gauge.builder("employee.admission.limit", limiter, AdaptiveLimiter::limit).tag("class", type)
+					.description("Current adaptive concurrency limit").register(registry);
+			Gauge.builder("employee.admission.inflight", limiter, AdaptiveLimiter::inFlight).tag("class", type)
+					.description("Requests currently admitted").register(registry);
+		}
+		this.readsShed = rejected(registry, "reads", "concurrency");
+		this.writesShed = rejected(registry, "writes", "concurrency");
+		this.rateLimited = rejected(registry, "any", "rate");
+		if (rateLimiter != null) {
+			Gauge.builder("employee.admission.rate.capacity", rateLimiter, ClientRateLimiter::capacity)
+					.description("Token bucket size per client").register(registry);
+			Gauge.builder("employee.admission.rate.refill", rateLimiter, ClientRateLimiter::refillPerSecond)
+					.baseUnit("tokens/s").register(registry);
+			Gauge.builder("employee.admission.rate.clients", rateLimiter, ClientRateLimiter::clients)
+					.description("Clients with a tracked token bucket").register(registry);
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		// long-lived streams would hold a concurrency slot for as long as the client listens
+		return !request.getRequestURI().startsWith("/api") || excludedPaths.contains(request.getRequestURI());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		if (rateLimiter != null) {
+			long wait = rateLimiter.tryAcquire(clientOf(request), start);
+			if (wait > 0) {
+				rateLimited.increment();
+				reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, RATE_LIMITED);
+				return;
+			}
+		}
+		boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+		AdaptiveLimiter limiter = read ? reads : writes;
+		if (!limiter.tryAcquire()) {
+			(read ? readsShed : writesShed).increment();
+			reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), OVERLOADED);
+			return;
+		}
+		boolean failed = true;
+		try {
+			chain.doFilter(request, response);
+			failed = response.getStatus() >= 500;
+		} finally {
+			long now = System.nanoTime();
+			limiter.release(now - start, failed, !unsampledPaths.contains(request.getRequestURI()), now);
+		}
+	}
+
+	private String clientOf(HttpServletRequest request) {
+		String client = clientHeader == null ? null : request.getHeader(clientHeader);
+		return client != null && !client.isEmpty() ? client : request.getRemoteAddr();
+	}
+
+	private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, byte[] body)
+			throws IOException {
+		response.setStatus(status.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER,
+				Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999))));
+		response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	private static Counter rejected(MeterRegistry registry, String type, String reason) {
+		return Counter.builder("employee.admission.rejected").tag("class", type).tag("reason", reason)
+				.description("Requests refused before reaching the application").register(registry);
+	}
+
+	private static byte[] problem(HttpStatus status, String detail) {
+		return ("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase() + "\",\"status\":" + status.value()
+				+ ",\"detail\":\"" + detail + "\"}").getBytes(StandardCharsets.UTF_8);
+	}
+
+}
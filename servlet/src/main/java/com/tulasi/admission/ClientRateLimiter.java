@@ -0,0 +1,69 @@
+package com.tulasi.admission;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * One token bucket per client: bursts of up to {@code capacity} requests,
+ * refilled at {@code refillPerSecond}. Buckets of clients that have gone
+ * quiet expire, and the number tracked is bounded.
+ */
+public class ClientRateLimiter {
+
+	private final double capacity;
+	private final double refillPerNano;
+	private final Cache<String, TokenBucket> buckets;
+
+	public ClientRateLimiter(int capacity, double refillPerSecond, long maxClients) {
+		this.capacity = capacity;
+		this.refillPerNano = refillPerSecond / 1_000_000_000d;
+		// an idle bucket is full again after capacity / refill seconds; forgetting it then changes nothing
+		long idleNanos = (long) Math.ceil(capacity / refillPerNano);
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(maxClients)
+				.expireAfterAccess(Duration.ofNanos(Math.max(idleNanos, 1_000_000_000L)))
+				.build();
+	}
+
+	// 0 when the request may go ahead, otherwise nanoseconds until the client has a token again
+	public long tryAcquire(String client, long now) {
+		return buckets.get(client, key -> new TokenBucket(capacity, now)).tryConsume(now, capacity, refillPerNano);
+	}
+
+	public int capacity() {
+		return (int) capacity;
+	}
+
+	public double refillPerSecond() {
+		return refillPerNano * 1_000_000_000d;
+	}
+
+	public long clients() {
+		return buckets.estimatedSize();
+	}
+
+	static final class TokenBucket {
+
+		private double tokens;
+		private long refilledAt;
+
+		TokenBucket(double tokens, long now) {
+			this.tokens = tokens;
+			this.refilledAt = now;
+		}
+
+		synchronized long tryConsume(long now, double capacity, double refillPerNano) {
+			tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+			refilledAt = now;
+			if (tokens >= 1) {
+				tokens -= 1;
+				return 0;
+			}
+			return (long) Math.ceil((1 - tokens) / refillPerNano);
+		}
+
+	}
+
+}
@@ -0,0 +1,279 @@
+package com.tulasi.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tulasi.dto.DepartmentStats;
+import com.tulasi.dto.DepartmentTotals;
+import com.tulasi.dto.SalaryRow;
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.repo.EmployeeRepo;
+import com.tulasi.routing.ReadYourWrites;
+
+/**
+ * Per-department headcount and salary aggregates kept in memory.
+ * <p>
+ * Seeded once from the table at startup, then maintained from
+ * {@link EmployeeChangedEvent}s after each commit, including department moves
+ * and salary changes. Reads cost O(departments); percentiles are recomputed
+ * only for departments that changed since the last read. A periodic GROUP BY
+ * reconciliation reseeds everything if the aggregates drift from the table.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class DepartmentStatsStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(DepartmentStatsStore.class);
+
+	private final EmployeeRepo repo;
+	private final TransactionTemplate readOnlyTx;
+
+	private final Object lock = new Object();
+	private Aggregates live = new Aggregates();
+	// events seen while a seed is reading the table; replayed onto the fresh aggregates
+	private List<EmployeeChangedEvent> duringSeed;
+
+	public DepartmentStatsStore(EmployeeRepo repo, PlatformTransactionManager transactionManager) {
+		this.repo = repo;
+		this.readOnlyTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx.setReadOnly(true);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void seed() {
+		synchronized (lock) {
+			duringSeed = new ArrayList<>();
+		}
+		Aggregates fresh = new Aggregates();
+		try {
+			// events are applied as they commit, so the seed must not come from a lagging replica
+			ReadYourWrites.onPrimary(() -> readOnlyTx.execute(status -> {
+				try (Stream<SalaryRow> rows = repo.streamSalaryRows()) {
+					rows.forEach(row -> fresh.put(row.id(), row.department(), row.salary()));
+				}
+				return null;
+			}));
+		} catch (RuntimeException e) {
+			// keep serving what we have; the next reconciliation will try again
+			logger.error("Seeding department aggregates failed: {}", e.getMessage());
+			synchronized (lock) {
+				duringSeed = null;
+			}
+			return;
+		}
+		synchronized (lock) {
+			duringSeed.forEach(fresh::apply);
+			duringSeed = null;
+			live = fresh;
+		}
+		logger.info("Department aggregates seeded: {} employees in {} departments", fresh.members.size(),
+				fresh.departments.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		synchronized (lock) {
+			live.apply(event);
+			if (duringSeed != null) {
+				duringSeed.add(event);
+			}
+		}
+	}
+
+	public List<DepartmentStats> stats() {
+		synchronized (lock) {
+			return live.snapshot();
+		}
+	}
+
+	@Scheduled(initialDelayString = "${employee.stats.reconcile-interval:PT5M}",
+			fixedDelayString = "${employee.stats.reconcile-interval:PT5M}")
+	public void reconcile() {
+		// compared with aggregates that follow commits, so a lagging replica would only trigger false reseeds
+		List<DepartmentTotals> totals = ReadYourWrites.onPrimary(
+				() -> readOnlyTx.execute(status -> repo.departmentTotals()));
+		boolean matches;
+		synchronized (lock) {
+			matches = live.matches(totals);
+		}
+		if (!matches) {
+			// may also fire for a write that committed between the query and the check; reseeding is still correct
+			logger.warn("Department aggregates differ from the table, reseeding");
+			seed();
+		}
+	}
+
+	static final class Aggregates {
+
+		private static final double SUM_TOLERANCE = 0.01;
+
+		private final Map<Integer, Member> members = new HashMap<>();
+		private final Map<String, Department> departments = new HashMap<>();
+
+		void apply(EmployeeChangedEvent event) {
+			Employee e = event.employee();
+			switch (event.type()) {
+			case CREATED, UPDATED -> put(event.id(), e.getDepartment(), e.getSalary());
+			case PATCHED -> {
+				Member old = members.get(event.id());
+				if (old != null && (e.getDepartment() != null || e.getSalary() != null)) {
+					put(event.id(), e.getDepartment() != null ? e.getDepartment() : old.department(),
+							e.getSalary() != null ? e.getSalary() : old.salary());
+				}
+			}
+			case DELETED -> remove(event.id());
+			}
+		}
+
+		void put(int id, String department, Double salary) {
+			remove(id);
+			members.put(id, new Member(department, salary));
+			departments.computeIfAbsent(department, Department::new).add(salary);
+		}
+
+		void remove(int id) {
+			Member old = members.remove(id);
+			if (old == null) {
+				return;
+			}
+			Department department = departments.get(old.department());
+			department.remove(old.salary());
+			if (department.headcount == 0) {
+				departments.remove(old.department());
+			}
+		}
+
+		List<DepartmentStats> snapshot() {
+			List<DepartmentStats> result = new ArrayList<>(departments.size());
+			for (Department department : departments.values()) {
+				result.add(department.stats());
+			}
+			result.sort(Comparator.comparing(DepartmentStats::department, Comparator.nullsLast(Comparator.naturalOrder())));
+			return result;
+		}
+
+		boolean matches(List<DepartmentTotals> totals) {
+			if (totals.size() != departments.size()) {
+				return false;
+			}
+			for (DepartmentTotals t : totals) {
+				Department d = departments.get(t.department());
+				if (d == null || d.headcount != t.headcount() || !Objects.equals(d.min(), t.minSalary())
+						|| !Objects.equals(d.max(), t.maxSalary())) {
+					return false;
+				}
+				double expectedSum = t.sumSalary() == null ? 0 : t.sumSalary();
+				if (Math.abs(d.sum - expectedSum) > SUM_TOLERANCE) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private record Member(String department, Double salary) {
+	}
+
+	private static final class Department {
+
+		private final String name;
+		private long headcount;
+		private long salaryCount;
+		private double sum;
+		// salary -> number of employees earning it
+		private final TreeMap<Double, Integer> salaries = new TreeMap<>();
+		private DepartmentStats cached;
+
+		Department(String name) {
+			this.name = name;
+		}
+
+		void add(Double salary) {
+			headcount++;
+			if (salary != null) {
+				salaryCount++;
+				sum += salary;
+				salaries.merge(salary, 1, Integer::sum);
+			}
+			cached = null;
+		}
+
+		void remove(Double salary) {
+			headcount--;
+			if (salary != null) {
+				salaryCount--;
+				sum = salaryCount == 0 ? 0 : sum - salary;
+				salaries.computeIfPresent(salary, (s, n) -> n == 1 ? null : n - 1);
+			}
+			cached = null;
+		}
+
+		Double min() {
+			return salaries.isEmpty() ? null : salaries.firstKey();
+		}
+
+		Double max() {
+			return salaries.isEmpty() ? null : salaries.lastKey();
+		}
+
+		DepartmentStats stats() {
+			if (cached == null) {
+				cached = compute();
+			}
+			return cached;
+		}
+
+		private DepartmentStats compute() {
+			if (salaryCount == 0) {
+				return new DepartmentStats(name, headcount, null, null, null, null, null, null, null);
+			}
+			// nearest-rank percentiles in one walk over the distinct salaries
+			long r50 = rank(0.50);
+			long r90 = rank(0.90);
+			long r99 = rank(0.99);
+			Double p50 = null;
+			Double p90 = null;
+			Double p99 = null;
+			long seen = 0;
+			for (Map.Entry<Double, Integer> entry : salaries.entrySet()) {
+				seen += entry.getValue();
+				if (p50 == null && seen >= r50) {
+					p50 = entry.getKey();
+				}
+				if (p90 == null && seen >= r90) {
+					p90 = entry.getKey();
+				}
+				if (seen >= r99) {
+					p99 = entry.getKey();
+					break;
+				}
+			}
+			return new DepartmentStats(name, headcount, min(), max(), sum / salaryCount, sum, p50, p90, p99);
+		}
+
+		private long rank(double percentile) {
+			return Math.max(1, (long) Math.ceil(percentile * salaryCount));
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.tulasi.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tulasi.entity.Employee;
+
+/**
+ * Bounded read-through cache for single-employee lookups.
+ * <p>
+ * Missing ids are cached as {@link Optional#empty()} with a shorter TTL so id
+ * scans do not reach the database on every request. Concurrent misses on the
+ * same id wait for one load instead of each querying. Cached instances are
+ * shared between requests and must not be mutated.
+ */
+@Component
+public class EmployeeCache {
+
+	private final boolean enabled;
+	private final Cache<Integer, Optional<Employee>> cache;
+
+	public EmployeeCache(@Value("${employee.cache.enabled:true}") boolean enabled,
+			@Value("${employee.cache.max-size:10000}") long maxSize,
+			@Value("${employee.cache.ttl:10m}") Duration ttl,
+			@Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl) {
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new PresenceExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+				.recordStats()
+				.build();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	// loader runs at most once per id at a time; other callers for that id wait for its result
+	public Optional<Employee> get(int id, Function<Integer, Optional<Employee>> loader) {
+		if (!enabled) {
+			return loader.apply(id);
+		}
+		return cache.get(id, loader);
+	}
+
+	// null when the id is not cached; Optional.empty() when it is cached as missing
+	public Optional<Employee> getIfPresent(int id) {
+		return enabled ? cache.getIfPresent(id) : null;
+	}
+
+	public void putMissing(int id) {
+		if (enabled) {
+			cache.put(id, Optional.empty());
+		}
+	}
+
+	public void put(Employee employee) {
+		if (enabled) {
+			cache.put(employee.getId(), Optional.of(employee));
+		}
+	}
+
+	public void invalidate(int id) {
+		if (!enabled) {
+			return;
+		}
+		cache.invalidate(id);
+		// a reader may reload the old row before our transaction commits, so evict again afterwards
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cache.invalidate(id);
+				}
+			});
+		}
+	}
+
+	public void invalidateAll(Collection<Integer> ids) {
+		for (Integer id : ids) {
+			invalidate(id);
+		}
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	public long size() {
+		return cache.estimatedSize();
+	}
+
+	public Cache<Integer, Optional<Employee>> nativeCache() {
+		return cache;
+	}
+
+	private static final class PresenceExpiry implements Expiry<Integer, Optional<Employee>> {
+
+		private final long ttlNanos;
+		private final long negativeTtlNanos;
+
+		PresenceExpiry(long ttlNanos, long negativeTtlNanos) {
+			this.ttlNanos = ttlNanos;
+			this.negativeTtlNanos = negativeTtlNanos;
+		}
+
+		@Override
+		public long expireAfterCreate(Integer id, Optional<Employee> value, long currentTime) {
+			return value.isPresent() ? ttlNanos : negativeTtlNanos;
+		}
+
+		@Override
+		public long expireAfterUpdate(Integer id, Optional<Employee> value, long currentTime, long currentDuration) {
+			return expireAfterCreate(id, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(Integer id, Optional<Employee> value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.tulasi.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Hit/miss/eviction counters of {@link EmployeeCache} at /actuator/employeecache.
+ */
+@Component
+@Endpoint(id = "employeecache")
+public class EmployeeCacheEndpoint {
+
+	private final EmployeeCache cache;
+
+	public EmployeeCacheEndpoint(EmployeeCache cache) {
+		this.cache = cache;
+	}
+
+	@ReadOperation
+	public Map<String, Object> stats() {
+		CacheStats stats = cache.stats();
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("enabled", cache.isEnabled());
+		body.put("size", cache.size());
+		body.put("hits", stats.hitCount());
+		body.put("misses", stats.missCount());
+		body.put("hitRate", stats.hitRate());
+		body.put("evictions", stats.evictionCount());
+		body.put("loads", stats.loadCount());
+		body.put("averageLoadNanos", stats.averageLoadPenalty());
+		return body;
+	}
+
+}
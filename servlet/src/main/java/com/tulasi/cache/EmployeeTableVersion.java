@@ -0,0 +1,106 @@
+package com.tulasi.cache;
+
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.repo.TableVersionRepo;
+import com.tulasi.routing.ReadYourWrites;
+
+/**
+ * Table-level version for the employee list ETag.
+ * <p>
+ * The version is the employee row of {@code table_version}. Every write
+ * transaction increments it once, just before commit, from any instance (the
+ * reactive application included). The increment holds the row lock until
+ * commit, so the version becomes visible in commit order: a reader that sees
+ * version n also sees every write counted in it. GET /api can then answer
+ * If-None-Match with one primary-key lookup instead of reading the page. The
+ * tag and the page are read in one read-only transaction, so both come from
+ * the same database (replica included) and the tag is never newer than the
+ * body.
+ */
+@Component
+public class EmployeeTableVersion {
+
+	static final String TABLE = "employee";
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeTableVersion.class);
+
+	private final TableVersionRepo versions;
+	private final TransactionTemplate readOnlyTx;
+
+	public EmployeeTableVersion(TableVersionRepo versions, PlatformTransactionManager transactionManager) {
+		this.versions = versions;
+		this.readOnlyTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx.setReadOnly(true);
+	}
+
+	// creates the row up front so writes only ever update it; another instance may get there first
+	@EventListener(ApplicationReadyEvent.class)
+	public void seed() {
+		try {
+			if (ReadYourWrites.onPrimary(() -> versions.findVersion(TABLE)) == null) {
+				versions.create(TABLE, 0);
+			}
+		} catch (RuntimeException e) {
+			logger.debug("Employee table version not seeded: {}", e.getMessage());
+		}
+	}
+
+	// reader gets the tag and runs in the same transaction, so its reads join it
+	public <T> T read(Function<String, T> reader) {
+		return readOnlyTx.execute(status -> reader.apply(etag()));
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			increment();
+			return;
+		}
+		// once per transaction, however many employees it wrote
+		if (TransactionSynchronizationManager.getResource(this) == null) {
+			TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+			TransactionSynchronizationManager.registerSynchronization(new IncrementBeforeCommit());
+		}
+	}
+
+	// weak: the tag tracks table content, not the bytes of one encoding, so gzip can still apply
+	private String etag() {
+		Long version = versions.findVersion(TABLE);
+		return "W/\"" + (version == null ? 0 : version) + "\"";
+	}
+
+	private void increment() {
+		if (versions.increment(TABLE) == 0) {
+			// the seed did not run or failed
+			versions.create(TABLE, 1);
+		}
+	}
+
+	// as late as possible, so the row lock is held only for the commit itself
+	private final class IncrementBeforeCommit implements TransactionSynchronization {
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			increment();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeTableVersion.this);
+		}
+
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.tulasi.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulasi.metrics.AccessLogFilter;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+	// outside the query-count filter, so its per-request count is complete when the line is written
+	@Bean
+	FilterRegistrationBean<AccessLogFilter> accessLogFilter(ObjectMapper objectMapper,
+			@Value("${employee.access-log.sample-rate:0.01}") double sampleRate,
+			@Value("${employee.access-log.slow-threshold:500ms}") Duration slowThreshold) {
+		FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(
+				new AccessLogFilter(objectMapper, sampleRate, slowThreshold.toNanos()));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+		return registration;
+	}
+
+}
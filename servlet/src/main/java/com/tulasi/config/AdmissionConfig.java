@@ -0,0 +1,58 @@
+package com.tulasi.config;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.tulasi.admission.AdaptiveLimiter;
+import com.tulasi.admission.AdmissionControlFilter;
+import com.tulasi.admission.ClientRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Load shedding in front of the API when {@code employee.admission.enabled=true};
+ * see {@link AdmissionControlFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+
+	// inside the access-log and query-count filters so refusals are still logged and counted
+	@Bean
+	FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(Environment env, MeterRegistry registry) {
+		ClientRateLimiter rateLimiter = env.getProperty("employee.admission.rate-limit.enabled", Boolean.class, true)
+				? new ClientRateLimiter(env.getProperty("employee.admission.rate-limit.capacity", Integer.class, 100),
+						env.getProperty("employee.admission.rate-limit.refill-per-second", Double.class, 50.0),
+						env.getProperty("employee.admission.rate-limit.max-clients", Long.class, 100_000L))
+				: null;
+		AdmissionControlFilter filter = new AdmissionControlFilter(limiter(env, "reads", 50, 5, 200, Duration.ofMillis(100)),
+				limiter(env, "writes", 20, 2, 100, Duration.ofMillis(250)), rateLimiter,
+				env.getProperty("employee.admission.client-header"),
+				Set.of(env.getProperty("employee.admission.unsampled-paths", String[].class,
+						new String[] { "/api/export" })),
+				Set.of(env.getProperty("employee.admission.excluded-paths", String[].class,
+						new String[] { "/api/changes" })),
+				registry);
+		FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+		return registration;
+	}
+
+	private static AdaptiveLimiter limiter(Environment env, String type, int initial, int min, int max,
+			Duration threshold) {
+		String prefix = "employee.admission." + type + ".";
+		return new AdaptiveLimiter(env.getProperty(prefix + "initial-limit", Integer.class, initial),
+				env.getProperty(prefix + "min-limit", Integer.class, min),
+				env.getProperty(prefix + "max-limit", Integer.class, max),
+				env.getProperty(prefix + "latency-threshold", Duration.class, threshold).toNanos(),
+				env.getProperty("employee.admission.backoff-ratio", Double.class, 0.9));
+	}
+
+}
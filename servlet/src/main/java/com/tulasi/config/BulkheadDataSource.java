@@ -0,0 +1,111 @@
+package com.tulasi.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Caps how many callers may hold a JDBC connection at once.
+ * <p>
+ * With virtual threads every request can reach the pool at the same moment;
+ * the semaphore makes the excess wait (or fail fast after
+ * {@code acquireTimeoutMillis}) before touching the pool. A permit is
+ * returned when the connection is closed.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+	private final long acquireTimeoutMillis;
+
+	public BulkheadDataSource(DataSource target, int maxConcurrent, long acquireTimeoutMillis) {
+		super(target);
+		this.permits = new Semaphore(maxConcurrent, true);
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return guard(() -> super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		return guard(() -> super.getConnection(username, password));
+	}
+
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	public int queueLength() {
+		return permits.getQueueLength();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				// SQLState class 08 so it is translated like any other connection failure
+				throw new SQLTransientConnectionException(
+						"Database bulkhead full, no permit within " + acquireTimeoutMillis + "ms", "08001");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted waiting for database permit", "08001", e);
+		}
+	}
+
+	private Connection guard(ConnectionSupplier supplier) throws SQLException {
+		Connection connection;
+		try {
+			connection = supplier.get();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				new ReleasingHandler(connection));
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+		Connection get() throws SQLException;
+	}
+
+	private final class ReleasingHandler implements InvocationHandler {
+
+		private final Connection target;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		ReleasingHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			} finally {
+				if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+					permits.release();
+				}
+			}
+		}
+
+	}
+
+}
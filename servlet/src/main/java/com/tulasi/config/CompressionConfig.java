@@ -0,0 +1,22 @@
+package com.tulasi.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+	// innermost, so no other filter's wrapper sits between it and the MVC writes
+	@Bean
+	FilterRegistrationBean<DeferredJsonFlushFilter> deferredJsonFlushFilter() {
+		FilterRegistrationBean<DeferredJsonFlushFilter> registration = new FilterRegistrationBean<>(
+				new DeferredJsonFlushFilter());
+		registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+		return registration;
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.tulasi.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps the application DataSource in a {@link BulkheadDataSource} when
+ * {@code employee.db.bulkhead.enabled=true} (on by default in the "virtual" profile).
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.db.bulkhead.enabled", havingValue = "true")
+public class DbBulkheadConfig {
+
+	@Bean
+	static BeanPostProcessor dbBulkheadPostProcessor(Environment env) {
+		int permits = env.getProperty("employee.db.bulkhead.max-concurrent", Integer.class,
+				env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+		long timeoutMillis = env.getProperty("employee.db.bulkhead.acquire-timeout-ms", Long.class, 2000L);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+					return new BulkheadDataSource(dataSource, permits, timeoutMillis);
+				}
+				return bean;
+			}
+		};
+	}
+
+}
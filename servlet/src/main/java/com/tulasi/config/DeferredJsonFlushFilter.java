@@ -0,0 +1,113 @@
+package com.tulasi.config;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Ignores explicit flushes of JSON bodies so the container decides when to
+ * commit.
+ * <p>
+ * Jackson flushes after every write, which commits the response as chunked
+ * before its length is known, so Tomcat compresses even tiny bodies and
+ * {@code server.compression.min-response-size} never applies. Without the
+ * flush, a body that fits the response buffer goes out with a Content-Length
+ * and larger ones are committed when the buffer fills. Streaming types such
+ * as NDJSON still flush as written.
+ */
+public class DeferredJsonFlushFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		chain.doFilter(request, new DeferredFlushResponse(response));
+	}
+
+	private static final class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+		private ServletOutputStream out;
+
+		DeferredFlushResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (out == null) {
+				out = new DeferredFlushStream(super.getOutputStream(), this);
+			}
+			return out;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (!isJson()) {
+				super.flushBuffer();
+			}
+		}
+
+		boolean isJson() {
+			String contentType = getContentType();
+			if (contentType == null) {
+				return false;
+			}
+			MediaType type = MediaType.parseMediaType(contentType);
+			return MediaType.APPLICATION_JSON.isCompatibleWith(type) || "problem+json".equals(type.getSubtype());
+		}
+
+	}
+
+	private static final class DeferredFlushStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+		private final DeferredFlushResponse response;
+
+		DeferredFlushStream(ServletOutputStream delegate, DeferredFlushResponse response) {
+			this.delegate = delegate;
+			this.response = response;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			delegate.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (!response.isJson()) {
+				delegate.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.tulasi.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.tulasi.cache.EmployeeCache;
+import com.tulasi.metrics.QueryCountFilter;
+import com.tulasi.metrics.QueryCounter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hot-path instrumentation published on /actuator/prometheus: service timers,
+ * SQL statements per request, Hibernate session statistics and cache counters.
+ * HTTP and Hikari pool metrics come from Boot's auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry);
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer queryCounterCustomizer() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+	}
+
+	@Bean
+	FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry registry,
+			@Value("${employee.metrics.query-threshold:10}") int threshold) {
+		FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+				new QueryCountFilter(registry, threshold));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+
+	@Bean
+	MeterBinder hibernateMetrics(EntityManagerFactory emf) {
+		return registry -> new HibernateMetrics(emf.unwrap(SessionFactory.class), "employee", Tags.empty())
+				.bindTo(registry);
+	}
+
+	@Bean
+	MeterBinder employeeCacheMetrics(EmployeeCache cache) {
+		return registry -> CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), "employees");
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.tulasi.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkUpsertResult;
+import com.tulasi.dto.DepartmentStats;
+import com.tulasi.dto.DepartmentTotals;
+import com.tulasi.dto.EmployeeFieldsPage;
+import com.tulasi.dto.EmployeePage;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.dto.EmployeeVersion;
+import com.tulasi.dto.IngestStatus;
+import com.tulasi.dto.SalaryRow;
+import com.tulasi.dto.SuggestRow;
+import com.tulasi.dto.Suggestion;
+import com.tulasi.entity.Employee;
+
+/**
+ * Reflection metadata for the native image that Spring AOT cannot infer.
+ * Entity and repository proxies are contributed by Spring Data's AOT
+ * processing; this covers what is only reached reflectively at runtime.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHints.Registrar.class)
+public class NativeHints {
+
+	static class Registrar implements RuntimeHintsRegistrar {
+
+		@Override
+		public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+			// Jackson reads and writes these, some behind ResponseEntity<List<?>>, @RequestBody collections or streams
+			new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), Employee.class,
+					EmployeePatch.class, EmployeePage.class, EmployeeFieldsPage.class, EmployeeSearch.class,
+					BulkInsertResult.class, BulkUpsertResult.class, DepartmentStats.class, IngestStatus.class,
+					Suggestion.class);
+			// JPQL "select new ..." projections are instantiated through their constructors
+			for (Class<?> projection : new Class<?>[] { SalaryRow.class, DepartmentTotals.class,
+					EmployeeVersion.class, SuggestRow.class }) {
+				hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+			}
+			// bound with Binder in a BeanPostProcessor rather than @ConfigurationProperties
+			hints.reflection().registerType(ReplicaRoutingConfig.ReplicaProperties.class,
+					MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+		}
+
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.tulasi.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.tulasi.routing.ReadWriteRoutingDataSource;
+import com.tulasi.routing.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Puts the application DataSource behind a {@link ReadWriteRoutingDataSource}
+ * when {@code employee.datasource.routing.enabled=true}. Replicas are listed as
+ * {@code employee.datasource.replicas[n].url / username / password}; the
+ * primary stays {@code spring.datasource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+	public record ReplicaProperties(String url, String username, String password) {
+	}
+
+	@Bean
+	static BeanPostProcessor replicaRoutingPostProcessor(Environment env) {
+		Duration checkInterval = env.getProperty("employee.datasource.routing.health-check-interval", Duration.class,
+				Duration.ofSeconds(5));
+		Duration connectTimeout = env.getProperty("employee.datasource.routing.replica-connect-timeout",
+				Duration.class, Duration.ofSeconds(1));
+		int poolSize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+		return new RoutingPostProcessor(env, checkInterval, connectTimeout, poolSize);
+	}
+
+	@Bean
+	FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+		FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+				new ReadYourWritesFilter());
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+		return registration;
+	}
+
+	// ordered, so it wraps the pool before the (unordered) bulkhead post-processor sees it
+	private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+		private final Environment env;
+		private final Duration checkInterval;
+		private final Duration connectTimeout;
+		private final int poolSize;
+
+		RoutingPostProcessor(Environment env, Duration checkInterval, Duration connectTimeout, int poolSize) {
+			this.env = env;
+			this.checkInterval = checkInterval;
+			this.connectTimeout = connectTimeout;
+			this.poolSize = poolSize;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof DataSource primary && !(bean instanceof ReadWriteRoutingDataSource)
+					&& !(bean instanceof BulkheadDataSource)) {
+				return new ReadWriteRoutingDataSource(primary, replicas(), checkInterval);
+			}
+			return bean;
+		}
+
+		private Map<String, DataSource> replicas() {
+			List<ReplicaProperties> configured = Binder.get(env)
+					.bind("employee.datasource.replicas", Bindable.listOf(ReplicaProperties.class))
+					.orElse(List.of());
+			Map<String, DataSource> replicas = new LinkedHashMap<>();
+			for (int i = 0; i < configured.size(); i++) {
+				ReplicaProperties p = configured.get(i);
+				HikariDataSource ds = DataSourceBuilder.create()
+						.type(HikariDataSource.class)
+						.url(p.url())
+						.username(p.username())
+						.password(p.password())
+						.build();
+				String name = "replica-" + i;
+				ds.setPoolName(name);
+				ds.setMaximumPoolSize(poolSize);
+				// a dead replica should cost one short wait, not the 30s default
+				ds.setConnectionTimeout(connectTimeout.toMillis());
+				// start even when the replica is down; the health check brings it in later
+				ds.setInitializationFailTimeout(-1);
+				replicas.put(name, ds);
+			}
+			return replicas;
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+	}
+
+}
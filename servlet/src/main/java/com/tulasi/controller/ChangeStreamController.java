@@ -0,0 +1,51 @@
+package com.tulasi.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.outbox.ChangeRelay;
+
+@RestController
+@RequestMapping("/api/changes")
+@ConditionalOnProperty(name = "employee.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeStreamController {
+
+	public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+	private ChangeRelay relay;
+
+	public ChangeStreamController(ChangeRelay relay) {
+		this.relay = relay;
+	}
+
+	// "employee" events from the outbox, id = offset; EventSource resends the last one as Last-Event-ID on reconnect,
+	// ?after= does the same for the first connection. Without either the stream starts at the current offset.
+	@GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamChanges(@RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId,
+			@RequestParam(name = "after", required = false) String after) {
+		return relay.subscribe(offsetOf(lastEventId != null ? lastEventId : after));
+	}
+
+	static Long offsetOf(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			long offset = Long.parseLong(value.trim());
+			if (offset >= 0) {
+				return offset;
+			}
+		} catch (NumberFormatException e) {
+			// reported below
+		}
+		throw new InvalidEmployeeRequestException("Last-Event-ID must be a change offset, got '" + value + "'");
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.tulasi.controller;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tulasi.analytics.DepartmentStatsStore;
+import com.tulasi.dto.DepartmentStats;
+
+@RestController
+@RequestMapping("/api/departments")
+@ConditionalOnProperty(name = "employee.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class DepartmentStatsController {
+
+	private DepartmentStatsStore store;
+
+	public DepartmentStatsController(DepartmentStatsStore store) {
+		this.store = store;
+	}
+
+	// served from in-memory aggregates; never touches the employee table
+	@GetMapping("/stats")
+	public ResponseEntity<List<DepartmentStats>> departmentStats() {
+		return new ResponseEntity<>(store.stats(), HttpStatus.OK);
+	}
+
+}
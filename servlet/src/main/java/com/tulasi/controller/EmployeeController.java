@@ -0,0 +1,260 @@
+package com.tulasi.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulasi.cache.EmployeeTableVersion;
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkUpsertResult;
+import com.tulasi.dto.EmployeeFieldsPage;
+import com.tulasi.dto.EmployeePage;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.dto.UpsertResult;
+import com.tulasi.entity.Employee;
+import com.tulasi.exception.EmployeeVersionMismatchException;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.service.EmployeeService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api")
+public class EmployeeController {
+
+	public static final String NDJSON = "application/x-ndjson";
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
+	private static final int EXPORT_FLUSH_EVERY = 500;
+
+	private EmployeeService service;
+	private ObjectMapper objectMapper;
+	private EmployeeTableVersion tableVersion;
+	
+	public EmployeeController(EmployeeService service, ObjectMapper objectMapper, EmployeeTableVersion tableVersion) {
+		this.service=service;
+		this.objectMapper=objectMapper;
+		this.tableVersion=tableVersion;
+	}
+
+	@PostMapping("/add")
+	public ResponseEntity<Employee> addEmployee(@RequestBody Employee emp) {
+		Employee employee = service.addEmployee(emp);
+		if (employee == null) {
+			//sonar fix
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+		}
+		return new ResponseEntity<>(employee, HttpStatus.CREATED);
+	}
+
+	// per-row validation and duplicate errors come back in the result instead of failing the call
+	@PostMapping("/bulk")
+	public ResponseEntity<BulkInsertResult> bulkAddEmployees(@RequestBody List<Employee> emps) {
+		BulkInsertResult result = service.bulkAddEmployees(emps);
+		return new ResponseEntity<>(result, HttpStatus.OK);
+	}
+
+	// insert-or-update keyed on the unique email in one statement: 201 when it created the row, 200 when it updated it
+	@PutMapping("/by-email/{email}")
+	public ResponseEntity<Employee> upsertEmployeeByEmail(@PathVariable("email") String email,
+			@Valid @RequestBody Employee emp) {
+		UpsertResult result = service.upsertEmployeeByEmail(email, emp);
+		return ResponseEntity.status(result.created() ? HttpStatus.CREATED : HttpStatus.OK)
+				.eTag(etagOf(result.employee().getVersion())).body(result.employee());
+	}
+
+	// sync from an external system: every valid row is created or updated by email, invalid ones come back in errors
+	@PutMapping("/by-email")
+	public ResponseEntity<BulkUpsertResult> bulkUpsertEmployeesByEmail(@RequestBody List<Employee> emps) {
+		BulkUpsertResult result = service.bulkUpsertEmployeesByEmail(emps);
+		return new ResponseEntity<>(result, HttpStatus.OK);
+	}
+
+	// ?ids=3,1,2 -> found employees in requested order; unknown ids are left out
+	@GetMapping("/batch")
+	public ResponseEntity<List<Employee>> findEmployeesByIds(@RequestParam("ids") List<Integer> ids) {
+		List<Employee> employees = service.findEmployeesByIds(ids);
+		return new ResponseEntity<>(employees, HttpStatus.OK);
+	}
+
+	// ETag is the row version; a matching If-None-Match gets an empty 304 (usually straight from the cache)
+	@GetMapping("/{id}")
+	public ResponseEntity<Employee> findemployeeById(@PathVariable("id") int id, WebRequest request) {
+		Employee emp = service.findEmployeeById(id);
+		String etag = etagOf(emp.getVersion());
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		return ResponseEntity.ok().eTag(etag).body(emp);
+	}
+
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	// keyset pagination: ?after=<last id seen>&limit=N, next cursor in X-Next-Cursor and Link headers;
+	// ?fields=name,department selects and serializes only those columns (plus id)
+	@GetMapping
+	public ResponseEntity<List<?>> findAllEmployees(
+			@RequestParam(name = "after", defaultValue = "0") int after,
+			@RequestParam(name = "limit", defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int limit,
+			@RequestParam(name = "fields", required = false) List<String> fields,
+			WebRequest request) {
+		return tableVersion.read(etag -> listPage(etag, after, limit, fields, request));
+	}
+
+	// the tag is read before the page, in its transaction, so a racing write can only make it older than the body
+	private ResponseEntity<List<?>> listPage(String etag, int after, int limit, List<String> fields,
+			WebRequest request) {
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		List<?> items;
+		Integer nextCursor;
+		if (fields == null || fields.isEmpty()) {
+			EmployeePage page = service.getEmployeesPage(after, limit);
+			items = page.items();
+			nextCursor = page.nextCursor();
+		} else {
+			EmployeeFieldsPage page = service.getEmployeeFieldsPage(fields, after, limit);
+			items = page.items();
+			nextCursor = page.nextCursor();
+		}
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(etag);
+		if (nextCursor != null) {
+			headers.add(NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+			String fieldsParam = fields == null || fields.isEmpty() ? "" : "&fields=" + String.join(",", fields);
+			headers.add(HttpHeaders.LINK,
+					"</api?after=" + nextCursor + "&limit=" + items.size() + fieldsParam + ">; rel=\"next\"");
+		}
+		return new ResponseEntity<>(items, headers, HttpStatus.OK);
+	}
+
+	// combinable filters, same keyset paging as GET /api; the Link header keeps the filters
+	@GetMapping("/search")
+	public ResponseEntity<List<Employee>> searchEmployees(
+			@RequestParam(name = "department", required = false) String department,
+			@RequestParam(name = "minSalary", required = false) Double minSalary,
+			@RequestParam(name = "maxSalary", required = false) Double maxSalary,
+			@RequestParam(name = "email", required = false) String email,
+			@RequestParam(name = "name", required = false) String namePrefix,
+			@RequestParam(name = "after", defaultValue = "0") int after,
+			@RequestParam(name = "limit", defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int limit) {
+		EmployeeSearch search = new EmployeeSearch(department, minSalary, maxSalary, email, namePrefix);
+		EmployeePage page = service.searchEmployees(search, after, limit);
+
+		HttpHeaders headers = new HttpHeaders();
+		if (page.hasNext()) {
+			headers.add(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+			String next = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("after", page.nextCursor())
+					.build().toUriString();
+			headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+		}
+		return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+	}
+
+	// streams one JSON document per line straight from a DB cursor; nothing is buffered per table
+	@GetMapping(value = "/export", produces = NDJSON)
+	public void exportEmployees(HttpServletResponse response) throws IOException {
+		response.setContentType(NDJSON);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		// commit the headers now so the client sees the first byte before the query returns
+		response.flushBuffer();
+
+		OutputStream out = response.getOutputStream();
+		try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+			long[] written = { 0 };
+			long total = service.exportEmployees(emp -> {
+				try {
+					gen.writeObject(emp);
+					gen.writeRaw('\n');
+					if (++written[0] % EXPORT_FLUSH_EVERY == 0) {
+						gen.flush();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			logger.debug("Export streamed {} employees", total);
+		} catch (UncheckedIOException e) {
+			// client went away mid-stream; the response is already committed
+			logger.warn("Export aborted: {}", e.getMessage());
+		}
+	}
+
+	// If-Match makes the write conditional on the row version; a stale tag gets 412
+	@PutMapping("/{id}")
+	public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Integer id, @Valid @RequestBody Employee emp,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Long expectedVersion = versionOf(ifMatch);
+		Employee updateEmployee = service.updateEmployee(id, emp, expectedVersion);
+		if (expectedVersion != null) {
+			return ResponseEntity.ok().eTag(etagOf(updateEmployee.getVersion())).body(updateEmployee);
+		}
+		return new ResponseEntity<>(updateEmployee, HttpStatus.OK);
+	}
+
+	// writes only the fields present in the body, in one UPDATE
+	@PatchMapping("/{id}")
+	public ResponseEntity<Void> patchEmployee(@PathVariable("id") Integer id, @Valid @RequestBody EmployeePatch patch) {
+		service.patchEmployee(id, patch);
+		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+	}
+
+	@DeleteMapping("/{id}")
+	public ResponseEntity<Void> deleteEmployee(@PathVariable("id") Integer id,
+			@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		service.deleteEmployee(id, versionOf(ifMatch));
+		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+	}
+
+	static String etagOf(long version) {
+		return "\"" + version + "\"";
+	}
+
+	// null (unconditional) when If-Match is absent or "*"; weak or foreign tags can never match a row version
+	static Long versionOf(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		if (tag.contains(",")) {
+			throw new InvalidEmployeeRequestException("If-Match must carry a single ETag");
+		}
+		if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+			throw new EmployeeVersionMismatchException("If-Match does not match the current version");
+		}
+		try {
+			return Long.parseLong(tag.substring(1, tag.length() - 1));
+		} catch (NumberFormatException e) {
+			throw new EmployeeVersionMismatchException("If-Match does not match the current version");
+		}
+	}
+
+}
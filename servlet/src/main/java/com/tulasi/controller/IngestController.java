@@ -0,0 +1,48 @@
+package com.tulasi.controller;
+
+import java.net.URI;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tulasi.dto.IngestStatus;
+import com.tulasi.entity.Employee;
+import com.tulasi.ingest.WriteBehindIngestor;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/ingest")
+@ConditionalOnProperty(name = "employee.ingest.enabled", havingValue = "true")
+public class IngestController {
+
+	private WriteBehindIngestor ingestor;
+
+	public IngestController(WriteBehindIngestor ingestor) {
+		this.ingestor = ingestor;
+	}
+
+	// queued, not stored yet: poll the Location for the id or the failure reason
+	@PostMapping
+	public ResponseEntity<IngestStatus> ingestEmployee(@Valid @RequestBody Employee emp) {
+		IngestStatus status = ingestor.submit(emp);
+		return ResponseEntity.accepted().location(URI.create("/api/ingest/" + status.token())).body(status);
+	}
+
+	@GetMapping("/{token}")
+	public ResponseEntity<IngestStatus> ingestStatus(@PathVariable("token") String token) {
+		IngestStatus status = ingestor.status(token);
+		if (status == null) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		return new ResponseEntity<>(status, HttpStatus.OK);
+	}
+
+}
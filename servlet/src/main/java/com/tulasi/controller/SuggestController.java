@@ -0,0 +1,34 @@
+package com.tulasi.controller;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tulasi.dto.Suggestion;
+import com.tulasi.suggest.EmployeeSuggestIndex;
+
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "employee.suggest.enabled", havingValue = "true", matchIfMissing = true)
+public class SuggestController {
+
+	private EmployeeSuggestIndex index;
+
+	public SuggestController(EmployeeSuggestIndex index) {
+		this.index = index;
+	}
+
+	// typeahead: names and emails starting with q (ASCII case-insensitive), from memory, never the table
+	@GetMapping("/suggest")
+	public ResponseEntity<List<Suggestion>> suggest(@RequestParam("q") String q,
+			@RequestParam(name = "limit", defaultValue = "" + EmployeeSuggestIndex.DEFAULT_LIMIT) int limit) {
+		return new ResponseEntity<>(index.suggest(q, limit), HttpStatus.OK);
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.tulasi.dto;
+
+import java.util.List;
+
+import com.tulasi.dto.BulkInsertResult.RowError;
+
+/**
+ * Outcome of a bulk upsert by email. Rows listed in {@code errors} were
+ * skipped; every other row is in {@code created} or {@code updated} by id, in
+ * request order.
+ */
+public record BulkUpsertResult(int received, List<Integer> created, List<Integer> updated, List<RowError> errors) {
+
+}
@@ -0,0 +1,9 @@
+package com.tulasi.dto;
+
+/**
+ * Salary statistics for one department. Salary figures cover employees with a
+ * salary set and are null when there are none.
+ */
+public record DepartmentStats(String department, long headcount, Double minSalary, Double maxSalary,
+		Double avgSalary, Double sumSalary, Double p50Salary, Double p90Salary, Double p99Salary) {
+}
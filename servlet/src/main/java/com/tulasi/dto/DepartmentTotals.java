@@ -0,0 +1,8 @@
+package com.tulasi.dto;
+
+/**
+ * One row of the GROUP BY department query used to reconcile the in-memory aggregates.
+ */
+public record DepartmentTotals(String department, long headcount, Double sumSalary, Double minSalary,
+		Double maxSalary) {
+}
@@ -0,0 +1,16 @@
+package com.tulasi.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One keyset page of employees reduced to the requested fields. Same cursor
+ * semantics as {@link EmployeePage}; {@code id} is always present.
+ */
+public record EmployeeFieldsPage(List<Map<String, Object>> items, Integer nextCursor) {
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.tulasi.dto;
+
+import java.util.List;
+
+import com.tulasi.entity.Employee;
+
+/**
+ * One keyset page of employees. {@code nextCursor} is the id to pass as
+ * {@code after} for the following page, or {@code null} on the last page.
+ */
+public record EmployeePage(List<Employee> items, Integer nextCursor) {
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+
+}
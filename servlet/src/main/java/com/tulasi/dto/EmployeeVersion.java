@@ -0,0 +1,7 @@
+package com.tulasi.dto;
+
+/**
+ * Row identity and version, enough to tell whether a cached copy is current.
+ */
+public record EmployeeVersion(int id, long version) {
+}
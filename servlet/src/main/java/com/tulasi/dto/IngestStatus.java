@@ -0,0 +1,25 @@
+package com.tulasi.dto;
+
+/**
+ * Outcome of one asynchronously ingested create. {@code id} is set once the
+ * row is CREATED, {@code error} when it FAILED (e.g. duplicate email).
+ */
+public record IngestStatus(String token, State state, Integer id, String error) {
+
+	public enum State {
+		QUEUED, CREATED, FAILED
+	}
+
+	public static IngestStatus queued(String token) {
+		return new IngestStatus(token, State.QUEUED, null, null);
+	}
+
+	public static IngestStatus created(String token, int id) {
+		return new IngestStatus(token, State.CREATED, id, null);
+	}
+
+	public static IngestStatus failed(String token, String error) {
+		return new IngestStatus(token, State.FAILED, null, error);
+	}
+
+}
@@ -0,0 +1,7 @@
+package com.tulasi.dto;
+
+/**
+ * The columns the department aggregates need, read without loading whole entities.
+ */
+public record SalaryRow(int id, String department, Double salary) {
+}
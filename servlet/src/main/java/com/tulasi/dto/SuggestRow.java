@@ -0,0 +1,7 @@
+package com.tulasi.dto;
+
+/**
+ * The columns the typeahead index holds, read without loading whole entities.
+ */
+public record SuggestRow(int id, String name, String email) {
+}
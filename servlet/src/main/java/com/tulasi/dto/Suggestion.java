@@ -0,0 +1,8 @@
+package com.tulasi.dto;
+
+/**
+ * One typeahead match: the employee, which field matched ({@code name} or
+ * {@code email}) and its value.
+ */
+public record Suggestion(int id, String field, String value) {
+}
@@ -0,0 +1,11 @@
+package com.tulasi.dto;
+
+import com.tulasi.entity.Employee;
+
+/**
+ * Outcome of an upsert by email: the stored row (with id and version) and
+ * whether it was inserted rather than updated.
+ */
+public record UpsertResult(Employee employee, boolean created) {
+
+}
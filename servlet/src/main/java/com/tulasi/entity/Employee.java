@@ -0,0 +1,60 @@
+package com.tulasi.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+// secondary indexes backing the /api/search filters; email is covered by its unique constraint
+@Table(indexes = {
+		@Index(name = "idx_employee_department_salary", columnList = "department, salary"),
+		@Index(name = "idx_employee_salary", columnList = "salary"),
+		@Index(name = "idx_employee_name", columnList = "name") })
+@Data
+@NoArgsConstructor
+public class Employee {
+
+	@Id
+	// pooled sequence (a table on MySQL): ids are handed out in blocks of 50, so inserts can be batched
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+	@SequenceGenerator(name = "employee_seq", sequenceName = "Employee_SEQ", allocationSize = 50)
+	private int id;
+	@NotBlank(message = "Name cannot be null or empty")
+	private String name;
+    @NotBlank
+	private String department;
+	@Min(value = 1000, message = "Salary must be at least 1000")
+	private Double  salary;
+
+	@Column(unique = true)
+	private String email;
+
+	private String phno;
+
+	// bumped by every write, including the single-statement UPDATEs; exposed to clients only as the ETag
+	@Version
+	@JsonIgnore
+	private long version;
+
+	public Employee(int id, String name, String department, Double salary, String email, String phno) {
+		this.id = id;
+		this.name = name;
+		this.department = department;
+		this.salary = salary;
+		this.email = email;
+		this.phno = phno;
+	}
+
+}
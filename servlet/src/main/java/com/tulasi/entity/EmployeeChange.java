@@ -0,0 +1,51 @@
+package com.tulasi.entity;
+
+import java.time.Instant;
+
+import com.tulasi.event.EmployeeChangedEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transactional outbox row: one per employee write, inserted in the writing
+ * transaction and relayed to GET /api/changes subscribers in id order. The id
+ * is the offset clients resume from with Last-Event-ID.
+ */
+@Entity
+// (employee_id, id) answers "is there a newer change for this employee" during compaction
+@Table(name = "employee_change", indexes = {
+		@Index(name = "idx_employee_change_employee", columnList = "employeeId, id"),
+		@Index(name = "idx_employee_change_created", columnList = "createdAt") })
+@Data
+@NoArgsConstructor
+public class EmployeeChange {
+
+	// assigned by the insert in commit-ish order; the relay treats a hole as a transaction still in flight
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+
+	private int employeeId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private EmployeeChangedEvent.Type type;
+
+	// the employee as JSON, written once and relayed verbatim; null for DELETED
+	@Column(length = 2048)
+	private String payload;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+
+}
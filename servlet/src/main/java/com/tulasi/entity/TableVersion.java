@@ -0,0 +1,29 @@
+package com.tulasi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter for a whole table, one row per table. Every write
+ * transaction on the table increments it; the row lock taken by the increment
+ * is held until commit, so the counter moves in commit order.
+ */
+@Entity
+@Table(name = "table_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableVersion {
+
+	@Id
+	@Column(length = 64)
+	private String name;
+
+	private long version;
+
+}
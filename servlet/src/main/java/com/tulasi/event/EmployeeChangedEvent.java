@@ -0,0 +1,34 @@
+package com.tulasi.event;
+
+import com.tulasi.entity.Employee;
+
+/**
+ * Published by the service after every write so in-memory views can follow
+ * the table without re-reading it.
+ * <p>
+ * {@code employee} is the new state: complete for CREATED and UPDATED, only the
+ * written fields (others null) for PATCHED, and null for DELETED.
+ */
+public record EmployeeChangedEvent(Type type, int id, Employee employee) {
+
+	public enum Type {
+		CREATED, UPDATED, PATCHED, DELETED
+	}
+
+	public static EmployeeChangedEvent created(Employee employee) {
+		return new EmployeeChangedEvent(Type.CREATED, employee.getId(), employee);
+	}
+
+	public static EmployeeChangedEvent updated(Employee employee) {
+		return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), employee);
+	}
+
+	public static EmployeeChangedEvent patched(Employee partial) {
+		return new EmployeeChangedEvent(Type.PATCHED, partial.getId(), partial);
+	}
+
+	public static EmployeeChangedEvent deleted(int id) {
+		return new EmployeeChangedEvent(Type.DELETED, id, null);
+	}
+
+}
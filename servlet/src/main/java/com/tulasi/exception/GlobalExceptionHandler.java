@@ -0,0 +1,111 @@
+package com.tulasi.exception;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import jakarta.annotation.Generated;
+
+/**
+ * Maps errors to RFC 7807 {@code application/problem+json} bodies. The
+ * {@link ProblemDetail} carries status, title and detail in fields (its
+ * property map is only created when a property is set, and none is) and
+ * Spring fills {@code instance} with the request path. Logging goes through
+ * {@link ErrorLog}, so a flood of one error costs one line per interval.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private final ErrorLog errorLog;
+
+    public GlobalExceptionHandler(@Value("${employee.error-log.interval:PT1M}") Duration interval) {
+        this.errorLog = new ErrorLog(interval);
+    }
+
+    // Handles Employee not found
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ProblemDetail handleEmployeeNotFound(EmployeeNotFoundException ex) {
+        return problem(HttpStatus.NOT_FOUND, ex, ex.getMessage());
+    }
+
+    // Handles validation errors (null fields etc)
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ProblemDetail handleValidationErrors(MethodArgumentNotValidException ex) {
+        String errorMessage = ex.getBindingResult().getFieldErrors()
+                .stream()
+                .map(e -> e.getField() + " " + e.getDefaultMessage())
+                .findFirst()
+                .orElse("Validation failed");
+        return problem(HttpStatus.BAD_REQUEST, ex, errorMessage);
+    }
+
+    // Handles requests the service rejects up front (e.g. oversized bulk payloads)
+    @ExceptionHandler(InvalidEmployeeRequestException.class)
+    public ProblemDetail handleInvalidRequest(InvalidEmployeeRequestException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex, ex.getMessage());
+    }
+
+    // Handles If-Match writes that lost the race (or carried a stale ETag)
+    @ExceptionHandler(EmployeeVersionMismatchException.class)
+    public ProblemDetail handleVersionMismatch(EmployeeVersionMismatchException ex) {
+        return problem(HttpStatus.PRECONDITION_FAILED, ex, ex.getMessage());
+    }
+
+    // Handles backpressure from the write-behind ingestion queue
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleIngestQueueFull(IngestQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problem(HttpStatus.TOO_MANY_REQUESTS, ex, ex.getMessage()));
+    }
+
+    //Handles wrong path variable type (/api/abc)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ProblemDetail handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex, "Invalid employee ID type. It must be a number.");
+    }
+
+    // Handles duplicate email
+    @Generated("jacoco-ignore")
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail handleDuplicate(DataIntegrityViolationException ex) {
+        return problem(HttpStatus.CONFLICT, ex, "Duplicate Employee data not allowed!");
+    }
+    // Handles a client that went away mid-response (e.g. a GET /api/changes subscriber):
+    // there is no one to send a body to, and a text/event-stream response could not carry one
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientGone(AsyncRequestNotUsableException ex) {
+    }
+    @Generated("jacoco-ignore")
+    @ExceptionHandler(Exception.class)
+    public ProblemDetail handleOtherExceptions(Exception ex) {
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, ex, ex.getMessage());
+    }
+    @Generated("jacoco-ignore")
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ProblemDetail handleDatabaseFailure(DataAccessResourceFailureException ex) {
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, ex, "Database error: " + ex.getMessage());
+    }
+
+    // summaries for errors that stopped repeating; otherwise the next occurrence reports them
+    @Scheduled(fixedDelayString = "${employee.error-log.interval:PT1M}")
+    public void flushErrorLog() {
+        errorLog.flush();
+    }
+
+    private ProblemDetail problem(HttpStatus status, Exception ex, String detail) {
+        errorLog.record(status.value(), ex);
+        return ProblemDetail.forStatusAndDetail(status, detail);
+    }
+}
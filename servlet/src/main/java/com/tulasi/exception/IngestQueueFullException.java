@@ -0,0 +1,9 @@
+package com.tulasi.exception;
+
+// write-behind queue cannot take more creates right now; the client should retry later
+public class IngestQueueFullException extends StacklessException {
+	public IngestQueueFullException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,548 @@
+package com.tulasi.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tulasi.dto.EmployeeVersion;
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.repo.EmployeeRepo;
+import com.tulasi.routing.ReadYourWrites;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Whole-table employee index for {@code findEmployeeById}, kept off the heap.
+ * <p>
+ * Rows are encoded back to back in one direct buffer and located through an
+ * {@link IdOffsetTable}, so lookups take a primitive id and the heap holds
+ * two int arrays rather than an object graph per employee.
+ * <p>
+ * Every {@code snapshot-interval} (and on shutdown) the live records are
+ * written to a memory-mapped file together with the highest id seen. At
+ * startup that file is mapped and copied in, rows up to the high-water mark
+ * are checked by (id, version) and only those that changed or vanished are
+ * re-read; rows past the mark are streamed in. Without a snapshot the table
+ * is streamed once.
+ * <p>
+ * Writes remove the id; the next lookup reloads it through the service,
+ * which refills the index only if no write happened meanwhile. Until the
+ * first warm-up finishes, and when {@code employee.index.enabled} is false,
+ * every lookup misses.
+ */
+@Component
+public class EmployeeIndex implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeIndex.class);
+
+	private static final int LOAD_CHUNK = 1000;
+
+	private final EmployeeRepo repo;
+	private final EntityManager entityManager;
+	private final TransactionTemplate readOnlyTx;
+	private final boolean enabled;
+	private final Path snapshotPath;
+	private final Timer warmTimer;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Store live = new Store(16, 0);
+	private volatile boolean ready;
+	// bumped under the write lock by every write event; a fill that started before a bump is dropped
+	private volatile long changes;
+	// ids written while a warm-up is reading the table; removed from the fresh store before it goes live
+	private List<Integer> duringWarm;
+
+	public EmployeeIndex(EmployeeRepo repo, EntityManager entityManager, PlatformTransactionManager transactionManager,
+			MeterRegistry registry,
+			@Value("${employee.index.enabled:false}") boolean enabled,
+			@Value("${employee.index.snapshot-path:${java.io.tmpdir}/employee-index.snap}") Path snapshotPath) {
+		this.repo = repo;
+		this.entityManager = entityManager;
+		this.readOnlyTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx.setReadOnly(true);
+		this.enabled = enabled;
+		this.snapshotPath = snapshotPath;
+		this.warmTimer = Timer.builder("employee.index.warm").description("Time to warm the employee index at startup")
+				.register(registry);
+		Gauge.builder("employee.index.rows", this, EmployeeIndex::size).register(registry);
+		Gauge.builder("employee.index.offheap", this, EmployeeIndex::offHeapBytes).baseUnit("bytes").register(registry);
+		Gauge.builder("employee.index.heap", this, EmployeeIndex::heapBytes).baseUnit("bytes").register(registry);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	// null when the id is not indexed (or the index is cold); every call decodes a fresh instance
+	public Employee get(int id) {
+		if (!ready) {
+			return null;
+		}
+		lock.readLock().lock();
+		try {
+			return live.get(id);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// read before loading a row from the database, then passed to fill()
+	public long changeCount() {
+		return changes;
+	}
+
+	public void fill(Employee employee, long changeCountBeforeLoad) {
+		if (!ready) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			// a write committed since the load started, so the row may already be stale
+			if (changes == changeCountBeforeLoad) {
+				live.put(employee);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			changes++;
+			live.remove(event.id());
+			if (duringWarm != null) {
+				duringWarm.add(event.id());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warm() {
+		if (!enabled) {
+			return;
+		}
+		long start = System.nanoTime();
+		lock.writeLock().lock();
+		try {
+			duringWarm = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		Store fresh = readSnapshot();
+		int fromSnapshot = fresh == null ? 0 : fresh.size();
+		Store store = fresh != null ? fresh : new Store(1024, 1 << 20);
+		WarmCounts counts;
+		try {
+			// write events are applied as they commit, so the rows must not come from a lagging replica
+			counts = ReadYourWrites.onPrimary(() -> readOnlyTx.execute(status -> fresh != null ? catchUp(store)
+					: new WarmCounts(load(store, repo.streamAllOrderById()), 0)));
+		} catch (RuntimeException e) {
+			// stay cold: lookups keep going through the cache and the database
+			logger.error("Warming the employee index failed: {}", e.getMessage());
+			lock.writeLock().lock();
+			try {
+				duringWarm = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			return;
+		}
+
+		lock.writeLock().lock();
+		try {
+			duringWarm.forEach(store::remove);
+			duringWarm = null;
+			live = store;
+			ready = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		long elapsed = System.nanoTime() - start;
+		warmTimer.record(elapsed, TimeUnit.NANOSECONDS);
+		logger.info("Employee index warm in {} ms: {} rows ({} from snapshot, {} replayed, {} dropped),"
+				+ " {} KiB off-heap, {} KiB heap", TimeUnit.NANOSECONDS.toMillis(elapsed), store.size(), fromSnapshot,
+				counts.replayed(), counts.dropped(), store.offHeapBytes() / 1024, store.heapBytes() / 1024);
+	}
+
+	@Scheduled(initialDelayString = "${employee.index.snapshot-interval:PT5M}",
+			fixedDelayString = "${employee.index.snapshot-interval:PT5M}")
+	public void snapshot() {
+		if (!ready) {
+			return;
+		}
+		long start = System.nanoTime();
+		int rows;
+		// readers carry on; writes wait for the copy, which is one memcpy per record
+		lock.readLock().lock();
+		try {
+			live.writeTo(snapshotPath);
+			rows = live.size();
+		} catch (IOException e) {
+			logger.warn("Writing employee index snapshot {} failed: {}", snapshotPath, e.getMessage());
+			return;
+		} finally {
+			lock.readLock().unlock();
+		}
+		logger.debug("Employee index snapshot of {} rows written in {} ms", rows,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	@Override
+	public void destroy() {
+		snapshot();
+	}
+
+	public int size() {
+		return ready ? live.size() : 0;
+	}
+
+	public long offHeapBytes() {
+		return live.offHeapBytes();
+	}
+
+	public long heapBytes() {
+		return live.heapBytes();
+	}
+
+	private Store readSnapshot() {
+		try {
+			return Store.readFrom(snapshotPath);
+		} catch (NoSuchFileException e) {
+			logger.info("No employee index snapshot at {}, loading the whole table", snapshotPath);
+		} catch (IOException e) {
+			logger.warn("Ignoring employee index snapshot {}: {}", snapshotPath, e.getMessage());
+		}
+		return null;
+	}
+
+	// re-reads snapshot rows whose version moved, drops deleted ones and streams in rows past the high-water mark
+	private WarmCounts catchUp(Store store) {
+		int highWaterMark = store.maxId;
+		IdOffsetTable seen = new IdOffsetTable(store.size());
+		List<Integer> stale = new ArrayList<>();
+		try (Stream<EmployeeVersion> versions = repo.streamVersionsUpTo(highWaterMark)) {
+			versions.forEach(row -> {
+				seen.put(row.id(), 0);
+				if (store.version(row.id()) != row.version()) {
+					stale.add(row.id());
+				}
+			});
+		}
+		List<Integer> deleted = new ArrayList<>();
+		store.forEachId(id -> {
+			if (!seen.contains(id)) {
+				deleted.add(id);
+			}
+		});
+		deleted.forEach(store::remove);
+
+		int replayed = 0;
+		for (int from = 0; from < stale.size(); from += LOAD_CHUNK) {
+			for (Employee employee : repo.findAllById(stale.subList(from, Math.min(from + LOAD_CHUNK, stale.size())))) {
+				store.put(employee);
+				replayed++;
+			}
+			entityManager.clear();
+		}
+		replayed += load(store, repo.streamByIdGreaterThan(highWaterMark));
+		return new WarmCounts(replayed, deleted.size());
+	}
+
+	private int load(Store store, Stream<Employee> rows) {
+		int count = 0;
+		try (rows) {
+			Iterator<Employee> it = rows.iterator();
+			while (it.hasNext()) {
+				Employee employee = it.next();
+				store.put(employee);
+				// keep the persistence context empty so memory stays flat for any table size
+				entityManager.detach(employee);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private record WarmCounts(int replayed, int dropped) {
+	}
+
+	/**
+	 * Records in a direct buffer, addressed by an {@link IdOffsetTable}.
+	 * Layout per record: length, id, version, salary (NaN for null), then
+	 * name, department, email and phone as length-prefixed UTF-8 (-1 for
+	 * null). Replaced records stay in place as garbage until a compaction.
+	 */
+	static final class Store {
+
+		// magic "EMPX", format version, high-water mark, record count, record bytes
+		private static final int MAGIC = 0x454d5058;
+		private static final int FORMAT = 1;
+		private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 8;
+		private static final int FIXED_BYTES = 4 + 4 + 8 + 8;
+		private static final int MIN_COMPACT_BYTES = 1 << 20;
+		private static final int MIN_ARENA_BYTES = 64 * 1024;
+
+		private final IdOffsetTable table;
+		private ByteBuffer arena;
+		private int used;
+		private int garbage;
+		private int maxId;
+
+		Store(int expectedRows, int arenaBytes) {
+			this.table = new IdOffsetTable(expectedRows);
+			this.arena = ByteBuffer.allocateDirect(arenaBytes);
+		}
+
+		int size() {
+			return table.size();
+		}
+
+		long offHeapBytes() {
+			return arena.capacity();
+		}
+
+		long heapBytes() {
+			return table.heapBytes();
+		}
+
+		Employee get(int id) {
+			int offset = table.get(id);
+			if (offset < 0) {
+				return null;
+			}
+			Employee e = new Employee();
+			e.setId(arena.getInt(offset + 4));
+			e.setVersion(arena.getLong(offset + 8));
+			double salary = arena.getDouble(offset + 16);
+			e.setSalary(Double.isNaN(salary) ? null : salary);
+			int at = offset + FIXED_BYTES;
+			e.setName(readString(at));
+			at += stringBytes(at);
+			e.setDepartment(readString(at));
+			at += stringBytes(at);
+			e.setEmail(readString(at));
+			at += stringBytes(at);
+			e.setPhno(readString(at));
+			return e;
+		}
+
+		// -1 when absent
+		long version(int id) {
+			int offset = table.get(id);
+			return offset < 0 ? -1 : arena.getLong(offset + 8);
+		}
+
+		void put(Employee e) {
+			byte[] name = utf8(e.getName());
+			byte[] department = utf8(e.getDepartment());
+			byte[] email = utf8(e.getEmail());
+			byte[] phno = utf8(e.getPhno());
+			int length = FIXED_BYTES + encodedLength(name) + encodedLength(department) + encodedLength(email)
+					+ encodedLength(phno);
+			ensureCapacity(length);
+			int offset = used;
+			arena.putInt(offset, length);
+			arena.putInt(offset + 4, e.getId());
+			arena.putLong(offset + 8, e.getVersion());
+			arena.putDouble(offset + 16, e.getSalary() == null ? Double.NaN : e.getSalary());
+			int at = offset + FIXED_BYTES;
+			at = writeString(at, name);
+			at = writeString(at, department);
+			at = writeString(at, email);
+			writeString(at, phno);
+			used += length;
+			int previous = table.put(e.getId(), offset);
+			if (previous >= 0) {
+				garbage += arena.getInt(previous);
+			}
+			maxId = Math.max(maxId, e.getId());
+		}
+
+		void remove(int id) {
+			int previous = table.remove(id);
+			if (previous >= 0) {
+				garbage += arena.getInt(previous);
+			}
+		}
+
+		void forEachId(IntConsumer action) {
+			for (int slot = 0; slot < table.capacity(); slot++) {
+				if (table.idAt(slot) != 0) {
+					action.accept(table.idAt(slot));
+				}
+			}
+		}
+
+		// temp file + atomic rename, so a crash mid-write leaves the previous snapshot intact
+		void writeTo(Path path) throws IOException {
+			Path parent = path.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+			long liveBytes = used - garbage;
+			try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + liveBytes);
+				out.putInt(MAGIC).putInt(FORMAT).putInt(maxId).putInt(table.size()).putLong(liveBytes);
+				for (int slot = 0; slot < table.capacity(); slot++) {
+					if (table.idAt(slot) != 0) {
+						int offset = table.offsetAt(slot);
+						int length = arena.getInt(offset);
+						out.put(out.position(), arena, offset, length);
+						out.position(out.position() + length);
+					}
+				}
+				out.force();
+			}
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+		// maps the file, copies the records in with one bulk put and indexes them in place
+		static Store readFrom(Path path) throws IOException {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				long fileSize = channel.size();
+				if (fileSize < HEADER_BYTES) {
+					throw new IOException("truncated header");
+				}
+				MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+				if (in.getInt() != MAGIC || in.getInt() != FORMAT) {
+					throw new IOException("not an employee index snapshot");
+				}
+				int highWaterMark = in.getInt();
+				int count = in.getInt();
+				long bytes = in.getLong();
+				if (bytes != fileSize - HEADER_BYTES || bytes > Integer.MAX_VALUE / 2) {
+					throw new IOException("record section is " + (fileSize - HEADER_BYTES) + " bytes, header says "
+							+ bytes);
+				}
+				// room to grow before the first resize
+				Store store = new Store(count, (int) Math.max(bytes + (bytes >> 2), 1 << 20));
+				store.arena.put(0, in, HEADER_BYTES, (int) bytes);
+				store.used = (int) bytes;
+				for (int offset = 0; offset < store.used;) {
+					int length = store.arena.getInt(offset);
+					if (length < FIXED_BYTES || offset + length > store.used) {
+						throw new IOException("corrupt record at byte " + offset);
+					}
+					store.table.put(store.arena.getInt(offset + 4), offset);
+					offset += length;
+				}
+				if (store.table.size() != count) {
+					throw new IOException("expected " + count + " records, found " + store.table.size());
+				}
+				store.maxId = highWaterMark;
+				return store;
+			}
+		}
+
+		private void ensureCapacity(int length) {
+			if (arena.capacity() - used >= length) {
+				return;
+			}
+			int liveBytes = used - garbage;
+			boolean compact = garbage > MIN_COMPACT_BYTES && garbage > liveBytes;
+			long needed = (long) (compact ? liveBytes : used) + length;
+			long capacity = compact ? Math.max(arena.capacity(), needed)
+					: Math.max(Math.max((long) arena.capacity() * 2, needed), MIN_ARENA_BYTES);
+			if (capacity > Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("employee index exceeds 2 GiB");
+			}
+			ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+			if (compact) {
+				int at = 0;
+				for (int slot = 0; slot < table.capacity(); slot++) {
+					if (table.idAt(slot) != 0) {
+						int offset = table.offsetAt(slot);
+						int recordLength = arena.getInt(offset);
+						grown.put(at, arena, offset, recordLength);
+						table.setOffsetAt(slot, at);
+						at += recordLength;
+					}
+				}
+				used = at;
+				garbage = 0;
+			} else {
+				grown.put(0, arena, 0, used);
+			}
+			arena = grown;
+		}
+
+		private String readString(int at) {
+			int length = arena.getInt(at);
+			if (length < 0) {
+				return null;
+			}
+			byte[] bytes = new byte[length];
+			arena.get(at + 4, bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private int stringBytes(int at) {
+			return 4 + Math.max(0, arena.getInt(at));
+		}
+
+		private int writeString(int at, byte[] bytes) {
+			if (bytes == null) {
+				arena.putInt(at, -1);
+				return at + 4;
+			}
+			arena.putInt(at, bytes.length);
+			arena.put(at + 4, bytes);
+			return at + 4 + bytes.length;
+		}
+
+		private static byte[] utf8(String value) {
+			return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+		}
+
+		private static int encodedLength(byte[] bytes) {
+			return 4 + (bytes == null ? 0 : bytes.length);
+		}
+
+	}
+
+}
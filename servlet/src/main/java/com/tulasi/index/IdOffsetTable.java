@@ -0,0 +1,140 @@
+package com.tulasi.index;
+
+/**
+ * Open-addressing map from employee id to record offset on two parallel
+ * {@code int[]}s: no boxing and no per-entry objects. Ids must be positive
+ * (0 marks a free slot); missing keys read as -1. Not thread-safe.
+ */
+final class IdOffsetTable {
+
+	private static final int FREE = 0;
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private int[] keys;
+	private int[] offsets;
+	private int mask;
+	private int size;
+	private int resizeAt;
+
+	IdOffsetTable(int expected) {
+		int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+		allocate(capacity);
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(int id) {
+		int slot = find(id);
+		return slot < 0 ? -1 : offsets[slot];
+	}
+
+	boolean contains(int id) {
+		return find(id) >= 0;
+	}
+
+	// returns the previous offset, or -1
+	int put(int id, int offset) {
+		if (id <= FREE) {
+			throw new IllegalArgumentException("id must be positive: " + id);
+		}
+		int slot = home(id);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == id) {
+				int previous = offsets[slot];
+				offsets[slot] = offset;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = id;
+		offsets[slot] = offset;
+		if (++size >= resizeAt) {
+			rehash(keys.length << 1);
+		}
+		return -1;
+	}
+
+	// returns the removed offset, or -1; later entries of the probe run shift back so no tombstones are needed
+	int remove(int id) {
+		int hole = find(id);
+		if (hole < 0) {
+			return -1;
+		}
+		int removed = offsets[hole];
+		for (int slot = (hole + 1) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+			int home = home(keys[slot]);
+			if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+				keys[hole] = keys[slot];
+				offsets[hole] = offsets[slot];
+				hole = slot;
+			}
+		}
+		keys[hole] = FREE;
+		size--;
+		return removed;
+	}
+
+	// slot-level access for scans; a slot is in use when idAt(slot) != 0
+	int capacity() {
+		return keys.length;
+	}
+
+	int idAt(int slot) {
+		return keys[slot];
+	}
+
+	int offsetAt(int slot) {
+		return offsets[slot];
+	}
+
+	void setOffsetAt(int slot, int offset) {
+		offsets[slot] = offset;
+	}
+
+	long heapBytes() {
+		// two arrays: 16-byte header plus 4 bytes per slot each
+		return 2L * (16 + 4L * keys.length);
+	}
+
+	private int find(int id) {
+		if (id <= FREE) {
+			return -1;
+		}
+		int slot = home(id);
+		while (keys[slot] != FREE) {
+			if (keys[slot] == id) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	// Fibonacci hashing spreads sequential ids across the table
+	private int home(int id) {
+		int h = id * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		offsets = new int[capacity];
+		mask = capacity - 1;
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldOffsets = offsets;
+		allocate(capacity);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE) {
+				put(oldKeys[i], oldOffsets[i]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.tulasi.ingest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkInsertResult.RowError;
+import com.tulasi.dto.IngestStatus;
+import com.tulasi.entity.Employee;
+import com.tulasi.exception.IngestQueueFullException;
+import com.tulasi.service.EmployeeService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Write-behind creates for POST /api/ingest.
+ * <p>
+ * Accepted employees wait in a bounded queue; when it is full, callers get
+ * {@link IngestQueueFullException} (429) instead of piling up. One flusher
+ * thread takes up to {@code batch-size} rows, or whatever arrived within
+ * {@code max-delay} of the first, and stores them through
+ * {@link EmployeeService#bulkAddEmployees}, so they go out as JDBC batches
+ * with the usual validation and duplicate-email checks. Per-row outcomes are
+ * kept for {@code status-ttl} under the token handed back at submit time.
+ * <p>
+ * On shutdown intake closes first, after the web server has stopped, and the
+ * flusher then drains everything already accepted before the DataSource goes
+ * away.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.ingest.enabled", havingValue = "true")
+public class WriteBehindIngestor implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindIngestor.class);
+
+	private static final int MAX_ATTEMPTS = 3;
+	private static final long RETRY_BACKOFF_MILLIS = 200;
+
+	private final EmployeeService service;
+	private final BlockingQueue<Pending> queue;
+	private final int batchSize;
+	private final long maxDelayNanos;
+	private final Duration drainTimeout;
+	private final Cache<String, IngestStatus> statuses;
+
+	// submit holds the read side, stop() the write side: nothing is enqueued once intake has closed
+	private final ReadWriteLock intake = new ReentrantReadWriteLock();
+	private volatile boolean accepting;
+	private volatile boolean running;
+	private Thread flusher;
+
+	public WriteBehindIngestor(EmployeeService service, MeterRegistry registry,
+			@Value("${employee.ingest.queue-capacity:10000}") int capacity,
+			@Value("${employee.ingest.batch-size:500}") int batchSize,
+			@Value("${employee.ingest.max-delay:50ms}") Duration maxDelay,
+			@Value("${employee.ingest.status-ttl:10m}") Duration statusTtl,
+			@Value("${employee.ingest.drain-timeout:30s}") Duration drainTimeout) {
+		this.service = service;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.batchSize = Math.min(batchSize, EmployeeService.MAX_BULK_SIZE);
+		this.maxDelayNanos = maxDelay.toNanos();
+		this.drainTimeout = drainTimeout;
+		this.statuses = Caffeine.newBuilder()
+				.maximumSize(Math.max(100_000L, capacity * 10L))
+				.expireAfterWrite(statusTtl)
+				.build();
+		registry.gauge("employee.ingest.queue", queue, BlockingQueue::size);
+	}
+
+	public IngestStatus submit(Employee employee) {
+		String token = UUID.randomUUID().toString();
+		IngestStatus queued = IngestStatus.queued(token);
+		intake.readLock().lock();
+		try {
+			if (!accepting) {
+				throw new IngestQueueFullException("Ingestion is shutting down");
+			}
+			statuses.put(token, queued);
+			if (!queue.offer(new Pending(token, employee))) {
+				statuses.invalidate(token);
+				throw new IngestQueueFullException("Ingestion queue is full");
+			}
+		} finally {
+			intake.readLock().unlock();
+		}
+		return queued;
+	}
+
+	// null once the token is unknown or its outcome has expired
+	public IngestStatus status(String token) {
+		return statuses.getIfPresent(token);
+	}
+
+	public int queued() {
+		return queue.size();
+	}
+
+	@Override
+	public void start() {
+		accepting = true;
+		running = true;
+		flusher = new Thread(this::flushLoop, "employee-ingest");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	@Override
+	public void stop() {
+		intake.writeLock().lock();
+		try {
+			accepting = false;
+		} finally {
+			intake.writeLock().unlock();
+		}
+		running = false;
+		logger.info("Ingestion closed, draining {} queued employees", queue.size());
+		try {
+			flusher.join(drainTimeout.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (flusher.isAlive() || !queue.isEmpty()) {
+			logger.error("Ingestion drain timed out with {} employees still queued", queue.size());
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	// stops after the web server (which stops at DEFAULT_PHASE - 2048), so no request races the drain
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void flushLoop() {
+		List<Pending> batch = new ArrayList<>(batchSize);
+		while (true) {
+			try {
+				Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					if (!running) {
+						return;
+					}
+					continue;
+				}
+				batch.add(first);
+				fill(batch);
+			} catch (InterruptedException e) {
+				// keep draining; only stop() ends the loop, once the queue is empty
+				Thread.interrupted();
+			}
+			if (!batch.isEmpty()) {
+				write(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	// top the batch up to batchSize, waiting at most maxDelay after its first row
+	private void fill(List<Pending> batch) throws InterruptedException {
+		long deadline = System.nanoTime() + maxDelayNanos;
+		while (batch.size() < batchSize) {
+			if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+				continue;
+			}
+			long wait = deadline - System.nanoTime();
+			if (wait <= 0 || !running) {
+				return;
+			}
+			Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	void write(List<Pending> batch) {
+		List<Employee> employees = new ArrayList<>(batch.size());
+		for (Pending p : batch) {
+			employees.add(p.employee());
+		}
+		for (int attempt = 1;; attempt++) {
+			try {
+				record(batch, service.bulkAddEmployees(employees));
+				return;
+			} catch (DataIntegrityViolationException e) {
+				// an email was taken between the duplicate check and the insert; find the culprit row by row
+				logger.warn("Ingest batch of {} hit a constraint, retrying row by row", batch.size());
+				batch.forEach(this::writeOne);
+				return;
+			} catch (RuntimeException e) {
+				if (attempt == MAX_ATTEMPTS) {
+					logger.error("Ingest batch of {} failed after {} attempts: {}", batch.size(), attempt,
+							e.getMessage());
+					for (Pending p : batch) {
+						statuses.put(p.token(), IngestStatus.failed(p.token(), "could not be stored: " + e.getMessage()));
+					}
+					return;
+				}
+				logger.warn("Ingest batch of {} failed (attempt {}), retrying: {}", batch.size(), attempt,
+						e.getMessage());
+				sleep(RETRY_BACKOFF_MILLIS * attempt);
+			}
+		}
+	}
+
+	private void writeOne(Pending p) {
+		try {
+			Employee saved = service.addEmployee(p.employee());
+			statuses.put(p.token(), IngestStatus.created(p.token(), saved.getId()));
+		} catch (DataIntegrityViolationException e) {
+			statuses.put(p.token(), IngestStatus.failed(p.token(), "email already exists"));
+		} catch (RuntimeException e) {
+			statuses.put(p.token(), IngestStatus.failed(p.token(), e.getMessage()));
+		}
+	}
+
+	// ids come back in request order for the rows not listed in errors
+	private void record(List<Pending> batch, BulkInsertResult result) {
+		String[] errors = new String[batch.size()];
+		for (RowError error : result.errors()) {
+			errors[error.index()] = error.message();
+		}
+		int next = 0;
+		for (int i = 0; i < batch.size(); i++) {
+			String token = batch.get(i).token();
+			statuses.put(token, errors[i] != null ? IngestStatus.failed(token, errors[i])
+					: IngestStatus.created(token, result.ids().get(next++)));
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	record Pending(String token, Employee employee) {
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.tulasi.metrics;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * One JSON line per request on the {@code access} logger: route, status,
+ * duration and SQL statement count.
+ * <p>
+ * Successful requests are sampled at {@code sample-rate}; errors (4xx/5xx,
+ * uncaught exceptions) and requests slower than {@code slow-threshold} are
+ * always written. Each line carries the rate it was sampled at, so counts can
+ * be scaled back up. The logger is bound to an asynchronous appender, so the
+ * request thread only formats the line and enqueues it.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+	public static final String LOGGER_NAME = "access";
+
+	private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+	private final ObjectMapper objectMapper;
+	private final double sampleRate;
+	private final long slowNanos;
+
+	public AccessLogFilter(ObjectMapper objectMapper, double sampleRate, long slowNanos) {
+		this.objectMapper = objectMapper;
+		this.sampleRate = sampleRate;
+		this.slowNanos = slowNanos;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		QueryCounter.reset();
+		Throwable failure = null;
+		try {
+			chain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			failure = e;
+			throw e;
+		} finally {
+			if (failure == null && request.isAsyncStarted()) {
+				// the response is still being written; log once the container completes it
+				int queries = QueryCounter.current();
+				request.getAsyncContext().addListener(new AsyncListener() {
+					@Override
+					public void onComplete(AsyncEvent event) {
+						log(request, response, start, queries, null);
+					}
+
+					@Override
+					public void onTimeout(AsyncEvent event) {
+					}
+
+					@Override
+					public void onError(AsyncEvent event) {
+						log(request, response, start, queries, event.getThrowable());
+					}
+
+					@Override
+					public void onStartAsync(AsyncEvent event) {
+					}
+				});
+			} else {
+				log(request, response, start, QueryCounter.current(), failure);
+			}
+		}
+	}
+
+	private void log(HttpServletRequest request, HttpServletResponse response, long start, int queries,
+			Throwable failure) {
+		long elapsed = System.nanoTime() - start;
+		// an exception that escaped the MVC handlers becomes a 500 after this filter returns
+		int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+		double rate;
+		if (status >= 400 || elapsed >= slowNanos) {
+			rate = 1.0;
+		} else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+			rate = sampleRate;
+		} else {
+			return;
+		}
+		if (!accessLog.isInfoEnabled()) {
+			return;
+		}
+		Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		AccessLogEntry entry = new AccessLogEntry(Instant.now().toString(), request.getMethod(),
+				request.getRequestURI(), route != null ? route.toString() : null, status, elapsed / 1_000_000.0,
+				queries, rate, failure != null ? failure.getClass().getSimpleName() : null);
+		try {
+			accessLog.info(objectMapper.writeValueAsString(entry));
+		} catch (JsonProcessingException e) {
+			// a record of strings and numbers always serializes; nothing sensible to do otherwise
+		}
+	}
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	record AccessLogEntry(String ts, String method, String path, String route, int status, double ms, int queries,
+			double sampleRate, String error) {
+	}
+
+}
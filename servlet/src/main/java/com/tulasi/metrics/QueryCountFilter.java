@@ -0,0 +1,58 @@
+package com.tulasi.metrics;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records SQL statements per request (http.server.requests.sql) and logs
+ * requests that exceed {@code employee.metrics.query-threshold}, which
+ * usually means an N+1 access pattern.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+	private final MeterRegistry registry;
+	private final int threshold;
+
+	public QueryCountFilter(MeterRegistry registry, int threshold) {
+		this.registry = registry;
+		this.threshold = threshold;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		QueryCounter.reset();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			int queries = QueryCounter.current();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+			DistributionSummary.builder("http.server.requests.sql")
+					.description("SQL statements executed per request")
+					.tag("method", request.getMethod())
+					.tag("uri", uri)
+					.publishPercentileHistogram()
+					.register(registry)
+					.record(queries);
+			if (queries > threshold) {
+				logger.warn("Too many queries: {} {} ran {} SQL statements (threshold {})", request.getMethod(),
+						request.getRequestURI(), queries, threshold);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.tulasi.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulasi.event.EmployeeChangedEvent;
+
+/**
+ * Writes the outbox: every {@link EmployeeChangedEvent} becomes an
+ * {@code employee_change} row in the transaction that made the change, so a
+ * change is relayed if and only if it committed.
+ * <p>
+ * The listener runs synchronously inside the service's transaction. Rows are
+ * collected per transaction and go out as one JDBC batch just before commit,
+ * so a bulk insert adds one batched statement rather than a round trip per
+ * employee. A change published outside a transaction is written at once.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeOutbox {
+
+	static final String INSERT = "insert into employee_change (employee_id, type, payload, created_at) values (?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbc;
+	private final ObjectMapper objectMapper;
+
+	public ChangeOutbox(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+		this.jdbc = jdbc;
+		this.objectMapper = objectMapper;
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		Object[] row = { event.id(), event.type().name(), payloadOf(event), Timestamp.from(Instant.now()) };
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			jdbc.batchUpdate(INSERT, List.<Object[]>of(row));
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new ArrayList<>();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(new PendingRows(pending));
+		}
+		pending.add(row);
+	}
+
+	private String payloadOf(EmployeeChangedEvent event) {
+		if (event.employee() == null) {
+			return null;
+		}
+		try {
+			return objectMapper.writeValueAsString(event.employee());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot serialize employee " + event.id(), e);
+		}
+	}
+
+	private final class PendingRows implements TransactionSynchronization {
+
+		private final List<Object[]> rows;
+
+		PendingRows(List<Object[]> rows) {
+			this.rows = rows;
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			if (!rows.isEmpty()) {
+				jdbc.batchUpdate(INSERT, rows);
+			}
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(ChangeOutbox.this);
+		}
+
+	}
+
+}
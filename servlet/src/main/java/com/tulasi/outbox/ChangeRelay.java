@@ -0,0 +1,420 @@
+package com.tulasi.outbox;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tulasi.entity.EmployeeChange;
+import com.tulasi.repo.EmployeeChangeRepo;
+import com.tulasi.routing.ReadYourWrites;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Relays the outbox to GET /api/changes subscribers.
+ * <p>
+ * One thread polls {@code employee_change} past the last relayed id every
+ * {@code poll-interval}, so the database sees one query per instance no
+ * matter how many clients listen. Each change is rendered as an SSE frame
+ * once and handed to every subscriber. A subscriber has its own queue and is
+ * written by a small sender pool, one flush per batch, so a slow client only
+ * delays itself; one that falls {@code subscriber-queue} frames behind is
+ * disconnected and resumes with Last-Event-ID.
+ * <p>
+ * Resuming clients are served from the last {@code buffer-size} frames in
+ * memory, or from the table when they are further behind. A client whose
+ * offset has been purged by retention gets a {@code resync} event and should
+ * reload with GET /api. Ids are expected to be contiguous: a hole is a
+ * transaction that has not committed yet, and delivery waits for it up to
+ * {@code gap-timeout}, after which it is taken to have rolled back.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeRelay implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChangeRelay.class);
+
+	private static final Frame HEARTBEAT = new Frame(-1, SseEmitter.event().comment("").build());
+	private static final int DELETE_CHUNK = 1000;
+	private static final long RECONNECT_MILLIS = 1000;
+
+	private final EmployeeChangeRepo repo;
+	private final long pollMillis;
+	private final int batchSize;
+	private final int bufferSize;
+	private final int subscriberQueue;
+	private final int senderThreads;
+	private final long gapTimeoutNanos;
+	private final Duration retention;
+	private final Duration compactAfter;
+	private final long emitterTimeoutMillis;
+
+	private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+	private final Queue<Joining> joining = new ConcurrentLinkedQueue<>();
+	private final Counter relayed;
+	private final Counter dropped;
+
+	// relay thread only
+	private final Deque<Frame> recent = new ArrayDeque<>();
+	private long gapSince;
+	private boolean fresh;
+
+	private volatile long lastRelayed;
+	// offsets at or below this were deleted by retention (compaction keeps each employee's latest change)
+	private volatile long purgedUpTo;
+	private volatile boolean running;
+	private Thread relay;
+	private ExecutorService senders;
+
+	public ChangeRelay(EmployeeChangeRepo repo, MeterRegistry registry,
+			@Value("${employee.changes.poll-interval:200ms}") Duration pollInterval,
+			@Value("${employee.changes.batch-size:500}") int batchSize,
+			@Value("${employee.changes.buffer-size:10000}") int bufferSize,
+			@Value("${employee.changes.subscriber-queue:10000}") int subscriberQueue,
+			@Value("${employee.changes.sender-threads:4}") int senderThreads,
+			@Value("${employee.changes.gap-timeout:5s}") Duration gapTimeout,
+			@Value("${employee.changes.retention:P7D}") Duration retention,
+			@Value("${employee.changes.compact-after:PT1H}") Duration compactAfter,
+			@Value("${employee.changes.emitter-timeout:PT30M}") Duration emitterTimeout) {
+		this.repo = repo;
+		this.pollMillis = pollInterval.toMillis();
+		this.batchSize = batchSize;
+		this.bufferSize = bufferSize;
+		this.subscriberQueue = subscriberQueue;
+		this.senderThreads = senderThreads;
+		this.gapTimeoutNanos = gapTimeout.toNanos();
+		this.retention = retention;
+		this.compactAfter = compactAfter;
+		this.emitterTimeoutMillis = emitterTimeout.toMillis();
+		this.relayed = registry.counter("employee.changes.relayed");
+		this.dropped = registry.counter("employee.changes.dropped");
+		registry.gauge("employee.changes.subscribers", subscribers, Set::size);
+		registry.gauge("employee.changes.offset", this, ChangeRelay::lastRelayed);
+	}
+
+	/**
+	 * Streams changes after {@code after} (null: only changes from now on).
+	 * The backlog is attached by the relay thread on its next round, so it
+	 * joins the live stream without a gap or a duplicate.
+	 */
+	public SseEmitter subscribe(Long after) {
+		SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+		Subscriber subscriber = new Subscriber(emitter);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(e -> subscribers.remove(subscriber));
+		try {
+			// commits the headers now instead of with the first change, which may be a while
+			emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+		} catch (IOException e) {
+			emitter.completeWithError(e);
+			return emitter;
+		}
+		joining.add(new Joining(subscriber, after));
+		return emitter;
+	}
+
+	public long lastRelayed() {
+		return lastRelayed;
+	}
+
+	public int subscribers() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void start() {
+		Long max = ReadYourWrites.onPrimary(repo::maxId);
+		Long min = ReadYourWrites.onPrimary(repo::minId);
+		lastRelayed = max == null ? 0 : max;
+		purgedUpTo = min == null ? lastRelayed : min - 1;
+		fresh = max == null;
+		AtomicInteger n = new AtomicInteger();
+		senders = Executors.newFixedThreadPool(senderThreads, r -> {
+			Thread t = new Thread(r, "employee-changes-send-" + n.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		running = true;
+		relay = new Thread(this::relayLoop, "employee-changes");
+		relay.setDaemon(true);
+		relay.start();
+	}
+
+	// stops before the web server's graceful shutdown, which would otherwise wait for the open streams
+	@Override
+	public void stop() {
+		running = false;
+		relay.interrupt();
+		try {
+			relay.join(5000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		subscribers.forEach(s -> s.emitter.complete());
+		subscribers.clear();
+		senders.shutdown();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE;
+	}
+
+	@Scheduled(fixedDelayString = "${employee.changes.heartbeat:15s}")
+	public void heartbeat() {
+		List<Frame> beat = List.of(HEARTBEAT);
+		subscribers.forEach(s -> s.offer(beat));
+	}
+
+	/**
+	 * Retention drops every change older than {@code retention}; compaction
+	 * drops changes older than {@code compact-after} that a later change of the
+	 * same employee supersedes, so a resuming client still ends up with every
+	 * employee's latest state.
+	 */
+	@Scheduled(fixedDelayString = "${employee.changes.compaction-interval:PT10M}")
+	public void compact() {
+		Instant now = Instant.now();
+		Long purgeTo = repo.maxIdCreatedBefore(now.minus(retention));
+		long purged = 0;
+		if (purgeTo != null) {
+			// everything up to purgeTo is gone before a client could be told otherwise
+			purgedUpTo = Math.max(purgedUpTo, purgeTo);
+			Long from = repo.minId();
+			for (long start = from == null ? purgeTo : from - 1; start < purgeTo; start += DELETE_CHUNK) {
+				purged += repo.deleteRange(start, Math.min(start + DELETE_CHUNK, purgeTo));
+			}
+		}
+		long compacted = 0;
+		List<Long> superseded;
+		do {
+			superseded = repo.findSupersededBefore(now.minus(compactAfter), Limit.of(DELETE_CHUNK));
+			if (!superseded.isEmpty()) {
+				compacted += repo.deleteByIds(superseded);
+			}
+		} while (superseded.size() == DELETE_CHUNK);
+		if (purged + compacted > 0) {
+			logger.info("Change outbox: {} expired and {} superseded changes removed", purged, compacted);
+		}
+	}
+
+	private void relayLoop() {
+		while (running) {
+			boolean more = false;
+			try {
+				more = poll();
+				attachJoining();
+			} catch (RuntimeException e) {
+				logger.warn("Change relay round failed: {}", e.getMessage());
+			}
+			if (!more) {
+				try {
+					Thread.sleep(pollMillis);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+	}
+
+	// true when a full batch came back and the next one should be read right away
+	boolean poll() {
+		List<EmployeeChange> rows = ReadYourWrites
+				.onPrimary(() -> repo.findByIdGreaterThanOrderByIdAsc(lastRelayed, Limit.of(batchSize)));
+		List<Frame> frames = new ArrayList<>(rows.size());
+		long last = lastRelayed;
+		boolean waiting = false;
+		for (EmployeeChange row : rows) {
+			if (fresh) {
+				// empty outbox at startup: ids continue from wherever the table's counter is
+				purgedUpTo = row.getId() - 1;
+				fresh = false;
+			} else if (row.getId() != last + 1) {
+				long now = System.nanoTime();
+				if (gapSince == 0) {
+					gapSince = now;
+				}
+				if (now - gapSince < gapTimeoutNanos) {
+					waiting = true;
+					break;
+				}
+				logger.debug("Change offsets {}..{} never committed, skipping", last + 1, row.getId() - 1);
+			}
+			gapSince = 0;
+			frames.add(frameOf(row));
+			last = row.getId();
+		}
+		if (frames.isEmpty()) {
+			return false;
+		}
+		lastRelayed = last;
+		for (Frame frame : frames) {
+			recent.addLast(frame);
+			if (recent.size() > bufferSize) {
+				recent.removeFirst();
+			}
+		}
+		subscribers.forEach(s -> s.offer(frames));
+		relayed.increment(frames.size());
+		return !waiting && rows.size() == batchSize;
+	}
+
+	void attachJoining() {
+		Joining join;
+		while ((join = joining.poll()) != null) {
+			Subscriber subscriber = join.subscriber();
+			Long after = join.after();
+			if (after != null && after < lastRelayed) {
+				subscriber.offer(backlog(after));
+			}
+			subscribers.add(subscriber);
+		}
+	}
+
+	private List<Frame> backlog(long after) {
+		long last = lastRelayed;
+		if (after < purgedUpTo || last - after > subscriberQueue) {
+			return List.of(new Frame(last, SseEmitter.event().id(Long.toString(last)).name("resync")
+					.data("{\"offset\":" + last + "}").build()));
+		}
+		List<Frame> frames = new ArrayList<>();
+		Frame oldest = recent.peekFirst();
+		if (oldest != null && after >= oldest.offset() - 1) {
+			for (Frame frame : recent) {
+				if (frame.offset() > after) {
+					frames.add(frame);
+				}
+			}
+			return frames;
+		}
+		long from = after;
+		while (from < last) {
+			long start = from;
+			List<EmployeeChange> rows = ReadYourWrites
+					.onPrimary(() -> repo.findByIdGreaterThanOrderByIdAsc(start, Limit.of(batchSize)));
+			for (EmployeeChange row : rows) {
+				if (row.getId() > last) {
+					return frames;
+				}
+				frames.add(frameOf(row));
+				from = row.getId();
+			}
+			if (rows.size() < batchSize) {
+				break;
+			}
+		}
+		return frames;
+	}
+
+	// rendered once, shared by every subscriber
+	private static Frame frameOf(EmployeeChange row) {
+		String data = "{\"offset\":" + row.getId() + ",\"type\":\"" + row.getType() + "\",\"id\":" + row.getEmployeeId()
+				+ ",\"at\":\"" + row.getCreatedAt() + "\",\"employee\":" + row.getPayload() + "}";
+		return new Frame(row.getId(), SseEmitter.event().id(Long.toString(row.getId())).name("employee").data(data)
+				.build());
+	}
+
+	record Frame(long offset, Set<DataWithMediaType> sse) {
+	}
+
+	private record Joining(Subscriber subscriber, Long after) {
+	}
+
+	private final class Subscriber {
+
+		private final SseEmitter emitter;
+		// guarded by this
+		private final Deque<Frame> queue = new ArrayDeque<>();
+		private boolean sending;
+		private boolean closed;
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		void offer(List<Frame> frames) {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				if (queue.size() + frames.size() > subscriberQueue) {
+					// too far behind: let it reconnect and catch up from its Last-Event-ID
+					closed = true;
+					queue.clear();
+				} else {
+					queue.addAll(frames);
+					if (sending) {
+						return;
+					}
+					sending = true;
+				}
+			}
+			if (closed) {
+				dropped.increment();
+				subscribers.remove(this);
+				emitter.complete();
+				return;
+			}
+			senders.execute(this::send);
+		}
+
+		// everything queued so far goes out as one write and one flush
+		private void send() {
+			while (true) {
+				Set<DataWithMediaType> batch = new LinkedHashSet<>();
+				synchronized (this) {
+					if (queue.isEmpty() || closed) {
+						sending = false;
+						return;
+					}
+					for (Frame frame : queue) {
+						batch.addAll(frame.sse());
+					}
+					queue.clear();
+				}
+				try {
+					emitter.send(batch);
+				} catch (IOException | IllegalStateException e) {
+					synchronized (this) {
+						closed = true;
+						sending = false;
+					}
+					subscribers.remove(this);
+					return;
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.tulasi.repo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tulasi.entity.EmployeeChange;
+
+public interface EmployeeChangeRepo extends JpaRepository<EmployeeChange, Long> {
+
+	List<EmployeeChange> findByIdGreaterThanOrderByIdAsc(long after, Limit limit);
+
+	@Query("select min(c.id) from EmployeeChange c")
+	Long minId();
+
+	@Query("select max(c.id) from EmployeeChange c")
+	Long maxId();
+
+	@Query("select max(c.id) from EmployeeChange c where c.createdAt < :cutoff")
+	Long maxIdCreatedBefore(@Param("cutoff") Instant cutoff);
+
+	// changes older than cutoff that a later change of the same employee supersedes
+	@Query("select c.id from EmployeeChange c where c.createdAt < :cutoff and exists"
+			+ " (select n.id from EmployeeChange n where n.employeeId = c.employeeId and n.id > c.id) order by c.id")
+	List<Long> findSupersededBefore(@Param("cutoff") Instant cutoff, Limit limit);
+
+	@Transactional
+	@Modifying
+	@Query("delete from EmployeeChange c where c.id > :from and c.id <= :upTo")
+	int deleteRange(@Param("from") long from, @Param("upTo") long upTo);
+
+	@Transactional
+	@Modifying
+	@Query("delete from EmployeeChange c where c.id in :ids")
+	int deleteByIds(@Param("ids") Collection<Long> ids);
+
+}
@@ -0,0 +1,95 @@
+package com.tulasi.repo;
+
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tulasi.dto.DepartmentTotals;
+import com.tulasi.dto.EmployeeVersion;
+import com.tulasi.dto.SalaryRow;
+import com.tulasi.dto.SuggestRow;
+import com.tulasi.entity.Employee;
+
+import jakarta.persistence.QueryHint;
+
+public interface EmployeeRepo
+		extends JpaRepository<Employee, Integer>, JpaSpecificationExecutor<Employee>, EmployeeRepoCustom {
+
+	// keyset page: seeks on the primary key, so cost does not grow with page depth
+	List<Employee> findByIdGreaterThanOrderByIdAsc(int after, Limit limit);
+
+	// server-side cursor for exports; must be consumed (and closed) inside a transaction
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false") })
+	@Query("select e from Employee e order by e.id")
+	Stream<Employee> streamAllOrderById();
+
+	// employee index catch-up: rows added after a snapshot, and the versions of those it already holds
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false") })
+	@Query("select e from Employee e where e.id > :after order by e.id")
+	Stream<Employee> streamByIdGreaterThan(@Param("after") int after);
+
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+	@Query("select new com.tulasi.dto.EmployeeVersion(e.id, e.version) from Employee e where e.id <= :highWaterMark")
+	Stream<EmployeeVersion> streamVersionsUpTo(@Param("highWaterMark") int highWaterMark);
+
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+	@Query("select new com.tulasi.dto.SalaryRow(e.id, e.department, e.salary) from Employee e")
+	Stream<SalaryRow> streamSalaryRows();
+
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+	@Query("select new com.tulasi.dto.SuggestRow(e.id, e.name, e.email) from Employee e")
+	Stream<SuggestRow> streamSuggestRows();
+
+	@Query("select new com.tulasi.dto.DepartmentTotals(e.department, count(e), sum(e.salary), min(e.salary),"
+			+ " max(e.salary)) from Employee e group by e.department")
+	List<DepartmentTotals> departmentTotals();
+
+	@Query("select e.email from Employee e where e.email in :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	// single-statement writes: the affected-row count doubles as the existence check
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Employee e set e.name = :name, e.department = :department, e.salary = :salary,"
+			+ " e.email = :email, e.phno = :phno, e.version = e.version + 1 where e.id = :id")
+	int updateById(@Param("id") int id, @Param("name") String name, @Param("department") String department,
+			@Param("salary") Double salary, @Param("email") String email, @Param("phno") String phno);
+
+	// compare-and-set on the version: 0 rows means missing or changed since the client read it
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Employee e set e.name = :name, e.department = :department, e.salary = :salary,"
+			+ " e.email = :email, e.phno = :phno, e.version = e.version + 1 where e.id = :id and e.version = :version")
+	int updateByIdAndVersion(@Param("id") int id, @Param("version") long version, @Param("name") String name,
+			@Param("department") String department, @Param("salary") Double salary, @Param("email") String email,
+			@Param("phno") String phno);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("delete from Employee e where e.id = :id")
+	int deleteEmployeeById(@Param("id") int id);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("delete from Employee e where e.id = :id and e.version = :version")
+	int deleteEmployeeByIdAndVersion(@Param("id") int id, @Param("version") long version);
+
+}
@@ -0,0 +1,21 @@
+package com.tulasi.repo;
+
+import java.util.List;
+import java.util.Map;
+
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.entity.Employee;
+
+public interface EmployeeRepoCustom {
+
+	// single UPDATE touching only the patch's non-null columns; returns affected rows
+	int patchById(int id, EmployeePatch patch);
+
+	// INSERT ... ON DUPLICATE KEY UPDATE (MERGE on H2) keyed on the unique email, all rows in one JDBC batch;
+	// fills in id and version of each row and returns, per row, whether it was inserted rather than updated
+	boolean[] upsertByEmail(List<Employee> employees);
+
+	// keyset page selecting only the given columns; each row maps field name to value in the given order
+	List<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, int after, int limit);
+
+}
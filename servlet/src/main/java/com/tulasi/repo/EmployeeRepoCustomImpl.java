@@ -0,0 +1,171 @@
+package com.tulasi.repo;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.entity.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+public class EmployeeRepoCustomImpl implements EmployeeRepoCustom {
+
+	// VALUES(col) rather than a row alias so MySQL 5.7 takes it too
+	private static final String MYSQL_UPSERT = "insert into employee (id, name, department, salary, email, phno, version)"
+			+ " values (?, ?, ?, ?, ?, ?, 0) on duplicate key update name = values(name),"
+			+ " department = values(department), salary = values(salary), phno = values(phno), version = version + 1";
+	private static final String H2_UPSERT = "merge into employee t using (values (cast(? as integer),"
+			+ " cast(? as varchar(255)), cast(? as varchar(255)), cast(? as double precision), cast(? as varchar(255)),"
+			+ " cast(? as varchar(255)))) s(id, name, department, salary, email, phno) on t.email = s.email"
+			+ " when matched then update set name = s.name, department = s.department, salary = s.salary,"
+			+ " phno = s.phno, version = t.version + 1"
+			+ " when not matched then insert (id, name, department, salary, email, phno, version)"
+			+ " values (s.id, s.name, s.department, s.salary, s.email, s.phno, 0)";
+
+	private EntityManager entityManager;
+
+	public EmployeeRepoCustomImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	@Transactional
+	public int patchById(int id, EmployeePatch patch) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+		Root<Employee> e = update.from(Employee.class);
+		if (patch.name() != null) {
+			update.set(e.<String>get("name"), patch.name());
+		}
+		if (patch.department() != null) {
+			update.set(e.<String>get("department"), patch.department());
+		}
+		if (patch.salary() != null) {
+			update.set(e.<Double>get("salary"), patch.salary());
+		}
+		if (patch.email() != null) {
+			update.set(e.<String>get("email"), patch.email());
+		}
+		if (patch.phno() != null) {
+			update.set(e.<String>get("phno"), patch.phno());
+		}
+		update.set(e.<Long>get("version"), cb.sum(e.<Long>get("version"), 1L));
+		update.where(cb.equal(e.get("id"), id));
+		int rows = entityManager.createQuery(update).executeUpdate();
+		entityManager.clear();
+		return rows;
+	}
+
+	@Override
+	@Transactional
+	public boolean[] upsertByEmail(List<Employee> employees) {
+		SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+		String sql = upsertSql(session.getJdbcServices().getDialect());
+		// ids come from the entity's own pooled sequence; one that ends up updating a row is simply not used
+		IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+				.getEntityDescriptor(Employee.class).getGenerator();
+		int[] candidateIds = new int[employees.size()];
+		for (int i = 0; i < candidateIds.length; i++) {
+			candidateIds[i] = ((Number) generator.generate(session, employees.get(i))).intValue();
+		}
+
+		entityManager.flush();
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				for (int i = 0; i < candidateIds.length; i++) {
+					Employee e = employees.get(i);
+					ps.setInt(1, candidateIds[i]);
+					ps.setString(2, e.getName());
+					ps.setString(3, e.getDepartment());
+					ps.setObject(4, e.getSalary(), Types.DOUBLE);
+					ps.setString(5, e.getEmail());
+					ps.setString(6, e.getPhno());
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+		});
+		entityManager.clear();
+
+		// batch update counts cannot tell inserts from updates (MySQL reports none for a rewritten batch),
+		// so read the ids back: a row carrying the id we offered was inserted. The unique index may compare
+		// emails case-insensitively (MySQL's default collation), so match them back the same way
+		Map<String, Object[]> stored = new HashMap<>(employees.size() * 2);
+		List<String> emails = employees.stream().map(Employee::getEmail).toList();
+		for (Object[] row : entityManager
+				.createQuery("select e.email, e.id, e.version from Employee e where e.email in :emails", Object[].class)
+				.setParameter("emails", emails).getResultList()) {
+			stored.put(((String) row[0]).toLowerCase(Locale.ROOT), row);
+		}
+		boolean[] created = new boolean[employees.size()];
+		for (int i = 0; i < created.length; i++) {
+			Employee e = employees.get(i);
+			Object[] row = stored.get(e.getEmail().toLowerCase(Locale.ROOT));
+			if (row == null) {
+				throw new IllegalStateException("Upserted employee " + e.getEmail() + " is missing");
+			}
+			// an update keeps the stored spelling of the email
+			e.setEmail((String) row[0]);
+			e.setId((Integer) row[1]);
+			e.setVersion((Long) row[2]);
+			created[i] = e.getId() == candidateIds[i];
+		}
+		return created;
+	}
+
+	private static String upsertSql(Dialect dialect) {
+		if (dialect instanceof MySQLDialect) {
+			return MYSQL_UPSERT;
+		}
+		if (dialect instanceof H2Dialect) {
+			return H2_UPSERT;
+		}
+		throw new UnsupportedOperationException("Upsert by email is not implemented for " + dialect);
+	}
+
+	@Override
+	public List<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, int after, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Employee> e = query.from(Employee.class);
+		List<Selection<?>> columns = new ArrayList<>(fields.size());
+		for (String field : fields) {
+			columns.add(e.get(field).alias(field));
+		}
+		query.multiselect(columns)
+				.where(cb.greaterThan(e.get("id"), after))
+				.orderBy(cb.asc(e.get("id")));
+		// scalar rows: nothing enters the persistence context
+		List<Tuple> tuples = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+		List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+		for (Tuple t : tuples) {
+			Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+			for (String field : fields) {
+				row.put(field, t.get(field));
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.tulasi.repo;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.entity.Employee;
+
+/**
+ * Specifications behind GET /api/search. Every filter is sargable against one
+ * of the indexes declared on {@link Employee}: department and salary use the
+ * (department, salary) composite or the salary index, email the unique index,
+ * and the name prefix becomes {@code LIKE 'prefix%'} on the name index.
+ */
+public final class EmployeeSpecs {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	private EmployeeSpecs() {
+	}
+
+	public static Specification<Employee> matching(EmployeeSearch search, int after) {
+		// the first page has no cursor; an "id > 0" range would only tempt the planner into a primary-key walk
+		Specification<Employee> spec = after > 0 ? idAfter(after) : Specification.unrestricted();
+		if (search.department() != null) {
+			spec = spec.and(departmentIs(search.department()));
+		}
+		if (search.minSalary() != null) {
+			spec = spec.and(salaryAtLeast(search.minSalary()));
+		}
+		if (search.maxSalary() != null) {
+			spec = spec.and(salaryAtMost(search.maxSalary()));
+		}
+		if (search.email() != null) {
+			spec = spec.and(emailIs(search.email()));
+		}
+		if (search.namePrefix() != null) {
+			spec = spec.and(nameStartsWith(search.namePrefix()));
+		}
+		return spec;
+	}
+
+	public static Specification<Employee> idAfter(int after) {
+		return (e, query, cb) -> cb.greaterThan(e.get("id"), after);
+	}
+
+	public static Specification<Employee> departmentIs(String department) {
+		return (e, query, cb) -> cb.equal(e.get("department"), department);
+	}
+
+	public static Specification<Employee> salaryAtLeast(double min) {
+		return (e, query, cb) -> cb.greaterThanOrEqualTo(e.get("salary"), min);
+	}
+
+	public static Specification<Employee> salaryAtMost(double max) {
+		return (e, query, cb) -> cb.lessThanOrEqualTo(e.get("salary"), max);
+	}
+
+	public static Specification<Employee> emailIs(String email) {
+		return (e, query, cb) -> cb.equal(e.get("email"), email);
+	}
+
+	// a leading wildcard would defeat the index, so only the trailing one is added and user input is escaped
+	public static Specification<Employee> nameStartsWith(String prefix) {
+		return (e, query, cb) -> cb.like(e.get("name"), escapeLike(prefix) + "%", LIKE_ESCAPE);
+	}
+
+	static String escapeLike(String value) {
+		StringBuilder sb = new StringBuilder(value.length() + 4);
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+				sb.append(LIKE_ESCAPE);
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.tulasi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tulasi.entity.TableVersion;
+
+public interface TableVersionRepo extends JpaRepository<TableVersion, String> {
+
+	@Query("select t.version from TableVersion t where t.name = :name")
+	Long findVersion(@Param("name") String name);
+
+	// joins the caller's transaction, which holds the row lock from here until it commits
+	@Transactional
+	@Modifying
+	@Query("update TableVersion t set t.version = t.version + 1 where t.name = :name")
+	int increment(@Param("name") String name);
+
+	@Transactional
+	@Modifying
+	@Query(value = "insert into table_version (name, version) values (:name, :version)", nativeQuery = true)
+	int create(@Param("name") String name, @Param("version") long version);
+
+}
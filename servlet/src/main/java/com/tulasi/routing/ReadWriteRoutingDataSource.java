@@ -0,0 +1,147 @@
+package com.tulasi.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to replicas and everything else to the primary.
+ * <p>
+ * Connections are handed out lazily, so the physical connection is only picked
+ * once the transaction has marked it read-only. Read-only connections go
+ * round-robin over the replicas that passed their last health check. A replica
+ * that fails to connect is taken out until the background check sees it
+ * again, and with no replica left reads fall back to the primary. Threads
+ * pinned by {@link ReadYourWrites} read from the primary.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+	private final DataSource primary;
+	private final List<Replica> replicas;
+	private final AtomicInteger next = new AtomicInteger();
+	private final ScheduledExecutorService healthCheck;
+
+	public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration checkInterval) {
+		super(primary);
+		this.primary = primary;
+		this.replicas = new ArrayList<>(replicas.size());
+		replicas.forEach((name, ds) -> this.replicas.add(new Replica(name, ds)));
+		setReadOnlyDataSource(new ReplicaSelector());
+		this.healthCheck = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "replica-health");
+			t.setDaemon(true);
+			return t;
+		});
+		long millis = checkInterval.toMillis();
+		healthCheck.scheduleWithFixedDelay(this::checkReplicas, millis, millis, TimeUnit.MILLISECONDS);
+	}
+
+	// replica name -> currently receiving reads
+	public Map<String, Boolean> replicaStatus() {
+		Map<String, Boolean> status = new LinkedHashMap<>();
+		for (Replica r : replicas) {
+			status.put(r.name, r.healthy);
+		}
+		return status;
+	}
+
+	void checkReplicas() {
+		for (Replica r : replicas) {
+			boolean up;
+			try (Connection c = r.dataSource.getConnection()) {
+				up = c.isValid(1);
+			} catch (SQLException e) {
+				up = false;
+			}
+			if (up && !r.healthy) {
+				logger.info("Replica {} is back, routing reads to it again", r.name);
+			} else if (!up && r.healthy) {
+				logger.warn("Replica {} failed its health check", r.name);
+			}
+			r.healthy = up;
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		healthCheck.shutdownNow();
+		for (Replica r : replicas) {
+			if (r.dataSource instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+		if (primary instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+	private interface Connector {
+		Connection connect(DataSource ds) throws SQLException;
+	}
+
+	private final class ReplicaSelector extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return select(DataSource::getConnection);
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return select(ds -> ds.getConnection(username, password));
+		}
+
+		private Connection select(Connector connector) throws SQLException {
+			if (ReadYourWrites.isPinned() || replicas.isEmpty()) {
+				return connector.connect(primary);
+			}
+			int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+			for (int i = 0; i < replicas.size(); i++) {
+				Replica r = replicas.get((start + i) % replicas.size());
+				if (!r.healthy) {
+					continue;
+				}
+				try {
+					return connector.connect(r.dataSource);
+				} catch (SQLException e) {
+					r.healthy = false;
+					ReadWriteRoutingDataSource.logger.warn("Replica {} unavailable, taking it out of rotation: {}", r.name, e.getMessage());
+				}
+			}
+			ReadWriteRoutingDataSource.logger.debug("No healthy replica, reading from the primary");
+			return connector.connect(primary);
+		}
+
+	}
+
+	private static final class Replica {
+
+		private final String name;
+		private final DataSource dataSource;
+		private volatile boolean healthy = true;
+
+		Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+	}
+
+}
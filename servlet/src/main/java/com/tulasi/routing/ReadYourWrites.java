@@ -0,0 +1,138 @@
+package com.tulasi.routing;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tulasi.event.EmployeeChangedEvent;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decides when a read must see the primary instead of a possibly lagging
+ * replica.
+ * <p>
+ * A thread is pinned to the primary while it runs inside
+ * {@link #onPrimary(Supplier)}, for the rest of a request once that request
+ * has written, and for a whole request whose {@value #HEADER} header (handed
+ * out with the response of a write) has not expired yet. Ids written within
+ * the window are also remembered so cache fills for them never come from a
+ * replica. Everything is a no-op unless replica routing is enabled.
+ */
+@Component
+public class ReadYourWrites {
+
+	public static final String HEADER = "X-Read-Your-Writes";
+
+	private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+	private final boolean enabled;
+	private final long windowMillis;
+	private final Cache<Integer, Boolean> recentlyWritten;
+
+	public ReadYourWrites(@Value("${employee.datasource.routing.enabled:false}") boolean routingEnabled,
+			@Value("${employee.datasource.routing.read-your-writes-window:2s}") Duration window) {
+		this.enabled = routingEnabled && !window.isZero();
+		this.windowMillis = window.toMillis();
+		this.recentlyWritten = Caffeine.newBuilder()
+				.maximumSize(100_000)
+				.expireAfterWrite(enabled ? window : Duration.ofMillis(1))
+				.build();
+	}
+
+	public static boolean isPinned() {
+		Scope scope = SCOPE.get();
+		return scope != null && scope.pinned;
+	}
+
+	public static <T> T onPrimary(Supplier<T> work) {
+		Scope previous = SCOPE.get();
+		Scope scope = new Scope(previous != null ? previous.response : null);
+		scope.pinned = true;
+		SCOPE.set(scope);
+		try {
+			return work.get();
+		} finally {
+			restore(previous);
+		}
+	}
+
+	public boolean recentlyWritten(int id) {
+		return enabled && recentlyWritten.getIfPresent(id) != null;
+	}
+
+	public boolean anyRecentlyWritten(Collection<Integer> ids) {
+		if (!enabled) {
+			return false;
+		}
+		for (Integer id : ids) {
+			if (recentlyWritten.getIfPresent(id) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		recentlyWritten.put(event.id(), Boolean.TRUE);
+		Scope scope = SCOPE.get();
+		if (scope == null) {
+			return;
+		}
+		scope.pinned = true;
+		// the controller has not written the body yet, so the header still goes out with this response
+		if (scope.response != null && !scope.response.isCommitted()) {
+			scope.response.setHeader(HEADER, String.valueOf(System.currentTimeMillis() + windowMillis));
+		}
+	}
+
+	// called by ReadYourWritesFilter around each request
+	static Scope begin(String header, HttpServletResponse response) {
+		Scope previous = SCOPE.get();
+		Scope scope = new Scope(response);
+		scope.pinned = isUnexpired(header);
+		SCOPE.set(scope);
+		return previous;
+	}
+
+	static void restore(Scope previous) {
+		if (previous == null) {
+			SCOPE.remove();
+		} else {
+			SCOPE.set(previous);
+		}
+	}
+
+	private static boolean isUnexpired(String header) {
+		if (header == null) {
+			return false;
+		}
+		try {
+			return Long.parseLong(header.trim()) > System.currentTimeMillis();
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	static final class Scope {
+
+		private final HttpServletResponse response;
+		private boolean pinned;
+
+		private Scope(HttpServletResponse response) {
+			this.response = response;
+		}
+
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.tulasi.routing;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens the per-request {@link ReadYourWrites} scope: pins the request to the
+ * primary when it carries an unexpired {@value ReadYourWrites#HEADER} header
+ * and lets writes in the request hand out a new one.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		ReadYourWrites.Scope previous = ReadYourWrites.begin(request.getHeader(ReadYourWrites.HEADER), response);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReadYourWrites.restore(previous);
+		}
+	}
+
+}
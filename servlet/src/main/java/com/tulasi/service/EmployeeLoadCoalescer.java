@@ -0,0 +1,121 @@
+package com.tulasi.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tulasi.entity.Employee;
+import com.tulasi.repo.EmployeeRepo;
+
+/**
+ * DataLoader-style batching of single-id lookups.
+ * <p>
+ * Concurrent {@link #load(int)} calls are gathered for up to {@code window} or
+ * until {@code maxBatch} distinct ids are waiting, then resolved with one
+ * {@code IN} query. The caller that opened the window waits it out and runs
+ * that query itself, so a slow batch holds up only its own callers and the
+ * number of queries in flight is bounded by the request threads. Each caller
+ * still blocks for, and gets, only its own row.
+ */
+@Component
+public class EmployeeLoadCoalescer {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeLoadCoalescer.class);
+
+	private final EmployeeRepo repo;
+	private final boolean enabled;
+	private final long windowNanos;
+	private final int maxBatch;
+
+	private final Object lock = new Object();
+	// the batch whose window is open, null between windows
+	private Map<Integer, CompletableFuture<Optional<Employee>>> open;
+
+	public EmployeeLoadCoalescer(EmployeeRepo repo,
+			@Value("${employee.coalescer.enabled:false}") boolean enabled,
+			@Value("${employee.coalescer.window:2ms}") Duration window,
+			@Value("${employee.coalescer.max-batch:64}") int maxBatch) {
+		this.repo = repo;
+		this.enabled = enabled;
+		this.windowNanos = window.toNanos();
+		this.maxBatch = maxBatch;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public Optional<Employee> load(int id) {
+		CompletableFuture<Optional<Employee>> result;
+		Map<Integer, CompletableFuture<Optional<Employee>>> batch;
+		boolean leader = false;
+		synchronized (lock) {
+			if (open == null) {
+				open = new HashMap<>();
+				leader = true;
+			}
+			batch = open;
+			result = batch.computeIfAbsent(id, k -> new CompletableFuture<>());
+			if (batch.size() >= maxBatch) {
+				// the batch is full: close the window now instead of waiting it out
+				open = null;
+				lock.notifyAll();
+			}
+		}
+		if (leader) {
+			awaitWindow(batch);
+			dispatch(batch);
+		}
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	// returns once the window has elapsed or the batch filled up; the batch takes no more ids after that
+	private void awaitWindow(Map<Integer, CompletableFuture<Optional<Employee>>> batch) {
+		synchronized (lock) {
+			long deadline = System.nanoTime() + windowNanos;
+			long remaining;
+			while (open == batch && (remaining = deadline - System.nanoTime()) > 0) {
+				try {
+					TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+				} catch (InterruptedException e) {
+					// the others in the batch are waiting on this thread, so close early rather than strand them
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			if (open == batch) {
+				open = null;
+			}
+		}
+	}
+
+	private void dispatch(Map<Integer, CompletableFuture<Optional<Employee>>> batch) {
+		try {
+			Map<Integer, Employee> found = new HashMap<>();
+			for (Employee e : repo.findAllById(batch.keySet())) {
+				found.put(e.getId(), e);
+			}
+			logger.debug("Coalesced {} employee lookups into one query", batch.size());
+			batch.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+		} catch (RuntimeException e) {
+			batch.values().forEach(future -> future.completeExceptionally(e));
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.tulasi.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkUpsertResult;
+import com.tulasi.dto.EmployeeFieldsPage;
+import com.tulasi.dto.EmployeePage;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.dto.UpsertResult;
+import com.tulasi.entity.Employee;
+
+public interface EmployeeService {
+
+	int DEFAULT_PAGE_SIZE = 50;
+	int MAX_PAGE_SIZE = 500;
+	int MAX_BULK_SIZE = 5000;
+	int MAX_BATCH_IDS = 200;
+	// accepted by ?fields=; id is always included since it is the page cursor
+	List<String> SELECTABLE_FIELDS = List.of("id", "name", "department", "salary", "email", "phno");
+	
+	public Employee addEmployee(Employee emp);
+	public BulkInsertResult bulkAddEmployees(List<Employee> emps);
+	public UpsertResult upsertEmployeeByEmail(String email, Employee emp);
+	public BulkUpsertResult bulkUpsertEmployeesByEmail(List<Employee> emps);
+	public Employee findEmployeeById(int id);
+	public List<Employee> findEmployeesByIds(List<Integer> ids);
+	public List<Employee> getAllEmployees();
+	public EmployeePage getEmployeesPage(int after, int limit);
+	public EmployeeFieldsPage getEmployeeFieldsPage(List<String> fields, int after, int limit);
+	public EmployeePage searchEmployees(EmployeeSearch search, int after, int limit);
+	public Employee updateEmployee(Integer id,Employee emp);
+	public Employee updateEmployee(Integer id, Employee emp, Long expectedVersion);
+	public void patchEmployee(Integer id, EmployeePatch patch);
+	public void deleteEmployee(Integer id);
+	public void deleteEmployee(Integer id, Long expectedVersion);
+	public long exportEmployees(Consumer<Employee> sink);
+
+}
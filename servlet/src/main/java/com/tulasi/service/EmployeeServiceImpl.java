@@ -0,0 +1,540 @@
+package com.tulasi.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tulasi.cache.EmployeeCache;
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkInsertResult.RowError;
+import com.tulasi.dto.BulkUpsertResult;
+import com.tulasi.dto.EmployeeFieldsPage;
+import com.tulasi.dto.EmployeePage;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.dto.UpsertResult;
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.exception.EmployeeVersionMismatchException;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.index.EmployeeIndex;
+import com.tulasi.repo.EmployeeRepo;
+import com.tulasi.repo.EmployeeSpecs;
+import com.tulasi.routing.ReadYourWrites;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+@Timed(value = "employee.service", description = "EmployeeService method latency")
+public class EmployeeServiceImpl implements EmployeeService {
+
+	private EmployeeRepo repo;
+	private EntityManager entityManager;
+	private Validator validator;
+	private EmployeeCache cache;
+	private EmployeeLoadCoalescer coalescer;
+	private ApplicationEventPublisher events;
+	private ReadYourWrites readYourWrites;
+	private EmployeeIndex index;
+
+	// rows persisted between flush+clear; a multiple of hibernate.jdbc.batch_size
+	private static final int BULK_FLUSH_SIZE = 500;
+	private static final int EMAIL_LOOKUP_CHUNK = 1000;
+
+	public EmployeeServiceImpl(EmployeeRepo repo, EntityManager entityManager, Validator validator,
+			EmployeeCache cache, EmployeeLoadCoalescer coalescer, ApplicationEventPublisher events,
+			ReadYourWrites readYourWrites, EmployeeIndex index) {
+		this.repo = repo;
+		this.entityManager = entityManager;
+		this.validator = validator;
+		this.cache = cache;
+		this.coalescer = coalescer;
+		this.events = events;
+		this.readYourWrites = readYourWrites;
+		this.index = index;
+	}
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
+
+	// the outbox row for the change is written in the same transaction (see ChangeOutbox)
+	@Override
+	@Transactional
+	public Employee addEmployee(Employee emp) {
+		logger.debug("Attempting to add new employee: {}", emp.getName());
+		try {
+			// flushed through the repository so a duplicate email surfaces here, already translated
+			Employee saved = repo.saveAndFlush(copyOf(emp));
+			// not filled before commit: a rollback would leave a cached employee that does not exist
+			cache.invalidate(saved.getId());
+			events.publishEvent(EmployeeChangedEvent.created(saved));
+			logger.debug("Employee added sucessfully with ID: {}", saved.getId());
+			return saved;
+		} catch (DataIntegrityViolationException e) {
+			logger.error("Duplicate employee email detected: {}", emp.getEmail());
+			throw new DataIntegrityViolationException("Duplicate Employee data(email already exists)");
+		}
+	}
+
+	@Override
+	@Transactional
+	public BulkInsertResult bulkAddEmployees(List<Employee> emps) {
+		if (emps == null || emps.isEmpty()) {
+			throw new InvalidEmployeeRequestException("No employees to add");
+		}
+		if (emps.size() > MAX_BULK_SIZE) {
+			throw new InvalidEmployeeRequestException("Bulk insert accepts at most " + MAX_BULK_SIZE + " employees");
+		}
+		logger.debug("Bulk adding {} employees", emps.size());
+
+		List<RowError> errors = new ArrayList<>();
+		boolean[] rejected = new boolean[emps.size()];
+		// keyed by the lower-cased email: the unique index may ignore case, as it does on MySQL
+		Map<String, Integer> firstIndexByEmail = new HashMap<>();
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < emps.size(); i++) {
+			String error = validate(emps.get(i));
+			if (error == null) {
+				String email = emps.get(i).getEmail();
+				String key = email == null ? null : email.toLowerCase(Locale.ROOT);
+				if (key != null && firstIndexByEmail.putIfAbsent(key, i) != null) {
+					error = "email duplicates row " + firstIndexByEmail.get(key);
+				} else if (key != null) {
+					emails.add(email);
+				}
+			}
+			if (error != null) {
+				rejected[i] = true;
+				errors.add(new RowError(i, error));
+			}
+		}
+
+		// an existing row comes back in its stored spelling, which need not be the request's
+		Set<String> existing = findExistingEmails(emails);
+		for (String email : existing) {
+			Integer i = firstIndexByEmail.get(email.toLowerCase(Locale.ROOT));
+			if (i != null && !rejected[i]) {
+				rejected[i] = true;
+				errors.add(new RowError(i, "email already exists"));
+			}
+		}
+		errors.sort(Comparator.comparingInt(RowError::index));
+
+		List<Integer> ids = new ArrayList<>(emps.size() - errors.size());
+		List<Employee> pending = new ArrayList<>(BULK_FLUSH_SIZE);
+		for (int i = 0; i < emps.size(); i++) {
+			if (rejected[i]) {
+				continue;
+			}
+			pending.add(repo.save(copyOf(emps.get(i))));
+			if (pending.size() == BULK_FLUSH_SIZE) {
+				flushBatch(pending, ids);
+			}
+		}
+		flushBatch(pending, ids);
+		// drop any cached "not found" entries for the new ids
+		cache.invalidateAll(ids);
+
+		logger.info("Bulk insert finished: {} inserted, {} rejected", ids.size(), errors.size());
+		return new BulkInsertResult(emps.size(), ids.size(), ids, errors);
+	}
+
+	// an upsert statement plus a select of the id it settled on, so an existing email costs no exception or rollback
+	@Override
+	@Transactional
+	public UpsertResult upsertEmployeeByEmail(String email, Employee emp) {
+		if (emp.getEmail() != null && !emp.getEmail().equalsIgnoreCase(email)) {
+			throw new InvalidEmployeeRequestException("email in the body does not match the path");
+		}
+		logger.debug("upserting employee with email: {}", email);
+		Employee row = copyOf(emp);
+		row.setEmail(email);
+		boolean created = repo.upsertByEmail(List.of(row))[0];
+		cache.invalidate(row.getId());
+		events.publishEvent(created ? EmployeeChangedEvent.created(row) : EmployeeChangedEvent.updated(row));
+		logger.debug("Employee {} {} by email", row.getId(), created ? "created" : "updated");
+		return new UpsertResult(row, created);
+	}
+
+	@Override
+	@Transactional
+	public BulkUpsertResult bulkUpsertEmployeesByEmail(List<Employee> emps) {
+		if (emps == null || emps.isEmpty()) {
+			throw new InvalidEmployeeRequestException("No employees to upsert");
+		}
+		if (emps.size() > MAX_BULK_SIZE) {
+			throw new InvalidEmployeeRequestException("Bulk upsert accepts at most " + MAX_BULK_SIZE + " employees");
+		}
+		logger.debug("Bulk upserting {} employees", emps.size());
+
+		List<RowError> errors = new ArrayList<>();
+		Map<String, Integer> firstIndexByEmail = new HashMap<>();
+		List<Integer> created = new ArrayList<>();
+		List<Integer> updated = new ArrayList<>();
+		List<Employee> pending = new ArrayList<>(BULK_FLUSH_SIZE);
+		for (int i = 0; i < emps.size(); i++) {
+			Employee emp = emps.get(i);
+			String error = validate(emp);
+			if (error == null && (emp.getEmail() == null || emp.getEmail().isBlank())) {
+				error = "email must not be blank";
+			}
+			// the unique index may ignore case, and two spellings of one email must not land in one batch
+			String key = error == null ? emp.getEmail().toLowerCase(Locale.ROOT) : null;
+			if (error == null && firstIndexByEmail.putIfAbsent(key, i) != null) {
+				error = "email duplicates row " + firstIndexByEmail.get(key);
+			}
+			if (error != null) {
+				errors.add(new RowError(i, error));
+				continue;
+			}
+			pending.add(copyOf(emp));
+			if (pending.size() == BULK_FLUSH_SIZE) {
+				upsertBatch(pending, created, updated);
+			}
+		}
+		upsertBatch(pending, created, updated);
+		cache.invalidateAll(created);
+		cache.invalidateAll(updated);
+
+		logger.info("Bulk upsert finished: {} created, {} updated, {} rejected", created.size(), updated.size(),
+				errors.size());
+		return new BulkUpsertResult(emps.size(), created, updated, errors);
+	}
+
+	@Override
+	public Employee findEmployeeById(int id) {
+		logger.debug("fetching employee with ID: {}", id);
+		Employee indexed = index.get(id);
+		if (indexed != null) {
+			return indexed;
+		}
+		return cache.get(id, this::loadById).orElseThrow(() -> {
+			logger.debug("Employee not found with ID: {}", id);
+			return new EmployeeNotFoundException("Employee not found with id:" + id);
+		});
+	}
+
+	@Override
+	public List<Employee> findEmployeesByIds(List<Integer> ids) {
+		Set<Integer> wanted = new LinkedHashSet<>(ids);
+		if (wanted.size() > MAX_BATCH_IDS) {
+			throw new InvalidEmployeeRequestException("At most " + MAX_BATCH_IDS + " ids per batch");
+		}
+		logger.debug("fetching {} employees by ID", wanted.size());
+
+		Map<Integer, Employee> resolved = new HashMap<>();
+		List<Integer> misses = new ArrayList<>();
+		for (Integer id : wanted) {
+			Optional<Employee> cached = cache.getIfPresent(id);
+			if (cached == null) {
+				misses.add(id);
+			} else {
+				cached.ifPresent(emp -> resolved.put(id, emp));
+			}
+		}
+		if (!misses.isEmpty()) {
+			// one IN query for everything the cache could not answer
+			List<Employee> found = readYourWrites.anyRecentlyWritten(misses)
+					? ReadYourWrites.onPrimary(() -> repo.findAllById(misses))
+					: repo.findAllById(misses);
+			for (Employee emp : found) {
+				resolved.put(emp.getId(), emp);
+				cache.put(emp);
+			}
+			for (Integer id : misses) {
+				if (!resolved.containsKey(id)) {
+					cache.putMissing(id);
+				}
+			}
+		}
+
+		List<Employee> result = new ArrayList<>(resolved.size());
+		for (Integer id : wanted) {
+			Employee emp = resolved.get(id);
+			if (emp != null) {
+				result.add(emp);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Employee> getAllEmployees() {
+		logger.debug("fetching all employees");
+		List<Employee> list = repo.findAll();
+		if (list.isEmpty()) {
+			logger.debug("No employees found in the database");
+			throw new EmployeeNotFoundException("No employees found");
+		}
+		logger.debug("Total employees fetched: {}",list.size());
+		return list;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeePage getEmployeesPage(int after, int limit) {
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		logger.debug("fetching {} employees after ID: {}", pageSize, after);
+		// read one extra row to know whether another page exists without a count query
+		List<Employee> rows = repo.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+		return toPage(rows, pageSize);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeeFieldsPage getEmployeeFieldsPage(List<String> fields, int after, int limit) {
+		List<String> columns = selectedColumns(fields);
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		logger.debug("fetching {} of {} employees after ID: {}", columns, pageSize, after);
+		List<Map<String, Object>> rows = repo.findFieldsByIdGreaterThan(columns, after, pageSize + 1);
+		if (rows.size() <= pageSize) {
+			return new EmployeeFieldsPage(rows, null);
+		}
+		List<Map<String, Object>> items = rows.subList(0, pageSize);
+		return new EmployeeFieldsPage(items, (Integer) items.get(pageSize - 1).get("id"));
+	}
+
+	// id first, then the requested fields in order, without duplicates
+	private static List<String> selectedColumns(List<String> fields) {
+		Set<String> columns = new LinkedHashSet<>();
+		columns.add("id");
+		for (String field : fields) {
+			String name = field.trim();
+			if (name.isEmpty()) {
+				continue;
+			}
+			if (!SELECTABLE_FIELDS.contains(name)) {
+				throw new InvalidEmployeeRequestException("Unknown field '" + name + "', expected any of " + SELECTABLE_FIELDS);
+			}
+			columns.add(name);
+		}
+		return new ArrayList<>(columns);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeePage searchEmployees(EmployeeSearch search, int after, int limit) {
+		if (search.minSalary() != null && search.maxSalary() != null && search.minSalary() > search.maxSalary()) {
+			throw new InvalidEmployeeRequestException("minSalary must not be greater than maxSalary");
+		}
+		if (search.namePrefix() != null && search.namePrefix().isBlank()) {
+			throw new InvalidEmployeeRequestException("name prefix cannot be empty");
+		}
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		logger.debug("searching {} employees after ID: {} matching {}", pageSize, after, search);
+		List<Employee> rows = repo.findBy(EmployeeSpecs.matching(search, after),
+				q -> q.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+		return toPage(rows, pageSize);
+	}
+
+	// rows holds up to pageSize + 1 entries; the extra one only signals that another page exists
+	private static EmployeePage toPage(List<Employee> rows, int pageSize) {
+		if (rows.size() <= pageSize) {
+			return new EmployeePage(rows, null);
+		}
+		List<Employee> items = rows.subList(0, pageSize);
+		return new EmployeePage(items, items.get(pageSize - 1).getId());
+	}
+
+	@Override
+	@Transactional
+	public Employee updateEmployee(Integer id, Employee emp) {
+		return updateEmployee(id, emp, null);
+	}
+
+	@Override
+	@Transactional
+	public Employee updateEmployee(Integer id, Employee emp, Long expectedVersion) {
+		logger.debug("updating employee with id: {}", id);
+		int rows = expectedVersion == null
+				? repo.updateById(id, emp.getName(), emp.getDepartment(), emp.getSalary(), emp.getEmail(), emp.getPhno())
+				: repo.updateByIdAndVersion(id, expectedVersion, emp.getName(), emp.getDepartment(), emp.getSalary(),
+						emp.getEmail(), emp.getPhno());
+		if (rows == 0) {
+			throw notFoundOrStale(id, expectedVersion, "Employee not found with the id " + id);
+		}
+		cache.invalidate(id);
+		// every column was just written from the request, so it already is the stored row
+		Employee updated = copyOf(emp);
+		updated.setId(id);
+		if (expectedVersion != null) {
+			updated.setVersion(expectedVersion + 1);
+		}
+		events.publishEvent(EmployeeChangedEvent.updated(updated));
+		logger.debug("Employee updated successfully : {}", id);
+		return updated;
+	}
+
+	@Override
+	@Transactional
+	public void patchEmployee(Integer id, EmployeePatch patch) {
+		if (patch.isEmpty()) {
+			throw new InvalidEmployeeRequestException("No fields to update");
+		}
+		logger.debug("patching employee with id: {}", id);
+		if (repo.patchById(id, patch) == 0) {
+			logger.debug("Employee not found with Id: {}", id);
+			throw new EmployeeNotFoundException("Employee not found with the id " + id);
+		}
+		cache.invalidate(id);
+		events.publishEvent(EmployeeChangedEvent.patched(
+				new Employee(id, patch.name(), patch.department(), patch.salary(), patch.email(), patch.phno())));
+	}
+
+	@Override
+	@Transactional
+	public void deleteEmployee(Integer id) {
+		deleteEmployee(id, null);
+	}
+
+	@Override
+	@Transactional
+	public void deleteEmployee(Integer id, Long expectedVersion) {
+		logger.debug("Deleting employee with Id: {}", id);
+		int rows = expectedVersion == null ? repo.deleteEmployeeById(id)
+				: repo.deleteEmployeeByIdAndVersion(id, expectedVersion);
+		if (rows == 0) {
+			throw notFoundOrStale(id, expectedVersion, "Employee not found with id" + id);
+		}
+		cache.invalidate(id);
+		events.publishEvent(EmployeeChangedEvent.deleted(id));
+		logger.debug("Employee deleted sucessfully with ID: {}", id);
+
+	}
+
+	// a conditional write touched no row: only worth a second query when the client sent a version
+	private RuntimeException notFoundOrStale(int id, Long expectedVersion, String notFoundMessage) {
+		if (expectedVersion != null && repo.existsById(id)) {
+			logger.debug("Employee {} changed since version {}", id, expectedVersion);
+			return new EmployeeVersionMismatchException("Employee " + id + " was modified by another request");
+		}
+		logger.debug("Employee not found with Id: {}", id);
+		return new EmployeeNotFoundException(notFoundMessage);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportEmployees(Consumer<Employee> sink) {
+		logger.debug("exporting all employees");
+		long count = 0;
+		try (Stream<Employee> rows = repo.streamAllOrderById()) {
+			Iterator<Employee> it = rows.iterator();
+			while (it.hasNext()) {
+				Employee employee = it.next();
+				sink.accept(employee);
+				// keep the persistence context empty so memory stays flat for any table size
+				entityManager.detach(employee);
+				count++;
+			}
+		}
+		logger.info("Exported {} employees", count);
+		return count;
+	}
+
+	private Optional<Employee> loadById(Integer id) {
+		long changesBefore = index.changeCount();
+		Optional<Employee> found;
+		// the result is cached, so an id written moments ago must not be filled from a lagging replica
+		if (readYourWrites.recentlyWritten(id)) {
+			found = ReadYourWrites.onPrimary(() -> repo.findById(id));
+		} else {
+			found = coalescer.isEnabled() ? coalescer.load(id) : repo.findById(id);
+		}
+		found.ifPresent(emp -> index.fill(emp, changesBefore));
+		return found;
+	}
+
+	private Employee copyOf(Employee emp) {
+		Employee e = new Employee();
+		e.setName(emp.getName());
+		e.setDepartment(emp.getDepartment());
+		e.setSalary(emp.getSalary());
+		e.setEmail(emp.getEmail());
+		e.setPhno(emp.getPhno());
+		return e;
+	}
+
+	private String validate(Employee emp) {
+		if (emp == null) {
+			return "employee must not be null";
+		}
+		Set<ConstraintViolation<Employee>> violations = validator.validate(emp);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.map(v -> v.getPropertyPath() + " " + v.getMessage())
+				.sorted()
+				.collect(Collectors.joining("; "));
+	}
+
+	private Set<String> findExistingEmails(List<String> emails) {
+		Set<String> existing = new HashSet<>();
+		List<String> chunk = new ArrayList<>(EMAIL_LOOKUP_CHUNK);
+		for (String email : emails) {
+			chunk.add(email);
+			if (chunk.size() == EMAIL_LOOKUP_CHUNK) {
+				existing.addAll(repo.findExistingEmails(chunk));
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			existing.addAll(repo.findExistingEmails(chunk));
+		}
+		return existing;
+	}
+
+	// pushes the pending inserts out as JDBC batches, then drops them from the persistence context
+	private void flushBatch(List<Employee> pending, List<Integer> ids) {
+		if (pending.isEmpty()) {
+			return;
+		}
+		// through the repository, so a unique violation from a racing insert arrives translated
+		repo.flush();
+		for (Employee e : pending) {
+			ids.add(e.getId());
+			events.publishEvent(EmployeeChangedEvent.created(e));
+		}
+		entityManager.clear();
+		pending.clear();
+	}
+
+	private void upsertBatch(List<Employee> pending, List<Integer> created, List<Integer> updated) {
+		if (pending.isEmpty()) {
+			return;
+		}
+		boolean[] inserted = repo.upsertByEmail(pending);
+		for (int i = 0; i < inserted.length; i++) {
+			Employee e = pending.get(i);
+			(inserted[i] ? created : updated).add(e.getId());
+			events.publishEvent(inserted[i] ? EmployeeChangedEvent.created(e) : EmployeeChangedEvent.updated(e));
+		}
+		pending.clear();
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.tulasi.suggest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tulasi.dto.SuggestRow;
+import com.tulasi.dto.Suggestion;
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.repo.EmployeeRepo;
+import com.tulasi.routing.ReadYourWrites;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Typeahead over employee names and emails, answered from a {@link PrefixIndex}.
+ * <p>
+ * Built from one streaming scan of the table at startup, then kept current
+ * from {@link EmployeeChangedEvent}s after each commit. Those events only
+ * cover writes made through this instance; when several instances share the
+ * table, {@link SuggestIndexRebuild} can rebuild it on an interval. Until the
+ * first build finishes lookups return nothing. Size and memory, including
+ * bytes per entry, are gauges under {@code employee.suggest}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.suggest.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSuggestIndex {
+
+	public static final int DEFAULT_LIMIT = 10;
+	public static final int MAX_LIMIT = 50;
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeSuggestIndex.class);
+
+	private final EmployeeRepo repo;
+	private final TransactionTemplate readOnlyTx;
+
+	private final Object lock = new Object();
+	private volatile PrefixIndex live = PrefixIndex.empty();
+	// events seen while a build is reading the table; replayed onto the fresh index
+	private List<EmployeeChangedEvent> duringBuild;
+
+	public EmployeeSuggestIndex(EmployeeRepo repo, PlatformTransactionManager transactionManager,
+			MeterRegistry registry) {
+		this.repo = repo;
+		this.readOnlyTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx.setReadOnly(true);
+		Gauge.builder("employee.suggest.entries", this, s -> s.live.size()).register(registry);
+		Gauge.builder("employee.suggest.memory", this, s -> s.live.memoryBytes()).baseUnit("bytes")
+				.register(registry);
+		Gauge.builder("employee.suggest.memory.per.entry", this, s -> s.live.memoryBytesPerEntry()).baseUnit("bytes")
+				.register(registry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void build() {
+		synchronized (lock) {
+			duringBuild = new ArrayList<>();
+		}
+		long start = System.nanoTime();
+		PrefixIndex fresh;
+		try {
+			// events are applied as they commit, so the scan must not come from a lagging replica
+			fresh = ReadYourWrites.onPrimary(() -> readOnlyTx.execute(status -> {
+				PrefixIndex.Builder builder = new PrefixIndex.Builder();
+				try (Stream<SuggestRow> rows = repo.streamSuggestRows()) {
+					rows.forEach(row -> builder.add(row.id(), PrefixIndex.NAME, row.name())
+							.add(row.id(), PrefixIndex.EMAIL, row.email()));
+				}
+				return builder.build();
+			}));
+		} catch (RuntimeException e) {
+			// keep serving what we have; the next rebuild will try again
+			logger.error("Building the suggest index failed: {}", e.getMessage());
+			synchronized (lock) {
+				duringBuild = null;
+			}
+			return;
+		}
+		synchronized (lock) {
+			duringBuild.forEach(event -> apply(fresh, event));
+			duringBuild = null;
+			live = fresh;
+		}
+		logger.info("Suggest index built in {} ms: {} entries, {} bytes ({} per entry)",
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), fresh.size(), fresh.memoryBytes(),
+				String.format("%.1f", fresh.memoryBytesPerEntry()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		synchronized (lock) {
+			apply(live, event);
+			if (duringBuild != null) {
+				duringBuild.add(event);
+			}
+		}
+	}
+
+	public List<Suggestion> suggest(String prefix, int limit) {
+		if (prefix == null || prefix.isBlank()) {
+			throw new InvalidEmployeeRequestException("q must not be blank");
+		}
+		return live.find(prefix.strip(), Math.min(Math.max(limit, 1), MAX_LIMIT));
+	}
+
+	public int size() {
+		return live.size();
+	}
+
+	public long memoryBytes() {
+		return live.memoryBytes();
+	}
+
+	private static void apply(PrefixIndex index, EmployeeChangedEvent event) {
+		Employee e = event.employee();
+		switch (event.type()) {
+		case CREATED, UPDATED -> {
+			index.put(event.id(), PrefixIndex.NAME, e.getName());
+			index.put(event.id(), PrefixIndex.EMAIL, e.getEmail());
+		}
+		// only the written fields are set
+		case PATCHED -> {
+			if (e.getName() != null) {
+				index.put(event.id(), PrefixIndex.NAME, e.getName());
+			}
+			if (e.getEmail() != null) {
+				index.put(event.id(), PrefixIndex.EMAIL, e.getEmail());
+			}
+		}
+		case DELETED -> index.remove(event.id());
+		}
+	}
+
+}
@@ -0,0 +1,366 @@
+package com.tulasi.suggest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.tulasi.dto.Suggestion;
+
+/**
+ * Prefix lookups over short strings (employee names and emails), each tagged
+ * with an employee id and the field it came from.
+ * <p>
+ * Most entries live in a sorted base segment: every value's UTF-8 bytes in
+ * one array, plus parallel offset, id and field arrays, so an entry costs its
+ * bytes plus 9. A lookup is a binary search followed by a scan of the matching
+ * range. Writes go to a small sorted set of pending entries and mark the base
+ * entry they replace as stale. Once pending and stale entries reach 1/8 of the
+ * base they are merged into a new base in one linear pass. Ordering and
+ * matching ignore case for ASCII letters; other characters compare by code
+ * point.
+ */
+public final class PrefixIndex {
+
+	public static final byte NAME = 0;
+	public static final byte EMAIL = 1;
+
+	private static final String[] FIELD_NAMES = { "name", "email" };
+	private static final int MIN_COMPACTION = 1024;
+	// rough heap cost of a pending entry (TreeSet and HashMap nodes, record, array header) and of a stale key
+	private static final int PENDING_OVERHEAD = 120;
+	private static final int STALE_OVERHEAD = 64;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private Segment base;
+	private final TreeSet<Pending> pending = new TreeSet<>();
+	private final Map<Long, Pending> pendingByKey = new HashMap<>();
+	// (id, field) pairs whose base entry, if any, no longer counts
+	private final Set<Long> stale = new HashSet<>();
+
+	private PrefixIndex(Segment base) {
+		this.base = base;
+	}
+
+	public static PrefixIndex empty() {
+		return new Builder().build();
+	}
+
+	/**
+	 * Sets the value indexed for one field of an employee; null or blank
+	 * removes it.
+	 */
+	public void put(int id, byte field, String value) {
+		lock.writeLock().lock();
+		try {
+			long key = key(id, field);
+			stale.add(key);
+			Pending old = pendingByKey.remove(key);
+			if (old != null) {
+				pending.remove(old);
+			}
+			if (value != null && !value.isBlank()) {
+				Pending entry = new Pending(value.getBytes(StandardCharsets.UTF_8), id, field);
+				pending.add(entry);
+				pendingByKey.put(key, entry);
+			}
+			compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int id) {
+		put(id, NAME, null);
+		put(id, EMAIL, null);
+	}
+
+	/**
+	 * Up to {@code limit} entries starting with {@code prefix}, in index order
+	 * (shorter and alphabetically earlier values first).
+	 */
+	public List<Suggestion> find(String prefix, int limit) {
+		byte[] p = prefix.getBytes(StandardCharsets.UTF_8);
+		List<Suggestion> result = new ArrayList<>(Math.min(limit, 64));
+		lock.readLock().lock();
+		try {
+			Segment s = base;
+			int i = s.lowerBound(p);
+			Iterator<Pending> it = pending.tailSet(new Pending(p, Integer.MIN_VALUE, (byte) -1), true).iterator();
+			Pending next = nextMatch(it, p);
+			while (result.size() < limit) {
+				while (i < s.size() && s.startsWith(i, p) && stale.contains(key(s.ids[i], s.fields[i]))) {
+					i++;
+				}
+				boolean fromBase = i < s.size() && s.startsWith(i, p);
+				if (!fromBase && next == null) {
+					break;
+				}
+				if (next == null || (fromBase && s.compare(i, next) < 0)) {
+					result.add(s.suggestion(i++));
+				} else {
+					result.add(next.suggestion());
+					next = nextMatch(it, p);
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return result;
+	}
+
+	/** Entries held, including replaced base entries not yet compacted away. */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return base.size() + pending.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Heap held by the index: exact for the base arrays, estimated for pending writes. */
+	public long memoryBytes() {
+		lock.readLock().lock();
+		try {
+			long bytes = base.memoryBytes() + (long) stale.size() * STALE_OVERHEAD;
+			for (Pending entry : pending) {
+				bytes += entry.value.length + PENDING_OVERHEAD;
+			}
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public double memoryBytesPerEntry() {
+		int size = size();
+		return size == 0 ? 0 : (double) memoryBytes() / size;
+	}
+
+	private void compactIfNeeded() {
+		if (pending.size() + stale.size() < Math.max(MIN_COMPACTION, base.size() / 8)) {
+			return;
+		}
+		// both sides are already in order, so this is a merge rather than a sort
+		SegmentWriter out = new SegmentWriter(base.size() + pending.size(), base.pool.length);
+		Iterator<Pending> it = pending.iterator();
+		Pending next = it.hasNext() ? it.next() : null;
+		for (int i = 0; i < base.size(); i++) {
+			if (stale.contains(key(base.ids[i], base.fields[i]))) {
+				continue;
+			}
+			while (next != null && base.compare(i, next) > 0) {
+				out.append(next.value, 0, next.value.length, next.id, next.field);
+				next = it.hasNext() ? it.next() : null;
+			}
+			out.append(base.pool, base.offsets[i], base.length(i), base.ids[i], base.fields[i]);
+		}
+		while (next != null) {
+			out.append(next.value, 0, next.value.length, next.id, next.field);
+			next = it.hasNext() ? it.next() : null;
+		}
+		base = out.toSegment();
+		pending.clear();
+		pendingByKey.clear();
+		stale.clear();
+	}
+
+	private static Pending nextMatch(Iterator<Pending> it, byte[] prefix) {
+		if (!it.hasNext()) {
+			return null;
+		}
+		Pending entry = it.next();
+		return startsWith(entry.value, 0, entry.value.length, prefix) ? entry : null;
+	}
+
+	private static long key(int id, byte field) {
+		return ((long) id << 1) | field;
+	}
+
+	private static int fold(byte b) {
+		return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b & 0xff;
+	}
+
+	private static int compareBytes(byte[] a, int aOffset, int aLength, byte[] b, int bOffset, int bLength) {
+		int n = Math.min(aLength, bLength);
+		for (int k = 0; k < n; k++) {
+			int c = fold(a[aOffset + k]) - fold(b[bOffset + k]);
+			if (c != 0) {
+				return c;
+			}
+		}
+		return aLength - bLength;
+	}
+
+	private static boolean startsWith(byte[] value, int offset, int length, byte[] prefix) {
+		if (length < prefix.length) {
+			return false;
+		}
+		for (int k = 0; k < prefix.length; k++) {
+			if (fold(value[offset + k]) != fold(prefix[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int compareEntries(byte[] a, int aOffset, int aLength, int aId, byte aField, byte[] b, int bOffset,
+			int bLength, int bId, byte bField) {
+		int c = compareBytes(a, aOffset, aLength, b, bOffset, bLength);
+		if (c != 0) {
+			return c;
+		}
+		c = Integer.compare(aId, bId);
+		return c != 0 ? c : Byte.compare(aField, bField);
+	}
+
+	/**
+	 * Collects entries in any order; {@link #build()} sorts them into the base
+	 * segment.
+	 */
+	public static final class Builder {
+
+		private final SegmentWriter raw = new SegmentWriter(1024, 16 * 1024);
+
+		public Builder add(int id, byte field, String value) {
+			if (value != null && !value.isBlank()) {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				raw.append(bytes, 0, bytes.length, id, field);
+			}
+			return this;
+		}
+
+		public PrefixIndex build() {
+			Segment unsorted = raw.toSegment();
+			Integer[] order = new Integer[unsorted.size()];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (x, y) -> unsorted.compare(x, y));
+			SegmentWriter sorted = new SegmentWriter(order.length, unsorted.pool.length);
+			for (int i : order) {
+				sorted.append(unsorted.pool, unsorted.offsets[i], unsorted.length(i), unsorted.ids[i],
+						unsorted.fields[i]);
+			}
+			return new PrefixIndex(sorted.toSegment());
+		}
+
+	}
+
+	private record Pending(byte[] value, int id, byte field) implements Comparable<Pending> {
+
+		@Override
+		public int compareTo(Pending o) {
+			return compareEntries(value, 0, value.length, id, field, o.value, 0, o.value.length, o.id, o.field);
+		}
+
+		Suggestion suggestion() {
+			return new Suggestion(id, FIELD_NAMES[field], new String(value, StandardCharsets.UTF_8));
+		}
+
+	}
+
+	// offsets has size() + 1 elements; entry i is pool[offsets[i], offsets[i + 1])
+	private record Segment(byte[] pool, int[] offsets, int[] ids, byte[] fields) {
+
+		private static final int ARRAY_HEADER = 16;
+
+		int size() {
+			return ids.length;
+		}
+
+		int length(int i) {
+			return offsets[i + 1] - offsets[i];
+		}
+
+		// first entry not ordered before the prefix
+		int lowerBound(byte[] prefix) {
+			int lo = 0;
+			int hi = size();
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (compareBytes(pool, offsets[mid], length(mid), prefix, 0, prefix.length) < 0) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			return lo;
+		}
+
+		boolean startsWith(int i, byte[] prefix) {
+			return PrefixIndex.startsWith(pool, offsets[i], length(i), prefix);
+		}
+
+		int compare(int i, int j) {
+			return compareEntries(pool, offsets[i], length(i), ids[i], fields[i], pool, offsets[j], length(j), ids[j],
+					fields[j]);
+		}
+
+		int compare(int i, Pending p) {
+			return compareEntries(pool, offsets[i], length(i), ids[i], fields[i], p.value, 0, p.value.length, p.id,
+					p.field);
+		}
+
+		Suggestion suggestion(int i) {
+			return new Suggestion(ids[i], FIELD_NAMES[fields[i]],
+					new String(pool, offsets[i], length(i), StandardCharsets.UTF_8));
+		}
+
+		long memoryBytes() {
+			return 4L * ARRAY_HEADER + pool.length + 4L * offsets.length + 4L * ids.length + fields.length;
+		}
+
+	}
+
+	private static final class SegmentWriter {
+
+		private byte[] pool;
+		private int poolSize;
+		private int[] offsets;
+		private int[] ids;
+		private byte[] fields;
+		private int size;
+
+		SegmentWriter(int entries, int bytes) {
+			pool = new byte[Math.max(bytes, 16)];
+			offsets = new int[Math.max(entries, 16) + 1];
+			ids = new int[Math.max(entries, 16)];
+			fields = new byte[Math.max(entries, 16)];
+		}
+
+		void append(byte[] value, int offset, int length, int id, byte field) {
+			if (poolSize + length > pool.length) {
+				pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + length));
+			}
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+				fields = Arrays.copyOf(fields, size * 2);
+				offsets = Arrays.copyOf(offsets, size * 2 + 1);
+			}
+			System.arraycopy(value, offset, pool, poolSize, length);
+			offsets[size] = poolSize;
+			ids[size] = id;
+			fields[size] = field;
+			poolSize += length;
+			size++;
+			offsets[size] = poolSize;
+		}
+
+		// trimmed to size, so the base holds no slack
+		Segment toSegment() {
+			return new Segment(Arrays.copyOf(pool, poolSize), Arrays.copyOf(offsets, size + 1),
+					Arrays.copyOf(ids, size), Arrays.copyOf(fields, size));
+		}
+
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.tulasi.suggest;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the {@link EmployeeSuggestIndex} from the table on an interval,
+ * for deployments where other instances write the table and their changes
+ * never reach this one's events. Off unless
+ * {@code employee.suggest.rebuild-interval} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.suggest.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(name = "employee.suggest.rebuild-interval")
+public class SuggestIndexRebuild {
+
+	private final EmployeeSuggestIndex index;
+
+	public SuggestIndexRebuild(EmployeeSuggestIndex index) {
+		this.index = index;
+	}
+
+	@Scheduled(initialDelayString = "${employee.suggest.rebuild-interval}",
+			fixedDelayString = "${employee.suggest.rebuild-interval}")
+	public void rebuild() {
+		index.build();
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.tulasi.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimiterTest {
+
+	private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void testRefusesBeyondLimit() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, THRESHOLD, 0.5);
+
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+		assertEquals(2, limiter.inFlight());
+
+		limiter.release(0, false, true, System.nanoTime());
+		assertTrue(limiter.tryAcquire());
+	}
+
+	@Test
+	void testSlowResponsesHalveOncePerPeriodDownToMinimum() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(16, 3, 32, THRESHOLD, 0.5);
+		long now = System.nanoTime();
+
+		limiter.tryAcquire();
+		limiter.release(2 * THRESHOLD, false, true, now);
+		assertEquals(8, limiter.limit());
+
+		// same congestion episode
+		limiter.tryAcquire();
+		limiter.release(2 * THRESHOLD, false, true, now + THRESHOLD / 2);
+		assertEquals(8, limiter.limit());
+
+		for (int i = 1; i <= 5; i++) {
+			limiter.tryAcquire();
+			limiter.release(0, true, true, now + i * THRESHOLD);
+		}
+		assertEquals(3, limiter.limit());
+	}
+
+	@Test
+	void testFastResponsesUnderLoadGrowLimitUpToMaximum() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 6, THRESHOLD, 0.5);
+
+		for (int i = 0; i < 100; i++) {
+			while (limiter.tryAcquire()) {
+			}
+			while (limiter.inFlight() > 0) {
+				limiter.release(THRESHOLD / 2, false, true, System.nanoTime());
+			}
+		}
+
+		assertEquals(6, limiter.limit());
+	}
+
+	@Test
+	void testIdleOrUnsampledResponsesLeaveLimitAlone() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 20, THRESHOLD, 0.5);
+
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire();
+			limiter.release(0, false, true, System.nanoTime());
+		}
+		limiter.tryAcquire();
+		limiter.release(10 * THRESHOLD, false, false, System.nanoTime());
+
+		assertEquals(10, limiter.limit());
+		assertEquals(0, limiter.inFlight());
+	}
+
+}
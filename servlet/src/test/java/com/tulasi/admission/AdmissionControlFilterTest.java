@@ -0,0 +1,58 @@
+package com.tulasi.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionControlFilterTest {
+
+	@Test
+	void testClientIsTheRemoteAddressUnlessAHeaderIsConfigured() throws Exception {
+		AdmissionControlFilter filter = filter(null);
+
+		assertEquals(200, send(filter, "10.0.0.1", "a"));
+		// a made-up client id does not buy a fresh bucket
+		assertEquals(429, send(filter, "10.0.0.1", "b"));
+		assertEquals(200, send(filter, "10.0.0.2", "a"));
+	}
+
+	@Test
+	void testConfiguredHeaderNamesTheClient() throws Exception {
+		AdmissionControlFilter filter = filter("X-Client-Id");
+
+		assertEquals(200, send(filter, "10.0.0.1", "a"));
+		assertEquals(200, send(filter, "10.0.0.1", "b"));
+		assertEquals(429, send(filter, "10.0.0.2", "a"));
+		// without the header the address still identifies the caller
+		assertEquals(200, send(filter, "10.0.0.1", null));
+	}
+
+	private static AdmissionControlFilter filter(String clientHeader) {
+		return new AdmissionControlFilter(limiter(), limiter(), new ClientRateLimiter(1, 0.001, 100), clientHeader,
+				Set.of(), Set.of(), new SimpleMeterRegistry());
+	}
+
+	private static AdaptiveLimiter limiter() {
+		return new AdaptiveLimiter(10, 1, 10, TimeUnit.SECONDS.toNanos(1), 0.9);
+	}
+
+	private static int send(AdmissionControlFilter filter, String remoteAddr, String clientId) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api");
+		request.setRemoteAddr(remoteAddr);
+		if (clientId != null) {
+			request.addHeader("X-Client-Id", clientId);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+}
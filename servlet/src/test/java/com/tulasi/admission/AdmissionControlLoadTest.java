@@ -0,0 +1,146 @@
+package com.tulasi.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Local load test through the embedded Tomcat: H2 with a configurable delay
+ * on every connection checkout stands in for a struggling database, and a
+ * burst of concurrent reads has to be shed rather than queued.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"employee.admission.enabled=true",
+		"employee.admission.reads.initial-limit=8",
+		"employee.admission.reads.min-limit=2",
+		"employee.admission.reads.latency-threshold=50ms",
+		// every request comes from localhost, so the test plays the trusted gateway that sets the client id
+		"employee.admission.client-header=X-Client-Id",
+		"employee.admission.rate-limit.capacity=3",
+		"employee.admission.rate-limit.refill-per-second=0.5" })
+@AutoConfigureTestDatabase
+class AdmissionControlLoadTest {
+
+	static final AtomicLong DB_LATENCY_MILLIS = new AtomicLong();
+
+	@TestConfiguration
+	static class SlowDatabase {
+
+		@Bean
+		static BeanPostProcessor slowConnections() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof DataSource dataSource)) {
+						return bean;
+					}
+					return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DataSource.class },
+							(proxy, method, args) -> {
+								if (method.getName().equals("getConnection")) {
+									Thread.sleep(DB_LATENCY_MILLIS.get());
+								}
+								try {
+									return method.invoke(dataSource, args);
+								} catch (java.lang.reflect.InvocationTargetException e) {
+									throw e.getCause();
+								}
+							});
+				}
+			};
+		}
+
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@AfterEach
+	void fastDatabase() {
+		DB_LATENCY_MILLIS.set(0);
+	}
+
+	@Test
+	void testBurstAgainstSlowDatabaseIsShedAndLimitBacksOff() throws Exception {
+		DB_LATENCY_MILLIS.set(200);
+
+		List<CompletableFuture<HttpResponse<String>>> burst = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			burst.add(client.sendAsync(get("/api?limit=5", "load-" + i), HttpResponse.BodyHandlers.ofString()));
+		}
+		int ok = 0;
+		int shed = 0;
+		for (CompletableFuture<HttpResponse<String>> future : burst) {
+			HttpResponse<String> response = future.join();
+			if (response.statusCode() == 200) {
+				ok++;
+			} else {
+				assertEquals(503, response.statusCode());
+				assertEquals("1", response.headers().firstValue("Retry-After").orElse(null));
+				assertEquals("application/problem+json", response.headers().firstValue("Content-Type").orElse(null));
+				shed++;
+			}
+		}
+
+		assertTrue(ok > 0 && ok <= 8, ok + " admitted");
+		assertEquals(40, ok + shed);
+		assertTrue(gauge("employee.admission.limit", "reads") < 8);
+		assertEquals(0, gauge("employee.admission.inflight", "reads"));
+		assertTrue(registry.get("employee.admission.rejected").tag("class", "reads").tag("reason", "concurrency")
+				.counter().count() >= shed);
+	}
+
+	@Test
+	void testClientOverItsRateGets429WithRetryAfter() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(200, client.send(get("/api?limit=1", "greedy"), HttpResponse.BodyHandlers.ofString())
+					.statusCode());
+		}
+		HttpResponse<String> limited = client.send(get("/api?limit=1", "greedy"), HttpResponse.BodyHandlers.ofString());
+		HttpResponse<String> other = client.send(get("/api?limit=1", "polite"), HttpResponse.BodyHandlers.ofString());
+
+		assertEquals(429, limited.statusCode());
+		assertEquals("2", limited.headers().firstValue("Retry-After").orElse(null));
+		assertTrue(limited.body().contains("\"status\":429"), limited.body());
+		assertEquals(200, other.statusCode());
+	}
+
+	private HttpRequest get(String path, String clientId) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).header("X-Client-Id", clientId)
+				.build();
+	}
+
+	private double gauge(String name, String type) {
+		return registry.get(name).tag("class", type).gauge().value();
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.tulasi.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTest {
+
+	@Test
+	void testBurstThenWaitForRefill() {
+		ClientRateLimiter limiter = new ClientRateLimiter(3, 2, 100);
+		long now = System.nanoTime();
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire("a", now));
+		}
+		long wait = limiter.tryAcquire("a", now);
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait, 1000);
+
+		assertEquals(0, limiter.tryAcquire("a", now + wait));
+		assertTrue(limiter.tryAcquire("a", now + wait) > 0);
+	}
+
+	@Test
+	void testClientsHaveSeparateBuckets() {
+		ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100);
+		long now = System.nanoTime();
+
+		assertEquals(0, limiter.tryAcquire("a", now));
+		assertTrue(limiter.tryAcquire("a", now) > 0);
+		assertEquals(0, limiter.tryAcquire("b", now));
+		assertEquals(2, limiter.clients());
+	}
+
+	@Test
+	void testRefillIsCappedAtCapacity() {
+		ClientRateLimiter limiter = new ClientRateLimiter(2, 1000, 100);
+		long now = System.nanoTime();
+
+		limiter.tryAcquire("a", now);
+		long later = now + TimeUnit.HOURS.toNanos(1);
+		assertEquals(0, limiter.tryAcquire("a", later));
+		assertEquals(0, limiter.tryAcquire("a", later));
+		assertTrue(limiter.tryAcquire("a", later) > 0);
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.tulasi.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tulasi.dto.DepartmentStats;
+import com.tulasi.dto.DepartmentTotals;
+import com.tulasi.dto.SalaryRow;
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.repo.EmployeeRepo;
+import com.tulasi.routing.ReadYourWrites;
+
+class DepartmentStatsStoreTest {
+
+	private EmployeeRepo repo;
+	private DepartmentStatsStore store;
+
+	@BeforeEach
+	void setup() {
+		repo = mock(EmployeeRepo.class);
+		store = new DepartmentStatsStore(repo, mock(PlatformTransactionManager.class));
+		when(repo.streamSalaryRows()).thenReturn(Stream.of(
+				new SalaryRow(1, "HR", 5000.0),
+				new SalaryRow(2, "HR", 7000.0),
+				new SalaryRow(3, "IT", 9000.0)));
+		store.seed();
+	}
+
+	@Test
+	void testSeedBuildsPerDepartmentStats() {
+		List<DepartmentStats> stats = store.stats();
+
+		assertEquals(2, stats.size());
+		DepartmentStats hr = stats.get(0);
+		assertEquals("HR", hr.department());
+		assertEquals(2, hr.headcount());
+		assertEquals(5000.0, hr.minSalary());
+		assertEquals(7000.0, hr.maxSalary());
+		assertEquals(6000.0, hr.avgSalary());
+		assertEquals(12000.0, hr.sumSalary());
+		assertEquals(5000.0, hr.p50Salary());
+		assertEquals(7000.0, hr.p99Salary());
+	}
+
+	@Test
+	void testDepartmentMoveUpdatesBothSides() {
+		store.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1, "IT", 5000.0)));
+
+		List<DepartmentStats> stats = store.stats();
+		DepartmentStats hr = stats.get(0);
+		DepartmentStats it = stats.get(1);
+		assertEquals(1, hr.headcount());
+		assertEquals(7000.0, hr.minSalary());
+		assertEquals(2, it.headcount());
+		assertEquals(5000.0, it.minSalary());
+		assertEquals(14000.0, it.sumSalary());
+	}
+
+	@Test
+	void testPatchKeepsFieldsItDoesNotWrite() {
+		store.onEmployeeChanged(EmployeeChangedEvent.patched(new Employee(2, null, null, 11000.0, null, null)));
+
+		DepartmentStats hr = store.stats().get(0);
+		assertEquals(2, hr.headcount());
+		assertEquals(11000.0, hr.maxSalary());
+		assertEquals(16000.0, hr.sumSalary());
+	}
+
+	@Test
+	void testDeletingLastEmployeeDropsDepartment() {
+		store.onEmployeeChanged(EmployeeChangedEvent.deleted(3));
+
+		List<DepartmentStats> stats = store.stats();
+		assertEquals(1, stats.size());
+		assertEquals("HR", stats.get(0).department());
+	}
+
+	@Test
+	void testSalaryFiguresAreNullWithoutSalaries() {
+		store.onEmployeeChanged(EmployeeChangedEvent.created(employee(4, "Ops", null)));
+
+		DepartmentStats ops = store.stats().get(2);
+		assertEquals(1, ops.headcount());
+		assertNull(ops.minSalary());
+		assertNull(ops.avgSalary());
+		assertNull(ops.p90Salary());
+	}
+
+	@Test
+	void testNearestRankPercentiles() {
+		IntStream.rangeClosed(1, 100).forEach(i -> store.onEmployeeChanged(
+				EmployeeChangedEvent.created(employee(100 + i, "Sales", i * 1000.0))));
+
+		DepartmentStats sales = store.stats().get(2);
+		assertEquals(50000.0, sales.p50Salary());
+		assertEquals(90000.0, sales.p90Salary());
+		assertEquals(99000.0, sales.p99Salary());
+	}
+
+	@Test
+	void testReconcileLeavesMatchingAggregatesAlone() {
+		List<DepartmentTotals> totals = List.of(
+				new DepartmentTotals("HR", 2, 12000.0, 5000.0, 7000.0),
+				new DepartmentTotals("IT", 1, 9000.0, 9000.0, 9000.0));
+		// off the primary the totals would look like an empty, lagging replica and force a reseed
+		when(repo.departmentTotals()).thenAnswer(inv -> ReadYourWrites.isPinned() ? totals : List.of());
+
+		store.reconcile();
+
+		verify(repo, times(1)).streamSalaryRows();
+	}
+
+	@Test
+	void testReconcileReseedsOnDrift() {
+		// a write the store never heard about
+		when(repo.departmentTotals()).thenReturn(List.of(
+				new DepartmentTotals("HR", 2, 12000.0, 5000.0, 7000.0),
+				new DepartmentTotals("IT", 2, 17000.0, 8000.0, 9000.0)));
+		when(repo.streamSalaryRows()).thenReturn(Stream.of(
+				new SalaryRow(1, "HR", 5000.0),
+				new SalaryRow(2, "HR", 7000.0),
+				new SalaryRow(3, "IT", 9000.0),
+				new SalaryRow(4, "IT", 8000.0)));
+
+		store.reconcile();
+
+		verify(repo, times(2)).streamSalaryRows();
+		DepartmentStats it = store.stats().get(1);
+		assertEquals(2, it.headcount());
+		assertEquals(8000.0, it.minSalary());
+	}
+
+	@Test
+	void testFailedSeedKeepsServing() {
+		when(repo.streamSalaryRows()).thenThrow(new IllegalStateException("db down"));
+
+		store.seed();
+
+		assertEquals(2, store.stats().size());
+	}
+
+	private static Employee employee(int id, String department, Double salary) {
+		return new Employee(id, "Emp" + id, department, salary, "emp" + id + "@example.com", "9876543210");
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.tulasi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.tulasi.entity.Employee;
+
+class EmployeeCacheTest {
+
+	private final Employee e = new Employee(1, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210");
+
+	@Test
+	void testConcurrentMissesCollapseIntoOneLoad() throws Exception {
+		EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofSeconds(30));
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Optional<Employee>>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(pool.submit(() -> cache.get(1, id -> {
+					loads.incrementAndGet();
+					await(release);
+					return Optional.of(e);
+				})));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (Future<Optional<Employee>> result : results) {
+				assertEquals("Tulasi", result.get(5, TimeUnit.SECONDS).orElseThrow().getName());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void testNegativeEntriesExpireSooner() throws Exception {
+		EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofMillis(50));
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(9, id -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		});
+		cache.get(1, id -> Optional.of(e));
+		Thread.sleep(120);
+		cache.get(9, id -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		});
+
+		assertEquals(2, loads.get());
+		assertTrue(cache.get(1, id -> Optional.empty()).isPresent());
+	}
+
+	@Test
+	void testDisabledCacheAlwaysLoads() {
+		EmployeeCache cache = new EmployeeCache(false, 100, Duration.ofMinutes(1), Duration.ofSeconds(30));
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.put(e);
+		cache.get(1, id -> {
+			loads.incrementAndGet();
+			return Optional.of(e);
+		});
+
+		assertEquals(1, loads.get());
+		assertEquals(0, cache.size());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.tulasi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tulasi.entity.Employee;
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.service.EmployeeService;
+
+// with the outbox off, so the version is shown not to depend on it
+@SpringBootTest(properties = "employee.changes.enabled=false")
+@AutoConfigureTestDatabase
+class EmployeeTableVersionTest {
+
+	@Autowired
+	private EmployeeTableVersion tableVersion;
+
+	@Autowired
+	private EmployeeService service;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	@Test
+	void testEachCommittedWriteMovesTheTagOnce() {
+		String before = etag();
+
+		Employee created = service.addEmployee(employee("version-a@example.com"));
+		String afterAdd = etag();
+		service.bulkAddEmployees(List.of(employee("version-b@example.com"), employee("version-c@example.com")));
+		String afterBulk = etag();
+		service.deleteEmployee(created.getId());
+		// rolled back: no increment
+		assertThrows(EmployeeNotFoundException.class, () -> service.deleteEmployee(created.getId()));
+
+		assertEquals(versionOf(before) + 1, versionOf(afterAdd));
+		assertEquals(versionOf(afterAdd) + 1, versionOf(afterBulk));
+		assertEquals(versionOf(afterBulk) + 1, versionOf(etag()));
+	}
+
+	@Test
+	void testUncommittedWriteDoesNotMoveTheTag() {
+		String before = etag();
+
+		String seenInside = tx.execute(status -> {
+			service.addEmployee(employee("version-open@example.com"));
+			// another reader while the writing transaction is still open
+			return CompletableFuture.supplyAsync(this::etag).join();
+		});
+
+		assertEquals(before, seenInside);
+		assertEquals(versionOf(before) + 1, versionOf(etag()));
+	}
+
+	private String etag() {
+		return tableVersion.read(etag -> etag);
+	}
+
+	private static long versionOf(String etag) {
+		return Long.parseLong(etag.substring(3, etag.length() - 1));
+	}
+
+	private static Employee employee(String email) {
+		return new Employee(0, "Version", "IT", 5000.0, email, "9876543210");
+	}
+
+}
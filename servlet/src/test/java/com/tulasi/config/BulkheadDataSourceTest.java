@@ -0,0 +1,49 @@
+package com.tulasi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+class BulkheadDataSourceTest {
+
+	private final DataSource target = mock(DataSource.class);
+
+	@Test
+	void testPermitHeldUntilClose() throws Exception {
+		Connection raw = mock(Connection.class);
+		when(target.getConnection()).thenReturn(raw);
+		BulkheadDataSource ds = new BulkheadDataSource(target, 1, 50);
+
+		Connection first = ds.getConnection();
+		assertEquals(0, ds.availablePermits());
+		SQLTransientConnectionException ex = assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+		assertEquals("08001", ex.getSQLState());
+
+		first.close();
+		first.close();
+		verify(raw, atLeastOnce()).close();
+		assertEquals(1, ds.availablePermits());
+		ds.getConnection().close();
+	}
+
+	@Test
+	void testPermitReturnedWhenPoolFails() throws Exception {
+		when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+		BulkheadDataSource ds = new BulkheadDataSource(target, 1, 50);
+
+		assertThrows(SQLException.class, ds::getConnection);
+		assertEquals(1, ds.availablePermits());
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.tulasi.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.tulasi.dto.DepartmentTotals;
+import com.tulasi.dto.SalaryRow;
+import com.tulasi.entity.Employee;
+
+class NativeHintsTest {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	@Test
+	void testRegistersJsonBindingAndJpqlProjections() throws Exception {
+		new NativeHints.Registrar().registerHints(hints, getClass().getClassLoader());
+
+		assertTrue(RuntimeHintsPredicates.reflection().onMethod(Employee.class.getMethod("getEmail")).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(SalaryRow.class)
+				.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(DepartmentTotals.class)
+				.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+	}
+
+}
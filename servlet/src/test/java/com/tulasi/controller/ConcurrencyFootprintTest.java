@@ -0,0 +1,124 @@
+package com.tulasi.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.tulasi.entity.Employee;
+import com.tulasi.repo.EmployeeRepo;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Threads and connections used while serving many concurrent GET /api pages.
+ * The reactive module has the same test (same load, same H2 data, same pool
+ * size), and scripts/compare-reactive.sh prints both report lines side by
+ * side. Load is set with -Dfootprint.concurrency and -Dfootprint.requests.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:footprint;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=" })
+class ConcurrencyFootprintTest {
+
+	private static final int CONCURRENCY = Integer.getInteger("footprint.concurrency", 200);
+	private static final int REQUESTS = Integer.getInteger("footprint.requests", 1000);
+	private static final int ROWS = 500;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void testFootprintUnderConcurrentListing() throws Exception {
+		if (repo.count() == 0) {
+			for (int i = 0; i < ROWS; i++) {
+				repo.save(new Employee(0, "employee" + i, "Engineering", 5000.0 + i, "footprint" + i + "@example.com",
+						"9876543210"));
+			}
+		}
+		HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+		HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+
+		ExecutorService clientThreads = Executors.newFixedThreadPool(4);
+		HttpClient client = HttpClient.newBuilder().executor(clientThreads).build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api?limit=50")).build();
+		for (int i = 0; i < 50; i++) {
+			client.send(request, HttpResponse.BodyHandlers.discarding());
+		}
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		AtomicInteger peakConnections = new AtomicInteger();
+		AtomicInteger peakWaiting = new AtomicInteger();
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		int baselineThreads = threads.getThreadCount();
+		threads.resetPeakThreadCount();
+		sampler.scheduleAtFixedRate(() -> {
+			peakConnections.accumulateAndGet(pool.getActiveConnections(), Math::max);
+			peakWaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+		}, 0, 1, TimeUnit.MILLISECONDS);
+
+		long[] latencies = new long[REQUESTS];
+		AtomicInteger failures = new AtomicInteger();
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		CountDownLatch done = new CountDownLatch(REQUESTS);
+		long start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			int n = i;
+			inFlight.acquire();
+			long sent = System.nanoTime();
+			client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+				latencies[n] = System.nanoTime() - sent;
+				if (error != null || response.statusCode() != 200) {
+					failures.incrementAndGet();
+				}
+				inFlight.release();
+				done.countDown();
+			});
+		}
+		assertTrue(done.await(2, TimeUnit.MINUTES));
+		long elapsed = System.nanoTime() - start;
+		sampler.shutdownNow();
+		clientThreads.shutdownNow();
+
+		Arrays.sort(latencies);
+		System.out.printf("footprint servlet  concurrency=%d requests=%d rps=%.0f p50=%.1fms p99=%.1fms"
+				+ " threads=%d (+%d over idle) connections=%d/%d waitingForConnection=%d%n",
+				CONCURRENCY, REQUESTS, REQUESTS * 1e9 / elapsed, latencies[REQUESTS / 2] / 1e6,
+				latencies[REQUESTS * 99 / 100] / 1e6, threads.getPeakThreadCount(),
+				threads.getPeakThreadCount() - baselineThreads, peakConnections.get(), hikari.getMaximumPoolSize(),
+				peakWaiting.get());
+
+		assertEquals(0, failures.get());
+		assertTrue(peakConnections.get() <= hikari.getMaximumPoolSize());
+	}
+
+}
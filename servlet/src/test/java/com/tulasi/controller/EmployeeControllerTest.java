@@ -0,0 +1,460 @@
+package com.tulasi.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulasi.cache.EmployeeTableVersion;
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkUpsertResult;
+import com.tulasi.dto.EmployeeFieldsPage;
+import com.tulasi.dto.EmployeePage;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.dto.UpsertResult;
+import com.tulasi.entity.Employee;
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.exception.EmployeeVersionMismatchException;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.repo.TableVersionRepo;
+import com.tulasi.service.EmployeeService;
+
+@WebMvcTest(EmployeeController.class)
+@Import(EmployeeTableVersion.class)
+@AutoConfigureMockMvc
+class EmployeeControllerTest {
+	@Autowired
+	private MockMvc mockMvc;
+	
+	
+	@MockitoBean
+	private EmployeeService service;
+
+	@MockitoBean
+	private TableVersionRepo tableVersionRepo;
+
+	@MockitoBean
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void testAddEmployee() throws Exception {
+		Employee e = new Employee();
+		e.setId(1);
+		e.setName("tulasi");
+		e.setSalary(5000.00);
+		when(service.addEmployee(any(Employee.class))).thenReturn(e);
+
+		mockMvc.perform(
+				post("/api/add").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(e)))
+				.andExpect(status().isCreated()).andExpect(jsonPath("$.name").value("tulasi"))
+				.andExpect(jsonPath("$.salary").value(5000.00));
+
+		verify(service, times(1)).addEmployee(any(Employee.class));
+
+	}
+
+	@Test
+	void testAddEmployeeFailure() throws Exception {
+		Employee e = new Employee();
+		e.setId(1);
+		e.setName("tulasi");
+		e.setSalary(5000.00);
+		when(service.addEmployee(any(Employee.class))).thenReturn(null);
+
+		mockMvc.perform(
+				post("/api/add").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(e)))
+				.andExpect(status().isBadRequest());
+		verify(service, times(1)).addEmployee(any(Employee.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testBulkAddEmployees() throws Exception {
+		List<Employee> emps = List.of(new Employee(0, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210"),
+				new Employee(0, "", "IT", 7000.00, "krishna@example.com", "9876543211"));
+		when(service.bulkAddEmployees(any(List.class))).thenReturn(
+				new BulkInsertResult(2, 1, List.of(51), List.of(new BulkInsertResult.RowError(1, "name must not be blank"))));
+
+		mockMvc.perform(
+				post("/api/bulk").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(emps)))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.inserted").value(1))
+				.andExpect(jsonPath("$.ids[0]").value(51)).andExpect(jsonPath("$.errors[0].index").value(1));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testBulkAddEmployees_tooLarge() throws Exception {
+		when(service.bulkAddEmployees(any(List.class)))
+				.thenThrow(new InvalidEmployeeRequestException("Bulk insert accepts at most 5000 employees"));
+
+		mockMvc.perform(post("/api/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testUpsertEmployeeByEmail() throws Exception {
+		Employee e = new Employee(7, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210");
+		e.setVersion(2);
+		when(service.upsertEmployeeByEmail(eq("tulasi@example.com"), any(Employee.class)))
+				.thenReturn(new UpsertResult(e, true)).thenReturn(new UpsertResult(e, false));
+		String body = "{\"name\":\"tulasi\",\"department\":\"HR\",\"salary\":6000}";
+
+		mockMvc.perform(put("/api/by-email/tulasi@example.com").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated()).andExpect(jsonPath("$.id").value(7))
+				.andExpect(header().string("ETag", "\"2\""));
+		mockMvc.perform(put("/api/by-email/tulasi@example.com").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.email").value("tulasi@example.com"));
+		// invalid bodies are rejected before the service
+		mockMvc.perform(put("/api/by-email/tulasi@example.com").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"\",\"department\":\"HR\"}")).andExpect(status().isBadRequest());
+		verify(service, times(2)).upsertEmployeeByEmail(eq("tulasi@example.com"), any(Employee.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testBulkUpsertEmployeesByEmail() throws Exception {
+		when(service.bulkUpsertEmployeesByEmail(any(List.class))).thenReturn(new BulkUpsertResult(3, List.of(52),
+				List.of(7), List.of(new BulkInsertResult.RowError(2, "email must not be blank"))));
+
+		mockMvc.perform(put("/api/by-email").contentType(MediaType.APPLICATION_JSON).content("[{},{},{}]"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.created[0]").value(52))
+				.andExpect(jsonPath("$.updated[0]").value(7)).andExpect(jsonPath("$.errors[0].index").value(2));
+	}
+
+	@Test
+	void testupdateEmployee() throws Exception {
+		Employee e = new Employee();
+		e.setId(1);
+		e.setName("tulasi");
+		e.setDepartment("HR");
+		e.setSalary(6000.00);
+		e.setEmail("tulasi@example.com");
+		e.setPhno("9876543210");
+		when(service.updateEmployee(eq(1), any(Employee.class), isNull())).thenReturn(e);
+
+		mockMvc.perform(
+				put("/api/1").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(e)))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.name").value("tulasi"))
+				.andExpect(jsonPath("$.salary").value(6000.0));
+
+		verify(service, times(1)).updateEmployee(eq(1), any(Employee.class), isNull());
+	}
+
+	// employee not found
+	@Test
+	void testUpdateEmployeeNotFound() throws Exception {
+		Employee e = new Employee(1, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210");
+
+		when(service.updateEmployee(eq(99), any(Employee.class), isNull()))
+				.thenThrow(new EmployeeNotFoundException("Employee not found"));
+
+		MvcResult result = mockMvc.perform(
+				put("/api/99").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(e)))
+				.andExpect(status().isNotFound()).andReturn();
+
+	    // Assert response message content
+	    String response = result.getResponse().getContentAsString();
+	    assertTrue(response.contains("Employee not found"));
+	}
+
+	// invalid pathvariable type
+	@Test
+	void testUpdateEmployeeInvalidType() throws Exception {
+		mockMvc.perform(put("/api/abc").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(
+						new Employee(1, "tulasi", "HR", 5000.00, "tulasi@gmail.com", "5847968574"))))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testUpdateEmployeeNullFields() throws Exception {
+		Employee emp = new Employee();
+		emp.setId(1);
+		emp.setName("tulasi");
+		emp.setSalary(6000.00);
+		emp.setEmail("tulasi@example.com");
+		emp.setPhno("9876543210");
+
+		mockMvc.perform(
+				put("/api/1").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(emp)))
+				.andExpect(status().isBadRequest());
+	}
+
+
+	@Test
+	void testPatchEmployee() throws Exception {
+		mockMvc.perform(patch("/api/1").contentType(MediaType.APPLICATION_JSON).content("{\"salary\":9000}"))
+				.andExpect(status().isNoContent());
+
+		verify(service, times(1)).patchEmployee(1, new EmployeePatch(null, null, 9000.0, null, null));
+	}
+
+	@Test
+	void testPatchEmployee_invalidField() throws Exception {
+		mockMvc.perform(patch("/api/1").contentType(MediaType.APPLICATION_JSON).content("{\"salary\":10}"))
+				.andExpect(status().isBadRequest());
+
+		verify(service, times(0)).patchEmployee(eq(1), any(EmployeePatch.class));
+	}
+
+	@Test
+	void testPatchEmployee_NotFound() throws Exception {
+		doThrow(new EmployeeNotFoundException("Employee not found")).when(service).patchEmployee(eq(99),
+				any(EmployeePatch.class));
+
+		mockMvc.perform(patch("/api/99").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"ravi\"}"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testfindEmployeeById() throws Exception {
+
+		Employee emp = new Employee();
+		emp.setId(1);
+		emp.setName("tulasi");
+		emp.setSalary(6000.00);
+		emp.setEmail("tulasi@example.com");
+		emp.setPhno("9876543210");
+
+		when(service.findEmployeeById(1)).thenReturn(emp);
+
+		mockMvc.perform(get("/api/1").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("tulasi")).andExpect(jsonPath("$.salary").value(6000.0));
+
+		verify(service, times(1)).findEmployeeById(1);
+
+	}
+
+	@Test
+	void testfindEmployeeById_notModified() throws Exception {
+		Employee emp = new Employee(1, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210");
+		emp.setVersion(3);
+		when(service.findEmployeeById(1)).thenReturn(emp);
+
+		mockMvc.perform(get("/api/1")).andExpect(status().isOk()).andExpect(header().string("ETag", "\"3\""))
+				.andExpect(jsonPath("$.version").doesNotExist());
+		mockMvc.perform(get("/api/1").header("If-None-Match", "\"3\"")).andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		mockMvc.perform(get("/api/1").header("If-None-Match", "\"2\"")).andExpect(status().isOk());
+	}
+
+	@Test
+	void testFindAllEmployees_notModifiedSkipsRead() throws Exception {
+		// the table_version row, whichever instance wrote last
+		when(tableVersionRepo.findVersion("employee")).thenReturn(7L);
+
+		mockMvc.perform(get("/api").header("If-None-Match", "W/\"7\"")).andExpect(status().isNotModified());
+		verify(service, never()).getEmployeesPage(anyInt(), anyInt());
+
+		when(tableVersionRepo.findVersion("employee")).thenReturn(8L);
+		when(service.getEmployeesPage(0, EmployeeService.DEFAULT_PAGE_SIZE))
+				.thenReturn(new EmployeePage(Collections.emptyList(), null));
+
+		mockMvc.perform(get("/api").header("If-None-Match", "W/\"7\"")).andExpect(status().isOk())
+				.andExpect(header().string("ETag", "W/\"8\""));
+	}
+
+	@Test
+	void testFindEmployeesByIds() throws Exception {
+		List<Employee> employees = List.of(new Employee(2, "krishna", "IT", 7000.00, "krishna@example.com", "9876543211"),
+				new Employee(1, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210"));
+		when(service.findEmployeesByIds(List.of(2, 1))).thenReturn(employees);
+
+		mockMvc.perform(get("/api/batch").param("ids", "2,1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(2)).andExpect(jsonPath("$[1].id").value(1));
+
+		verify(service, times(1)).findEmployeesByIds(List.of(2, 1));
+	}
+
+	@Test
+	void testfindEmployeeById_failure() throws Exception {
+
+		when(service.findEmployeeById(99)).thenThrow(new EmployeeNotFoundException("Employee not found"));
+
+		mockMvc.perform(get("/api/99").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isNotFound())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.title").value("Not Found"))
+				.andExpect(jsonPath("$.detail").value("Employee not found"))
+				.andExpect(jsonPath("$.instance").value("/api/99"));
+
+		verify(service, times(1)).findEmployeeById(99);
+	}
+
+	@Test
+	void testFindAllEmployees_success() throws Exception {
+		List<Employee> employees = List.of(new Employee(1, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210"),
+				new Employee(2, "krishna", "IT", 7000.00, "krishna@example.com", "9876543211"));
+
+		when(service.getEmployeesPage(0, EmployeeService.DEFAULT_PAGE_SIZE)).thenReturn(new EmployeePage(employees, null));
+
+		mockMvc.perform(get("/api").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].name").value("tulasi")).andExpect(jsonPath("$[1].department").value("IT"))
+				.andExpect(header().doesNotExist(EmployeeController.NEXT_CURSOR_HEADER));
+
+		verify(service, times(1)).getEmployeesPage(0, EmployeeService.DEFAULT_PAGE_SIZE);
+	}
+
+	@Test
+	void testFindAllEmployees_Failure() throws Exception {
+		when(service.getEmployeesPage(0, EmployeeService.DEFAULT_PAGE_SIZE))
+				.thenReturn(new EmployeePage(Collections.emptyList(), null));
+
+		mockMvc.perform(get("/api").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(content().string("[]"));
+	}
+
+	@Test
+	void testFindAllEmployees_nextCursor() throws Exception {
+		List<Employee> employees = List.of(new Employee(11, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210"),
+				new Employee(12, "krishna", "IT", 7000.00, "krishna@example.com", "9876543211"));
+
+		when(service.getEmployeesPage(10, 2)).thenReturn(new EmployeePage(employees, 12));
+
+		mockMvc.perform(get("/api").param("after", "10").param("limit", "2")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[1].id").value(12))
+				.andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, "12"))
+				.andExpect(header().string("Link", "</api?after=12&limit=2>; rel=\"next\""));
+	}
+
+	@Test
+	void testFindAllEmployees_sparseFields() throws Exception {
+		List<Map<String, Object>> rows = List.of(Map.of("id", 11, "name", "tulasi"));
+		when(service.getEmployeeFieldsPage(List.of("name"), 10, 1)).thenReturn(new EmployeeFieldsPage(rows, 11));
+
+		mockMvc.perform(get("/api").param("after", "10").param("limit", "1").param("fields", "name"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].name").value("tulasi"))
+				.andExpect(jsonPath("$[0].salary").doesNotExist())
+				.andExpect(header().string("Link", "</api?after=11&limit=1&fields=name>; rel=\"next\""));
+		verify(service, never()).getEmployeesPage(anyInt(), anyInt());
+	}
+
+	@Test
+	void testSearchEmployees_keepsFiltersInNextLink() throws Exception {
+		List<Employee> employees = List.of(new Employee(11, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210"));
+		EmployeeSearch search = new EmployeeSearch("HR", 5000.0, null, null, "tu");
+
+		when(service.searchEmployees(search, 0, 1)).thenReturn(new EmployeePage(employees, 11));
+
+		mockMvc.perform(get("/api/search?department=HR&minSalary=5000&name=tu&limit=1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(11))
+				.andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, "11"))
+				.andExpect(header().string("Link",
+						"<http://localhost/api/search?department=HR&minSalary=5000&name=tu&limit=1&after=11>; rel=\"next\""));
+	}
+
+	@Test
+	void testSearchEmployees_invalidRange() throws Exception {
+		when(service.searchEmployees(any(EmployeeSearch.class), anyInt(), anyInt()))
+				.thenThrow(new InvalidEmployeeRequestException("minSalary must not be greater than maxSalary"));
+
+		mockMvc.perform(get("/api/search").param("minSalary", "9000").param("maxSalary", "1000"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testExportEmployees_ndjson() throws Exception {
+		when(service.exportEmployees(any())).thenAnswer(inv -> {
+			Consumer<Employee> sink = inv.getArgument(0);
+			sink.accept(new Employee(1, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210"));
+			sink.accept(new Employee(2, "krishna", "IT", 7000.00, "krishna@example.com", "9876543211"));
+			return 2L;
+		});
+
+		MvcResult result = mockMvc.perform(get("/api/export")).andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(EmployeeController.NDJSON)).andReturn();
+
+		String[] lines = result.getResponse().getContentAsString().split("\n");
+		assertEquals(2, lines.length);
+		assertEquals("krishna", objectMapper.readValue(lines[1], Employee.class).getName());
+		verify(service, times(1)).exportEmployees(any(Consumer.class));
+	}
+
+	@Test
+	void testDeleteEmployee_sucess() throws Exception {
+		Integer empId = 1;
+
+		doNothing().when(service).deleteEmployee(empId, null);
+
+		mockMvc.perform(delete("/api/{id}", empId).contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNoContent());
+		verify(service, times(1)).deleteEmployee(empId, null);
+
+	}
+
+	@Test
+	void testDeleteEmployee_NotFound() throws Exception {
+		Integer empId = 99;
+
+		doThrow(new EmployeeNotFoundException("Employee not found")).when(service).deleteEmployee(empId, null);
+
+		mockMvc.perform(delete("/api/{id}", empId).contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound()).andExpect(jsonPath("$.detail").value("Employee not found"));
+
+		verify(service, times(1)).deleteEmployee(empId, null);
+
+	}
+
+	@Test
+	void testUpdateEmployee_ifMatch() throws Exception {
+		Employee updated = new Employee(1, "tulasi", "HR", 6000.00, "tulasi@example.com", "9876543210");
+		updated.setVersion(4);
+		when(service.updateEmployee(eq(1), any(Employee.class), eq(3L))).thenReturn(updated);
+
+		mockMvc.perform(put("/api/1").header("If-Match", "\"3\"").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(updated)))
+				.andExpect(status().isOk()).andExpect(header().string("ETag", "\"4\""));
+	}
+
+	@Test
+	void testDeleteEmployee_staleIfMatch() throws Exception {
+		doThrow(new EmployeeVersionMismatchException("Employee 1 was modified by another request")).when(service)
+				.deleteEmployee(1, 2L);
+
+		mockMvc.perform(delete("/api/1").header("If-Match", "\"2\"")).andExpect(status().isPreconditionFailed());
+		// weak tags never match a strong row version
+		mockMvc.perform(delete("/api/1").header("If-Match", "W/\"2\"")).andExpect(status().isPreconditionFailed());
+		verify(service, times(1)).deleteEmployee(1, 2L);
+	}
+
+}
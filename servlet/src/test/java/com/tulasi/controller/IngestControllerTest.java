@@ -0,0 +1,82 @@
+package com.tulasi.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulasi.dto.IngestStatus;
+import com.tulasi.entity.Employee;
+import com.tulasi.exception.IngestQueueFullException;
+import com.tulasi.ingest.WriteBehindIngestor;
+
+@WebMvcTest(controllers = IngestController.class, properties = "employee.ingest.enabled=true")
+class IngestControllerTest {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@MockitoBean
+	private WriteBehindIngestor ingestor;
+
+	private final Employee employee = new Employee(0, "Tulasi", "IT", 50000.0, "tulasi@example.com", "9876543210");
+
+	@Test
+	void testIngestReturnsAcceptedWithToken() throws Exception {
+		when(ingestor.submit(any(Employee.class))).thenReturn(IngestStatus.queued("abc"));
+
+		mockMvc.perform(post("/api/ingest").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string("Location", "/api/ingest/abc"))
+				.andExpect(jsonPath("$.token").value("abc"))
+				.andExpect(jsonPath("$.state").value("QUEUED"));
+	}
+
+	@Test
+	void testIngestRejectsInvalidEmployee() throws Exception {
+		employee.setSalary(10.0);
+
+		mockMvc.perform(post("/api/ingest").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)))
+				.andExpect(status().isBadRequest());
+		verify(ingestor, never()).submit(any(Employee.class));
+	}
+
+	@Test
+	void testIngestFullQueueReturns429() throws Exception {
+		when(ingestor.submit(any(Employee.class))).thenThrow(new IngestQueueFullException("Ingestion queue is full"));
+
+		mockMvc.perform(post("/api/ingest").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee)))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "1"));
+	}
+
+	@Test
+	void testIngestStatus() throws Exception {
+		when(ingestor.status("abc")).thenReturn(IngestStatus.created("abc", 42));
+
+		mockMvc.perform(get("/api/ingest/abc"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.state").value("CREATED"))
+				.andExpect(jsonPath("$.id").value(42));
+		mockMvc.perform(get("/api/ingest/unknown")).andExpect(status().isNotFound());
+	}
+
+}
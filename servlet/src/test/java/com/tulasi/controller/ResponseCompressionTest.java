@@ -0,0 +1,95 @@
+package com.tulasi.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.tulasi.entity.Employee;
+import com.tulasi.repo.EmployeeRepo;
+
+/**
+ * Goes through the embedded Tomcat, where compression happens; MockMvc never
+ * sees it. Also compares payload sizes for full rows vs ?fields=.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+class ResponseCompressionTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeEach
+	void setup() {
+		if (repo.count() == 0) {
+			for (int i = 0; i < 200; i++) {
+				repo.save(new Employee(0, "employee" + i, "Engineering", 5000.0 + i, "gzip" + i + "@example.com",
+						"98765" + (43210 + i)));
+			}
+		}
+	}
+
+	@Test
+	void testLargeListIsGzipped() throws Exception {
+		HttpResponse<byte[]> plain = get("/api?limit=200", null);
+		HttpResponse<byte[]> gzipped = get("/api?limit=200", "gzip");
+
+		assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+		assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+		assertEquals(new String(plain.body()), gunzip(gzipped.body()));
+		assertTrue(gzipped.body().length * 4 < plain.body().length,
+				gzipped.body().length + " compressed vs " + plain.body().length);
+	}
+
+	@Test
+	void testSmallBodyIsNotCompressed() throws Exception {
+		HttpResponse<byte[]> response = get("/api?limit=1", "gzip");
+
+		assertTrue(response.headers().firstValue("Content-Encoding").isEmpty(), response.headers().map().toString());
+	}
+
+	@Test
+	void testSparseFieldsShrinkPayload() throws Exception {
+		HttpResponse<byte[]> full = get("/api?limit=200", null);
+		HttpResponse<byte[]> sparse = get("/api?limit=200&fields=name", null);
+
+		assertEquals(200, sparse.statusCode());
+		assertTrue(new String(sparse.body()).startsWith("[{\"id\":"));
+		assertTrue(sparse.body().length * 2 < full.body().length,
+				sparse.body().length + " sparse vs " + full.body().length);
+	}
+
+	private HttpResponse<byte[]> get(String path, String acceptEncoding) throws IOException, InterruptedException {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+		if (acceptEncoding != null) {
+			request.header("Accept-Encoding", acceptEncoding);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private static String gunzip(byte[] body) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			return new String(in.readAllBytes());
+		}
+	}
+
+}
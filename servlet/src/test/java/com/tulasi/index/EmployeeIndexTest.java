@@ -0,0 +1,140 @@
+package com.tulasi.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.repo.EmployeeRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class EmployeeIndexTest {
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	Path dir;
+
+	private EmployeeIndex index(Path snapshot) {
+		return new EmployeeIndex(repo, entityManager, transactionManager, new SimpleMeterRegistry(), true, snapshot);
+	}
+
+	private Employee save(String name, Double salary) {
+		return repo.save(new Employee(0, name, "IT", salary, name + "@example.com", null));
+	}
+
+	@Test
+	void testColdStartLoadsTheWholeTable() {
+		Employee tulasi = save("Tulasi", 6000.0);
+		Employee ravi = save("Ravi", null);
+		EmployeeIndex index = index(dir.resolve("index.snap"));
+		assertNull(index.get(tulasi.getId()));
+
+		index.warm();
+
+		assertTrue(index.isReady());
+		assertEquals(2, index.size());
+		Employee found = index.get(tulasi.getId());
+		assertEquals("Tulasi", found.getName());
+		assertEquals("IT", found.getDepartment());
+		assertEquals(6000.0, found.getSalary());
+		assertEquals("Tulasi@example.com", found.getEmail());
+		assertNull(found.getPhno());
+		assertNull(index.get(ravi.getId()).getSalary());
+		assertNull(index.get(ravi.getId() + 1000));
+	}
+
+	@Test
+	void testWarmStartReplaysOnlyWhatChangedSinceTheSnapshot() throws Exception {
+		Employee kept = save("Tulasi", 6000.0);
+		Employee updated = save("Ravi", 7000.0);
+		Employee deleted = save("Anu", 8000.0);
+		Path snapshot = dir.resolve("index.snap");
+		EmployeeIndex before = index(snapshot);
+		before.warm();
+		before.snapshot();
+		assertTrue(Files.size(snapshot) > 0);
+
+		repo.updateById(updated.getId(), "Ravi Kumar", "HR", 7500.0, "ravi@example.com", null);
+		repo.deleteEmployeeById(deleted.getId());
+		Employee added = save("Sita", 9000.0);
+
+		EmployeeIndex after = index(snapshot);
+		after.warm();
+
+		assertEquals(3, after.size());
+		assertEquals("Tulasi", after.get(kept.getId()).getName());
+		Employee refreshed = after.get(updated.getId());
+		assertEquals("Ravi Kumar", refreshed.getName());
+		assertEquals(1, refreshed.getVersion());
+		assertNull(after.get(deleted.getId()));
+		assertEquals("Sita", after.get(added.getId()).getName());
+	}
+
+	@Test
+	void testCorruptSnapshotFallsBackToFullLoad() throws Exception {
+		Employee tulasi = save("Tulasi", 6000.0);
+		Path snapshot = dir.resolve("index.snap");
+		Files.write(snapshot, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20,
+				21, 22, 23, 24, 25 });
+
+		EmployeeIndex index = index(snapshot);
+		index.warm();
+
+		assertEquals("Tulasi", index.get(tulasi.getId()).getName());
+	}
+
+	@Test
+	void testWriteEvictsAndStaleFillIsDropped() {
+		Employee tulasi = save("Tulasi", 6000.0);
+		EmployeeIndex index = index(dir.resolve("index.snap"));
+		index.warm();
+
+		long beforeWrite = index.changeCount();
+		index.onEmployeeChanged(EmployeeChangedEvent.updated(tulasi));
+		assertNull(index.get(tulasi.getId()));
+
+		// loaded before the write committed: may be the old row
+		index.fill(tulasi, beforeWrite);
+		assertNull(index.get(tulasi.getId()));
+
+		index.fill(tulasi, index.changeCount());
+		assertEquals("Tulasi", index.get(tulasi.getId()).getName());
+	}
+
+	@Test
+	void testStoreCompactsReplacedRecords() {
+		EmployeeIndex.Store store = new EmployeeIndex.Store(16, 0);
+		for (int round = 0; round < 20; round++) {
+			for (int id = 1; id <= 5000; id++) {
+				store.put(new Employee(id, "emp" + id + "-" + round, "IT", 5000.0, id + "@example.com", "9876543210"));
+			}
+		}
+		assertEquals(5000, store.size());
+		assertEquals("emp4321-19", store.get(4321).getName());
+		// twenty generations of every record would need several MiB; compaction keeps it near one
+		assertFalse(store.offHeapBytes() > 4 * 1024 * 1024, "arena grew to " + store.offHeapBytes());
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.tulasi.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IdOffsetTableTest {
+
+	@Test
+	void testMatchesHashMapUnderRandomPutsAndRemoves() {
+		IdOffsetTable table = new IdOffsetTable(4);
+		Map<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 200_000; i++) {
+			// a small id range keeps probe runs long, which is where backward-shift removal can go wrong
+			int id = 1 + random.nextInt(5000);
+			if (random.nextInt(3) == 0) {
+				Integer removed = expected.remove(id);
+				assertEquals(removed == null ? -1 : removed, table.remove(id));
+			} else {
+				Integer previous = expected.put(id, i);
+				assertEquals(previous == null ? -1 : previous, table.put(id, i));
+			}
+		}
+		assertEquals(expected.size(), table.size());
+		for (int id = 1; id <= 5000; id++) {
+			assertEquals(expected.getOrDefault(id, -1), table.get(id));
+		}
+	}
+
+	@Test
+	void testRejectsNonPositiveIds() {
+		IdOffsetTable table = new IdOffsetTable(16);
+		assertThrows(IllegalArgumentException.class, () -> table.put(0, 1));
+		assertEquals(-1, table.get(0));
+		assertEquals(-1, table.get(-5));
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.tulasi.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.tulasi.dto.IngestStatus;
+import com.tulasi.dto.IngestStatus.State;
+import com.tulasi.entity.Employee;
+import com.tulasi.repo.EmployeeRepo;
+
+/**
+ * The ingestor against the real service and H2: an email taken by another
+ * transaction after the duplicate check fails only its own row.
+ */
+@SpringBootTest(properties = { "employee.ingest.enabled=true", "employee.ingest.max-delay=200ms" })
+@AutoConfigureTestDatabase
+class WriteBehindIngestorRaceTest {
+
+	@Autowired
+	private WriteBehindIngestor ingestor;
+
+	@MockitoSpyBean
+	private EmployeeRepo repo;
+
+	@Test
+	void testEmailTakenAfterTheDuplicateCheckFailsOnlyItsRow() throws Exception {
+		// the racing insert commits right after the batch has found none of its emails taken
+		AtomicBoolean raced = new AtomicBoolean();
+		doAnswer(inv -> {
+			if (raced.compareAndSet(false, true)) {
+				CompletableFuture.runAsync(() -> repo.save(employee("raced"))).join();
+			}
+			return List.of();
+		}).when(repo).findExistingEmails(anyCollection());
+
+		List<IngestStatus> submitted = List.of(ingestor.submit(employee("before")), ingestor.submit(employee("raced")),
+				ingestor.submit(employee("after")));
+
+		assertEquals(State.CREATED, awaitOutcome(submitted.get(0)).state());
+		assertEquals(IngestStatus.failed(submitted.get(1).token(), "email already exists"),
+				awaitOutcome(submitted.get(1)));
+		assertEquals(State.CREATED, awaitOutcome(submitted.get(2)).state());
+	}
+
+	private IngestStatus awaitOutcome(IngestStatus queued) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		IngestStatus status = ingestor.status(queued.token());
+		while (status.state() == State.QUEUED && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+			status = ingestor.status(queued.token());
+		}
+		return status;
+	}
+
+	private static Employee employee(String name) {
+		return new Employee(0, name, "IT", 5000.0, "ingest-" + name + "@example.com", "9876543210");
+	}
+
+}
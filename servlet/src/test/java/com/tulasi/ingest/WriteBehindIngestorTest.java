@@ -0,0 +1,162 @@
+package com.tulasi.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkInsertResult.RowError;
+import com.tulasi.dto.IngestStatus;
+import com.tulasi.dto.IngestStatus.State;
+import com.tulasi.entity.Employee;
+import com.tulasi.exception.IngestQueueFullException;
+import com.tulasi.service.EmployeeService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WriteBehindIngestorTest {
+
+	private final EmployeeService service = mock(EmployeeService.class);
+	private final AtomicInteger nextId = new AtomicInteger(1);
+	private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+	private WriteBehindIngestor ingestor;
+
+	@AfterEach
+	void tearDown() {
+		if (ingestor.isRunning()) {
+			ingestor.stop();
+		}
+	}
+
+	private WriteBehindIngestor start(int capacity, int batchSize) {
+		ingestor = new WriteBehindIngestor(service, new SimpleMeterRegistry(), capacity, batchSize,
+				Duration.ofMillis(100), Duration.ofMinutes(1), Duration.ofSeconds(10));
+		ingestor.start();
+		return ingestor;
+	}
+
+	private static Employee employee(int n) {
+		return new Employee(0, "emp" + n, "IT", 5000.0, "emp" + n + "@example.com", "9876543210");
+	}
+
+	private void insertAll() {
+		when(service.bulkAddEmployees(anyList())).thenAnswer(inv -> {
+			List<?> rows = inv.getArgument(0);
+			batchSizes.add(rows.size());
+			List<Integer> ids = new ArrayList<>();
+			for (int i = 0; i < rows.size(); i++) {
+				ids.add(nextId.getAndIncrement());
+			}
+			return new BulkInsertResult(rows.size(), rows.size(), ids, List.of());
+		});
+	}
+
+	@Test
+	void testSubmittedRowsAreWrittenInBatchesAndDrainedOnStop() {
+		insertAll();
+		start(100, 10);
+
+		List<IngestStatus> accepted = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			IngestStatus status = ingestor.submit(employee(i));
+			assertEquals(State.QUEUED, status.state());
+			accepted.add(status);
+		}
+		ingestor.stop();
+
+		assertEquals(0, ingestor.queued());
+		assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+		assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+		assertTrue(batchSizes.size() < 25, "rows should share batches: " + batchSizes);
+		for (IngestStatus status : accepted) {
+			IngestStatus done = ingestor.status(status.token());
+			assertEquals(State.CREATED, done.state());
+			assertTrue(done.id() > 0);
+		}
+	}
+
+	@Test
+	void testRejectedRowIsReportedAndTheRestKeepTheirIds() {
+		when(service.bulkAddEmployees(anyList())).thenReturn(
+				new BulkInsertResult(3, 2, List.of(7, 8), List.of(new RowError(1, "email already exists"))));
+		start(100, 3);
+
+		IngestStatus first = ingestor.submit(employee(1));
+		IngestStatus second = ingestor.submit(employee(2));
+		IngestStatus third = ingestor.submit(employee(3));
+		ingestor.stop();
+
+		assertEquals(IngestStatus.created(first.token(), 7), ingestor.status(first.token()));
+		assertEquals(IngestStatus.failed(second.token(), "email already exists"), ingestor.status(second.token()));
+		assertEquals(IngestStatus.created(third.token(), 8), ingestor.status(third.token()));
+	}
+
+	@Test
+	void testConstraintViolationFallsBackToRowByRow() {
+		when(service.bulkAddEmployees(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+		when(service.addEmployee(any(Employee.class))).thenAnswer(inv -> {
+			Employee emp = inv.getArgument(0);
+			if (emp.getName().equals("emp2")) {
+				throw new DataIntegrityViolationException("duplicate");
+			}
+			emp.setId(nextId.getAndIncrement());
+			return emp;
+		});
+		start(100, 10);
+
+		IngestStatus first = ingestor.submit(employee(1));
+		IngestStatus second = ingestor.submit(employee(2));
+		ingestor.stop();
+
+		assertEquals(State.CREATED, ingestor.status(first.token()).state());
+		assertEquals(IngestStatus.failed(second.token(), "email already exists"), ingestor.status(second.token()));
+	}
+
+	@Test
+	void testFullQueueRejectsUntilTheFlusherCatchesUp() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch writing = new CountDownLatch(1);
+		when(service.bulkAddEmployees(anyList())).thenAnswer(inv -> {
+			writing.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			List<?> rows = inv.getArgument(0);
+			List<Integer> ids = new ArrayList<>();
+			for (int i = 0; i < rows.size(); i++) {
+				ids.add(nextId.getAndIncrement());
+			}
+			return new BulkInsertResult(rows.size(), rows.size(), ids, List.of());
+		});
+		start(2, 1);
+
+		IngestStatus inFlight = ingestor.submit(employee(0));
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		IngestStatus a = ingestor.submit(employee(1));
+		IngestStatus b = ingestor.submit(employee(2));
+		assertThrows(IngestQueueFullException.class, () -> ingestor.submit(employee(3)));
+
+		release.countDown();
+		ingestor.stop();
+
+		for (IngestStatus status : List.of(inFlight, a, b)) {
+			assertEquals(State.CREATED, ingestor.status(status.token()).state());
+		}
+		assertThrows(IngestQueueFullException.class, () -> ingestor.submit(employee(4)));
+	}
+
+}
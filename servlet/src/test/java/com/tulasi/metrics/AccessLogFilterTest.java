@@ -0,0 +1,123 @@
+package com.tulasi.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class AccessLogFilterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+	private final ListAppender<ILoggingEvent> lines = new ListAppender<>();
+
+	@BeforeEach
+	void attach() {
+		lines.start();
+		accessLogger.addAppender(lines);
+	}
+
+	@AfterEach
+	void detach() {
+		accessLogger.detachAppender(lines);
+	}
+
+	private AccessLogFilter filter(double sampleRate) {
+		return new AccessLogFilter(objectMapper, sampleRate, Duration.ofSeconds(10).toNanos());
+	}
+
+	private static MockFilterChain respondingWith(int status, int queries) {
+		return new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				QueryCounter counter = new QueryCounter();
+				for (int i = 0; i < queries; i++) {
+					counter.inspect("select 1");
+				}
+				req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/{id}");
+				resp.setStatus(status);
+			}
+		});
+	}
+
+	@Test
+	void testSuccessIsSkippedWhenNotSampled() throws Exception {
+		filter(0.0).doFilter(new MockHttpServletRequest("GET", "/api/1"), new MockHttpServletResponse(),
+				respondingWith(200, 1));
+
+		assertTrue(lines.list.isEmpty());
+	}
+
+	@Test
+	void testSampledSuccessIsOneJsonLine() throws Exception {
+		filter(1.0).doFilter(new MockHttpServletRequest("GET", "/api/1"), new MockHttpServletResponse(),
+				respondingWith(200, 2));
+
+		assertEquals(1, lines.list.size());
+		JsonNode line = objectMapper.readTree(lines.list.get(0).getFormattedMessage());
+		assertEquals("GET", line.get("method").asText());
+		assertEquals("/api/1", line.get("path").asText());
+		assertEquals("/api/{id}", line.get("route").asText());
+		assertEquals(200, line.get("status").asInt());
+		assertEquals(2, line.get("queries").asInt());
+		assertEquals(1.0, line.get("sampleRate").asDouble());
+		assertTrue(line.get("ms").asDouble() >= 0);
+		assertTrue(line.has("ts"));
+		assertTrue(!line.has("error"));
+	}
+
+	@Test
+	void testErrorsAreAlwaysLogged() throws Exception {
+		filter(0.0).doFilter(new MockHttpServletRequest("GET", "/api/99"), new MockHttpServletResponse(),
+				respondingWith(404, 1));
+
+		assertEquals(1, lines.list.size());
+		assertEquals(404, objectMapper.readTree(lines.list.get(0).getFormattedMessage()).get("status").asInt());
+	}
+
+	@Test
+	void testSlowRequestsAreAlwaysLogged() throws Exception {
+		new AccessLogFilter(objectMapper, 0.0, 0).doFilter(new MockHttpServletRequest("GET", "/api"),
+				new MockHttpServletResponse(), respondingWith(200, 1));
+
+		assertEquals(1, lines.list.size());
+	}
+
+	@Test
+	void testUncaughtExceptionIsLoggedAs500AndRethrown() throws Exception {
+		MockFilterChain failing = new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				throw new IllegalStateException("boom");
+			}
+		});
+
+		assertThrows(IllegalStateException.class, () -> filter(0.0)
+				.doFilter(new MockHttpServletRequest("POST", "/api/add"), new MockHttpServletResponse(), failing));
+
+		JsonNode line = objectMapper.readTree(lines.list.get(0).getFormattedMessage());
+		assertEquals(500, line.get("status").asInt());
+		assertEquals("IllegalStateException", line.get("error").asText());
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.tulasi.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void testPrometheusScrapeHasHotPathMetrics() throws Exception {
+		mockMvc.perform(post("/api/add").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"tulasi\",\"department\":\"HR\",\"salary\":6000,\"email\":\"metrics@example.com\"}"))
+				.andExpect(status().isCreated());
+		mockMvc.perform(get("/api")).andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk()).andReturn()
+				.getResponse().getContentAsString();
+
+		assertTrue(scrape.contains("http_server_requests_seconds_bucket"), "endpoint histograms");
+		assertTrue(scrape.contains("employee_service_seconds_count"), "service timers");
+		assertTrue(scrape.contains("http_server_requests_sql_count{method=\"GET\",uri=\"/api\"}"), "queries per request");
+		assertTrue(scrape.contains("hibernate_statements_total"), "hibernate statistics");
+		// Hikari pool metrics are not asserted: the embedded test DataSource is not a Hikari pool
+		assertTrue(scrape.contains("cache_gets_total{cache=\"employees\""), "cache counters");
+	}
+
+}
@@ -0,0 +1,258 @@
+package com.tulasi.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.entity.Employee;
+import com.tulasi.entity.EmployeeChange;
+import com.tulasi.event.EmployeeChangedEvent.Type;
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.repo.EmployeeChangeRepo;
+import com.tulasi.service.EmployeeService;
+
+/**
+ * Outbox writes, the relay and the SSE endpoint together, through the
+ * embedded Tomcat.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"employee.changes.poll-interval=20ms",
+		"employee.changes.buffer-size=2" })
+@AutoConfigureTestDatabase
+@ExtendWith(OutputCaptureExtension.class)
+class ChangeStreamTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmployeeService service;
+
+	@Autowired
+	private EmployeeChangeRepo changes;
+
+	@Autowired
+	private ChangeRelay relay;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private final List<Stream<String>> streams = new ArrayList<>();
+
+	@AfterEach
+	void closeStreams() {
+		streams.forEach(Stream::close);
+	}
+
+	@Test
+	void testWritesAddOutboxRowsInTheirTransaction() {
+		long before = relay.lastRelayed();
+		Employee created = service.addEmployee(employee("outbox@example.com"));
+		service.updateEmployee(created.getId(), employee("outbox@example.com"), null);
+		service.patchEmployee(created.getId(), new EmployeePatch(null, null, 9000.0, null, null));
+		service.deleteEmployee(created.getId(), null);
+		// rolled back: no row
+		assertThrows(EmployeeNotFoundException.class, () -> service.deleteEmployee(created.getId(), null));
+
+		List<EmployeeChange> rows = changes.findAll().stream()
+				.filter(c -> c.getId() > before && c.getEmployeeId() == created.getId()).toList();
+		assertEquals(List.of(Type.CREATED, Type.UPDATED, Type.PATCHED, Type.DELETED),
+				rows.stream().map(EmployeeChange::getType).toList());
+		assertTrue(rows.get(0).getPayload().contains("\"email\":\"outbox@example.com\""), rows.get(0).getPayload());
+		assertEquals(null, rows.get(3).getPayload());
+	}
+
+	@Test
+	void testDuplicateAddIsAConflictAndAddsNoRow() throws Exception {
+		String body = "{\"name\":\"dup\",\"department\":\"IT\",\"salary\":5000,\"email\":\"dup-add@example.com\"}";
+		assertEquals(201, post("/api/add", body).statusCode());
+		long before = changes.maxId();
+
+		HttpResponse<String> duplicate = post("/api/add", body);
+
+		assertEquals(409, duplicate.statusCode());
+		assertTrue(duplicate.body().contains("Duplicate Employee data") && !duplicate.body().contains("insert into"),
+				duplicate.body());
+		assertEquals(before, changes.maxId());
+	}
+
+	@Test
+	void testSubscribersReceiveChangesInOrderAndResume() throws Exception {
+		BlockingQueue<String> first = subscribe(null);
+		BlockingQueue<String> second = subscribe(null);
+		awaitSubscribers(2);
+
+		Employee a = service.addEmployee(employee("sse-a@example.com"));
+		Employee b = service.addEmployee(employee("sse-b@example.com"));
+		service.deleteEmployee(a.getId(), null);
+
+		List<String> seen = events(first, 3);
+		assertEquals(seen, events(second, 3));
+		assertTrue(seen.get(0).contains("\"type\":\"CREATED\",\"id\":" + a.getId()), seen.get(0));
+		assertTrue(seen.get(1).contains("\"id\":" + b.getId() + ","), seen.get(1));
+		assertTrue(seen.get(2).contains("\"type\":\"DELETED\",\"id\":" + a.getId() + ",") && seen.get(2)
+				.endsWith("\"employee\":null}"), seen.get(2));
+
+		// resume after the first event: the next two come back, from the table since the buffer holds only two
+		long firstOffset = offsetOf(seen.get(0));
+		service.addEmployee(employee("sse-c@example.com"));
+		events(first, 1);
+		List<String> resumed = events(subscribe(firstOffset), 3);
+		assertEquals(seen.subList(1, 3), resumed.subList(0, 2));
+		assertTrue(resumed.get(2).contains("sse-c@example.com"), resumed.get(2));
+	}
+
+	@Test
+	void testCompactionKeepsLatestChangePerEmployeeAndRetentionForcesResync() throws Exception {
+		Timestamp old = Timestamp.from(Instant.now().minus(2, ChronoUnit.HOURS));
+		Timestamp ancient = Timestamp.from(Instant.now().minus(30, ChronoUnit.DAYS));
+		jdbc.update("insert into employee_change (employee_id, type, payload, created_at) values (?, ?, ?, ?)",
+				-2, "CREATED", null, ancient);
+		long purged = changes.maxId();
+		for (String type : new String[] { "CREATED", "UPDATED", "PATCHED" }) {
+			jdbc.update("insert into employee_change (employee_id, type, payload, created_at) values (?, ?, ?, ?)",
+					-1, type, null, old);
+		}
+
+		relay.compact();
+
+		List<EmployeeChange> left = changes.findAll().stream().filter(c -> c.getEmployeeId() < 0).toList();
+		assertEquals(1, left.size());
+		assertEquals(Type.PATCHED, left.get(0).getType());
+
+		List<String> resync = events(subscribe(purged - 1), 1);
+		assertTrue(resync.get(0).contains("|event:resync|"), resync.get(0));
+	}
+
+	@Test
+	void testDisconnectedSubscriberIsDroppedQuietly(CapturedOutput output) throws Exception {
+		subscribe(null);
+		// earlier tests' subscribers are closed too, but stay registered until a send fails
+		streams.forEach(Stream::close);
+
+		// a send into the closed connection is what notices the client has gone
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		for (int i = 0; relay.subscribers() > 0 && System.nanoTime() < deadline; i++) {
+			service.addEmployee(employee("gone-" + i + "@example.com"));
+			Thread.sleep(50);
+		}
+		assertEquals(0, relay.subscribers());
+		Thread.sleep(200);
+
+		assertFalse(output.getAll().contains("AsyncRequestNotUsableException"), output.getAll());
+		assertFalse(output.getAll().contains("No converter for"), output.getAll());
+	}
+
+	@Test
+	void testMalformedLastEventIdIsRejected() throws Exception {
+		HttpResponse<String> response = HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/changes"))
+						.header("Last-Event-ID", "abc").build(),
+				HttpResponse.BodyHandlers.ofString());
+
+		assertEquals(400, response.statusCode());
+	}
+
+	private HttpResponse<String> post(String path, String json) throws Exception {
+		return HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+
+	// raw SSE lines of each named event, joined with '|'; heartbeats and the initial retry hint are skipped
+	private BlockingQueue<String> subscribe(Long after) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/changes"));
+		if (after != null) {
+			request.header("Last-Event-ID", String.valueOf(after));
+		}
+		HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request.build(),
+				HttpResponse.BodyHandlers.ofLines());
+		assertEquals(200, response.statusCode());
+		streams.add(response.body());
+		BlockingQueue<String> events = new LinkedBlockingQueue<>();
+		Thread reader = new Thread(() -> {
+			StringBuilder event = new StringBuilder();
+			Iterator<String> lines = response.body().iterator();
+			while (hasNext(lines)) {
+				String line = lines.next();
+				if (line.isEmpty()) {
+					if (event.indexOf("event:") >= 0) {
+						events.add(event.toString());
+					}
+					event.setLength(0);
+				} else if (!line.startsWith(":")) {
+					event.append(event.length() > 0 ? "|" : "").append(line);
+				}
+			}
+		});
+		reader.setDaemon(true);
+		reader.start();
+		return events;
+	}
+
+	// false once the test has closed the stream
+	private static boolean hasNext(Iterator<String> lines) {
+		try {
+			return lines.hasNext();
+		} catch (UncheckedIOException e) {
+			return false;
+		}
+	}
+
+	private void awaitSubscribers(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (relay.subscribers() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, relay.subscribers());
+	}
+
+	private static List<String> events(BlockingQueue<String> queue, int count) throws InterruptedException {
+		List<String> events = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String event = queue.poll(5, TimeUnit.SECONDS);
+			assertTrue(event != null, "only " + events + " within 5s");
+			events.add(event);
+		}
+		return events;
+	}
+
+	private static long offsetOf(String event) {
+		return Long.parseLong(event.substring("id:".length(), event.indexOf('|')));
+	}
+
+	private static Employee employee(String email) {
+		return new Employee(0, "Streamer", "Engineering", 5000.0, email, "9876543210");
+	}
+
+}
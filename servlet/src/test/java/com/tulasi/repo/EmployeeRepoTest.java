@@ -0,0 +1,121 @@
+package com.tulasi.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.tulasi.dto.DepartmentTotals;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.entity.Employee;
+
+@DataJpaTest
+class EmployeeRepoTest {
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	@Test
+	void testUpdateById() {
+		Employee saved = repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+
+		assertEquals(1, repo.updateById(saved.getId(), "Ravi", "IT", 7000.0, "ravi@example.com", null));
+		assertEquals(0, repo.updateById(saved.getId() + 1000, "Ravi", "IT", 7000.0, "ravi@example.com", null));
+
+		Employee stored = repo.findById(saved.getId()).orElseThrow();
+		assertEquals("Ravi", stored.getName());
+		assertEquals("ravi@example.com", stored.getEmail());
+	}
+
+	@Test
+	void testUpdateByIdAndVersion_bumpsVersion() {
+		Employee saved = repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+		long version = saved.getVersion();
+
+		assertEquals(1, repo.updateByIdAndVersion(saved.getId(), version, "Ravi", "IT", 7000.0, "ravi@example.com", null));
+		// the client that still holds the old version loses
+		assertEquals(0, repo.updateByIdAndVersion(saved.getId(), version, "Anu", "IT", 7000.0, "anu@example.com", null));
+		assertEquals(1, repo.patchById(saved.getId(), new EmployeePatch(null, null, 8000.0, null, null)));
+
+		Employee stored = repo.findById(saved.getId()).orElseThrow();
+		assertEquals("Ravi", stored.getName());
+		assertEquals(version + 2, stored.getVersion());
+		assertEquals(0, repo.deleteEmployeeByIdAndVersion(saved.getId(), version));
+		assertEquals(1, repo.deleteEmployeeByIdAndVersion(saved.getId(), version + 2));
+	}
+
+	@Test
+	void testPatchById_writesOnlyGivenFields() {
+		Employee saved = repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+
+		assertEquals(1, repo.patchById(saved.getId(), new EmployeePatch(null, "IT", 9000.0, null, null)));
+
+		Employee stored = repo.findById(saved.getId()).orElseThrow();
+		assertEquals("Tulasi", stored.getName());
+		assertEquals("IT", stored.getDepartment());
+		assertEquals(9000.0, stored.getSalary());
+		assertEquals("9876543210", stored.getPhno());
+	}
+
+	@Test
+	void testDeleteEmployeeById() {
+		Employee saved = repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+
+		assertEquals(1, repo.deleteEmployeeById(saved.getId()));
+		assertEquals(0, repo.deleteEmployeeById(saved.getId()));
+		assertFalse(repo.existsById(saved.getId()));
+	}
+
+	@Test
+	void testDepartmentTotals() {
+		repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+		repo.save(new Employee(0, "Ravi", "HR", 8000.0, "ravi@example.com", "9876543211"));
+		repo.save(new Employee(0, "Anu", "IT", 9000.0, "anu@example.com", "9876543212"));
+
+		List<DepartmentTotals> totals = repo.departmentTotals().stream()
+				.sorted(Comparator.comparing(DepartmentTotals::department)).toList();
+
+		assertEquals(new DepartmentTotals("HR", 2, 14000.0, 6000.0, 8000.0), totals.get(0));
+		assertEquals(new DepartmentTotals("IT", 1, 9000.0, 9000.0, 9000.0), totals.get(1));
+	}
+
+	@Test
+	void testFindFieldsByIdGreaterThan() {
+		Employee first = repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+		repo.save(new Employee(0, "Ravi", "IT", 8000.0, "ravi@example.com", "9876543211"));
+
+		List<Map<String, Object>> rows = repo.findFieldsByIdGreaterThan(List.of("id", "name"), first.getId(), 10);
+
+		assertEquals(1, rows.size());
+		assertEquals(List.of("id", "name"), List.copyOf(rows.get(0).keySet()));
+		assertEquals("Ravi", rows.get(0).get("name"));
+	}
+
+	@Test
+	void testUpsertByEmail_insertsOrUpdates() {
+		Employee existing = repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+		long version = existing.getVersion();
+		List<Employee> rows = List.of(new Employee(0, "Tulasi R", "IT", 7000.0, "tulasi@example.com", null),
+				new Employee(0, "Ravi", "HR", 5000.0, "ravi@example.com", "9876543211"));
+
+		boolean[] created = repo.upsertByEmail(rows);
+
+		assertFalse(created[0]);
+		assertTrue(created[1]);
+		assertEquals(existing.getId(), rows.get(0).getId());
+		assertEquals(version + 1, rows.get(0).getVersion());
+		assertEquals(2, repo.count());
+		Employee updated = repo.findById(existing.getId()).orElseThrow();
+		assertEquals("Tulasi R", updated.getName());
+		assertEquals(7000.0, updated.getSalary());
+		assertEquals("Ravi", repo.findById(rows.get(1).getId()).orElseThrow().getName());
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.tulasi.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.entity.Employee;
+
+/**
+ * Runs each search filter through the real Specification, captures the SQL
+ * Hibernate generates and checks H2's EXPLAIN picks the filter's index instead
+ * of a table scan.
+ * <p>
+ * Only first pages are checked: H2 costs every range alike, so once the
+ * {@code id > cursor} range is present it prefers the primary key. MySQL
+ * estimates both ranges with index dives and keeps the selective one.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.tulasi.repo.EmployeeSearchPlanTest$LastStatement",
+		// render filter values as literals so EXPLAIN sees the same selectivity the real query has
+		"spring.jpa.properties.hibernate.criteria.value_handling_mode=inline" })
+class EmployeeSearchPlanTest {
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeEach
+	void setup() throws SQLException {
+		repo.save(new Employee(0, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210"));
+		repo.save(new Employee(0, "Tarun", "HR", 8000.0, "tarun@example.com", "9876543211"));
+		repo.save(new Employee(0, "Anu", "IT", 9000.0, "anu@example.com", "9876543212"));
+		// enough unrelated rows that a scan is clearly the expensive plan
+		for (int i = 0; i < 500; i++) {
+			repo.save(new Employee(0, "Emp" + i, "Dept" + (i % 20), 1000.0 + i, "emp" + i + "@example.com", null));
+		}
+		repo.flush();
+		try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+			st.execute("ANALYZE");
+		}
+	}
+
+	@Test
+	void testDepartmentAndSalaryRangeUseCompositeIndex() throws SQLException {
+		List<Employee> found = search(new EmployeeSearch("HR", 7000.0, 9000.0, null, null));
+
+		assertEquals(1, found.size());
+		assertEquals("Tarun", found.get(0).getName());
+		assertPlanUses("IDX_EMPLOYEE_DEPARTMENT_SALARY");
+	}
+
+	@Test
+	void testSalaryRangeAloneUsesSalaryIndex() throws SQLException {
+		List<Employee> found = search(new EmployeeSearch(null, 7000.0, null, null, null));
+
+		assertEquals(2, found.size());
+		assertPlanUses("IDX_EMPLOYEE_SALARY");
+	}
+
+	@Test
+	void testNamePrefixUsesNameIndex() throws SQLException {
+		List<Employee> found = search(new EmployeeSearch(null, null, null, null, "Tu"));
+
+		assertEquals(1, found.size());
+		assertPlanUses("IDX_EMPLOYEE_NAME");
+	}
+
+	@Test
+	void testEmailUsesUniqueIndex() throws SQLException {
+		List<Employee> found = search(new EmployeeSearch(null, null, null, "anu@example.com", null));
+
+		assertEquals(1, found.size());
+		assertPlanUses("UK");
+	}
+
+	@Test
+	void testNamePrefixWildcardsAreLiteral() {
+		assertTrue(search(new EmployeeSearch(null, null, null, null, "T%")).isEmpty());
+		assertEquals("50\\%\\_off\\\\", EmployeeSpecs.escapeLike("50%_off\\"));
+	}
+
+	private List<Employee> search(EmployeeSearch search) {
+		return repo.findBy(EmployeeSpecs.matching(search, 0), q -> q.sortBy(Sort.by("id")).limit(51).all());
+	}
+
+	private void assertPlanUses(String index) throws SQLException {
+		String plan = explain(LastStatement.sql);
+		assertFalse(plan.contains("tableScan"), plan);
+		assertTrue(plan.toUpperCase().contains(index), plan);
+	}
+
+	// only the row limit is still a bind parameter
+	private String explain(String sql) throws SQLException {
+		try (Connection c = dataSource.getConnection();
+				PreparedStatement ps = c.prepareStatement("EXPLAIN " + sql)) {
+			int params = ps.getParameterMetaData().getParameterCount();
+			for (int i = 1; i <= params; i++) {
+				ps.setInt(i, 51);
+			}
+			try (ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getString(1);
+			}
+		}
+	}
+
+	public static class LastStatement implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+
+		static volatile String sql;
+
+		@Override
+		public String inspect(String sql) {
+			LastStatement.sql = sql;
+			return sql;
+		}
+
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.tulasi.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadWriteRoutingDataSourceTest {
+
+	private final DataSource primary = mock(DataSource.class);
+	private final DataSource replicaA = mock(DataSource.class);
+	private final DataSource replicaB = mock(DataSource.class);
+	private ReadWriteRoutingDataSource routing;
+
+	@BeforeEach
+	void setup() throws SQLException {
+		for (DataSource ds : new DataSource[] { primary, replicaA, replicaB }) {
+			Connection c = mock(Connection.class);
+			when(c.isValid(1)).thenReturn(true);
+			when(ds.getConnection()).thenReturn(c);
+		}
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("a", replicaA);
+		replicas.put("b", replicaB);
+		routing = new ReadWriteRoutingDataSource(primary, replicas, Duration.ofHours(1));
+	}
+
+	@AfterEach
+	void close() throws Exception {
+		routing.close();
+	}
+
+	@Test
+	void testReadOnlyRoundRobinsOverReplicas() throws SQLException {
+		read();
+		read();
+		read();
+
+		verify(replicaA, times(2)).getConnection();
+		verify(replicaB, times(1)).getConnection();
+	}
+
+	@Test
+	void testWritesStayOnPrimary() throws SQLException {
+		try (Connection c = routing.getConnection()) {
+			c.createStatement();
+		}
+
+		verify(replicaA, never()).getConnection();
+		verify(replicaB, never()).getConnection();
+	}
+
+	@Test
+	void testFailedReplicaLeavesRotationUntilHealthCheck() throws SQLException {
+		Connection healthy = replicaA.getConnection();
+		when(replicaA.getConnection()).thenThrow(new SQLException("down"));
+
+		read();
+		read();
+
+		assertFalse(routing.replicaStatus().get("a"));
+		verify(replicaB, times(2)).getConnection();
+
+		doReturn(healthy).when(replicaA).getConnection();
+		routing.checkReplicas();
+		assertTrue(routing.replicaStatus().get("a"));
+	}
+
+	@Test
+	void testAllReplicasDownFallsBackToPrimary() throws SQLException {
+		when(replicaA.getConnection()).thenThrow(new SQLException("down"));
+		when(replicaB.getConnection()).thenThrow(new SQLException("down"));
+
+		read();
+		read();
+
+		// one attempt each before they are marked down; the second read goes straight to the primary
+		verify(replicaA, times(1)).getConnection();
+		verify(replicaB, times(1)).getConnection();
+		assertEquals(Map.of("a", false, "b", false), routing.replicaStatus());
+	}
+
+	@Test
+	void testPinnedReadsUsePrimary() throws SQLException {
+		ReadYourWrites.onPrimary(() -> {
+			try {
+				read();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+			return null;
+		});
+
+		verify(replicaA, never()).getConnection();
+		verify(replicaB, never()).getConnection();
+	}
+
+	// what a read-only transaction does: mark the lazy connection read-only, then run a statement
+	private void read() throws SQLException {
+		try (Connection c = routing.getConnection()) {
+			c.setReadOnly(true);
+			c.createStatement();
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.tulasi.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Two embedded H2 databases stand in for primary and replica. The replica is
+ * deliberately out of sync, so every response shows which one served it. A
+ * second replica URL points at a database that does not exist.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"employee.datasource.routing.enabled=true",
+		"employee.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+		"employee.datasource.replicas[0].username=sa",
+		"employee.datasource.replicas[0].password=",
+		"employee.datasource.replicas[1].url=jdbc:h2:mem:missing;IFEXISTS=TRUE",
+		"employee.datasource.replicas[1].username=sa",
+		"employee.datasource.replicas[1].password=",
+		"employee.datasource.routing.replica-connect-timeout=250ms" })
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeAll
+	static void createReplica() throws SQLException {
+		try (Connection c = DriverManager.getConnection(REPLICA_URL, "sa", ""); Statement st = c.createStatement()) {
+			st.execute("create table if not exists employee (id integer primary key, department varchar(255),"
+					+ " email varchar(255), name varchar(255), phno varchar(255), salary float(53),"
+					+ " version bigint not null)");
+			st.execute("merge into employee key (id) values (900, 'HR', 'replica@example.com', 'from-replica',"
+					+ " null, 6000, 0)");
+			st.execute("create table if not exists employee_change (id bigint generated by default as identity"
+					+ " primary key, employee_id integer not null, type varchar(16) not null, payload varchar(2048),"
+					+ " created_at timestamp(6) not null)");
+			st.execute("create table if not exists table_version (name varchar(64) primary key, version bigint not null)");
+		}
+	}
+
+	@Test
+	void testReadsFromReplicaWritesToPrimaryAndReadYourWrites() throws Exception {
+		String readYourWrites = mockMvc.perform(post("/api/add").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"from-primary\",\"department\":\"HR\",\"salary\":6000,\"email\":\"rw@example.com\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader(ReadYourWrites.HEADER);
+		assertNotNull(readYourWrites);
+
+		// a read-only transaction: served by the replica, which never saw the insert
+		mockMvc.perform(get("/api")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].name").value("from-replica"));
+
+		// echoing the header pins the request to the primary
+		mockMvc.perform(get("/api").header(ReadYourWrites.HEADER, readYourWrites)).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].name").value("from-primary"));
+		mockMvc.perform(get("/api").header(ReadYourWrites.HEADER, "1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].name").value("from-replica"));
+	}
+
+	@Test
+	void testUnreachableReplicaIsTakenOutOfRotation() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			mockMvc.perform(get("/api")).andExpect(status().isOk())
+					.andExpect(jsonPath("$[0].name").value("from-replica"));
+		}
+
+		ReadWriteRoutingDataSource routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+		assertTrue(routing.replicaStatus().get("replica-0"));
+		assertFalse(routing.replicaStatus().get("replica-1"));
+		assertEquals(2, routing.replicaStatus().size());
+	}
+
+}
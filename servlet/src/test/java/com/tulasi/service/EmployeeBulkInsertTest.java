@@ -0,0 +1,127 @@
+package com.tulasi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tulasi.dto.BulkInsertResult;
+import com.tulasi.dto.BulkUpsertResult;
+import com.tulasi.entity.Employee;
+import com.tulasi.repo.EmployeeRepo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class EmployeeBulkInsertTest {
+
+	private static final int ROWS = 200;
+
+	@Autowired
+	private EmployeeService service;
+
+	@Autowired
+	private EmployeeRepo repo;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	private Statistics stats;
+
+	@BeforeEach
+	void setup() {
+		repo.deleteAllInBatch();
+		stats = emf.unwrap(SessionFactory.class).getStatistics();
+		stats.clear();
+	}
+
+	@Test
+	void testBulkInsert_batchesStatements() {
+		BulkInsertResult batched = service.bulkAddEmployees(employees("batched", ROWS));
+		long batchedStatements = stats.getPrepareStatementCount();
+
+		stats.clear();
+		// same workload with JDBC batching switched off for the session
+		BulkInsertResult unbatched = tx.execute(status -> {
+			entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+			return service.bulkAddEmployees(employees("single", ROWS));
+		});
+		long unbatchedStatements = stats.getPrepareStatementCount();
+
+		assertEquals(ROWS, batched.inserted());
+		assertEquals(ROWS, unbatched.inserted());
+		assertEquals(2L * ROWS, repo.count());
+		assertTrue(unbatchedStatements > ROWS, "unbatched: " + unbatchedStatements);
+		assertTrue(batchedStatements * 10 < unbatchedStatements,
+				"batched: " + batchedStatements + ", unbatched: " + unbatchedStatements);
+	}
+
+	@Test
+	void testBulkInsert_reportsRowErrors() {
+		repo.save(new Employee(0, "Existing", "HR", 5000.0, "taken@example.com", "9999999999"));
+		List<Employee> emps = employees("row", 3);
+		emps.get(0).setName(" ");
+		emps.get(1).setEmail("taken@example.com");
+		// the unique index may ignore case, so another spelling is still a duplicate
+		emps.add(new Employee(0, "Copy", "IT", 5000.0, emps.get(2).getEmail().toUpperCase(Locale.ROOT), "9999999999"));
+
+		BulkInsertResult result = service.bulkAddEmployees(emps);
+
+		assertEquals(4, result.received());
+		assertEquals(1, result.inserted());
+		assertEquals(List.of(0, 1, 3), result.errors().stream().map(BulkInsertResult.RowError::index).toList());
+		assertTrue(result.errors().get(0).message().startsWith("name"));
+		assertEquals("email already exists", result.errors().get(1).message());
+		assertEquals("email duplicates row 2", result.errors().get(2).message());
+		assertEquals(2, repo.count());
+	}
+
+	@Test
+	void testBulkUpsert_createsUpdatesAndReportsRowErrors() {
+		service.bulkAddEmployees(employees("sync", 2));
+		List<Employee> emps = employees("sync", 3);
+		emps.get(0).setSalary(9000.0);
+		emps.add(new Employee(0, "No email", "IT", 5000.0, null, "9999999999"));
+		// the unique index may ignore case, so another spelling is still a duplicate
+		emps.add(new Employee(0, "Copy", "IT", 5000.0, emps.get(2).getEmail().toUpperCase(Locale.ROOT), "9999999999"));
+
+		BulkUpsertResult result = service.bulkUpsertEmployeesByEmail(emps);
+
+		assertEquals(5, result.received());
+		assertEquals(2, result.updated().size());
+		assertEquals(1, result.created().size());
+		assertEquals(List.of(3, 4), result.errors().stream().map(BulkInsertResult.RowError::index).toList());
+		assertEquals("email duplicates row 2", result.errors().get(1).message());
+		assertEquals(3, repo.count());
+		assertEquals(9000.0, repo.findById(result.updated().get(0)).orElseThrow().getSalary());
+	}
+
+	private List<Employee> employees(String prefix, int n) {
+		List<Employee> emps = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			emps.add(new Employee(0, prefix + i, "IT", 5000.0 + i, prefix + i + "@example.com", "9876543210"));
+		}
+		return emps;
+	}
+
+}
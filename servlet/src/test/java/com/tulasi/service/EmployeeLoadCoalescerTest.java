@@ -0,0 +1,107 @@
+package com.tulasi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tulasi.entity.Employee;
+import com.tulasi.repo.EmployeeRepo;
+
+class EmployeeLoadCoalescerTest {
+
+	private final EmployeeRepo repo = mock(EmployeeRepo.class);
+	private final ExecutorService pool = Executors.newFixedThreadPool(16);
+	private EmployeeLoadCoalescer coalescer;
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testConcurrentLoadsShareOneQuery() throws Exception {
+		coalescer = new EmployeeLoadCoalescer(repo, true, Duration.ofMillis(50), 64);
+		when(repo.findAllById(anyIterable())).thenAnswer(inv -> {
+			List<Employee> found = new ArrayList<>();
+			for (Integer id : (Iterable<Integer>) inv.getArgument(0)) {
+				if (id != 13) {
+					found.add(new Employee(id, "emp" + id, "IT", 5000.0, id + "@example.com", "9876543210"));
+				}
+			}
+			return found;
+		});
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Optional<Employee>>> results = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			int id = i;
+			results.add(pool.submit(() -> {
+				start.await();
+				return coalescer.load(id);
+			}));
+		}
+		start.countDown();
+
+		for (int i = 0; i < 16; i++) {
+			Optional<Employee> emp = results.get(i).get(5, TimeUnit.SECONDS);
+			assertEquals(i != 13, emp.isPresent());
+			emp.ifPresent(found -> assertTrue(found.getName().startsWith("emp")));
+		}
+		// 16 lookups inside one window; allow a straggler to land in a second batch
+		verify(repo, atMost(2)).findAllById(anyIterable());
+	}
+
+	@Test
+	void testFullBatchDispatchesWithoutWaiting() {
+		coalescer = new EmployeeLoadCoalescer(repo, true, Duration.ofMinutes(1), 1);
+		when(repo.findAllById(anyIterable())).thenReturn(List.of());
+
+		assertTrue(coalescer.load(4).isEmpty());
+		verify(repo, times(1)).findAllById(anyIterable());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testSlowBatchDoesNotHoldUpLaterWindows() throws Exception {
+		coalescer = new EmployeeLoadCoalescer(repo, true, Duration.ofMillis(10), 64);
+		CountDownLatch slowQuery = new CountDownLatch(1);
+		when(repo.findAllById(anyIterable())).thenAnswer(inv -> {
+			if (((Iterable<Integer>) inv.getArgument(0)).iterator().next() == 1) {
+				slowQuery.await();
+			}
+			return List.of();
+		});
+
+		Future<Optional<Employee>> slow = pool.submit(() -> coalescer.load(1));
+		verify(repo, timeout(5000)).findAllById(anyIterable());
+
+		// a new window opens and resolves while the first query is still running
+		assertTrue(pool.submit(() -> coalescer.load(2)).get(5, TimeUnit.SECONDS).isEmpty());
+		assertFalse(slow.isDone());
+
+		slowQuery.countDown();
+		assertTrue(slow.get(5, TimeUnit.SECONDS).isEmpty());
+	}
+
+}
@@ -0,0 +1,517 @@
+package com.tulasi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.tulasi.cache.EmployeeCache;
+import com.tulasi.dto.EmployeeFieldsPage;
+import com.tulasi.dto.EmployeePage;
+import com.tulasi.dto.EmployeePatch;
+import com.tulasi.dto.EmployeeSearch;
+import com.tulasi.dto.UpsertResult;
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.exception.EmployeeNotFoundException;
+import com.tulasi.exception.EmployeeVersionMismatchException;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.index.EmployeeIndex;
+import com.tulasi.repo.EmployeeRepo;
+import com.tulasi.routing.ReadYourWrites;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceTest {
+	@Mock
+	private EmployeeRepo repo;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private EmployeeLoadCoalescer coalescer;
+
+	@Mock
+	private ApplicationEventPublisher events;
+
+	@Mock
+	private ReadYourWrites readYourWrites;
+
+	@Mock
+	private EmployeeIndex index;
+
+	@Spy
+	private EmployeeCache cache = new EmployeeCache(true, 100, Duration.ofMinutes(1), Duration.ofSeconds(30));
+	
+	// Inject mocks into the implementation, not the interface
+	@InjectMocks
+	private EmployeeServiceImpl service;
+	
+	private Employee e;
+	@BeforeEach
+	void setup() {
+		 e = new Employee(1, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210");
+		
+	}
+	@Test
+	void testAddEmployee() {
+		when(repo.saveAndFlush(any(Employee.class))).thenReturn(e);
+		
+		Employee saved = service.addEmployee(e);
+		assertNotNull(saved);
+		assertEquals("Tulasi", saved.getName());
+		verify(repo,times(1)).saveAndFlush(any(Employee.class));
+	}
+	@Test
+	void testAddEmployee_DataIntegrityViolation() {
+	    // Arrange
+	    when(repo.saveAndFlush(any(Employee.class)))
+	        .thenThrow(new DataIntegrityViolationException("email already exists"));
+
+	    // Act + Assert
+	    DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () -> {
+	        service.addEmployee(e);
+	    });
+
+	    assertEquals("Duplicate Employee data(email already exists)", ex.getMessage());
+	    verify(repo, times(1)).saveAndFlush(any(Employee.class));
+	}
+
+	
+	
+	
+	@Test
+	void testUpdateEmployee_sucess() {
+		when(repo.updateById(1, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210")).thenReturn(1);
+		
+		Employee updated = service.updateEmployee(1, e);
+		
+		assertEquals(6000.0, updated.getSalary());
+		assertEquals(1, updated.getId());
+		verify(repo,never()).findById(1);
+		verify(repo,never()).save(any(Employee.class));
+		verify(events,times(1)).publishEvent(EmployeeChangedEvent.updated(updated));
+	}
+	@Test
+	void testUpdateEmployee_failure() {
+		when(repo.updateById(1, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210")).thenReturn(0);
+		int id = 1;
+		EmployeeNotFoundException ex = assertThrows(EmployeeNotFoundException.class, ()->{
+			service.updateEmployee(1, e);
+		});
+		
+		assertEquals(String.format("Employee not found with the id %d",id), ex.getMessage());
+		verify(repo,never()).findById(1);
+		verify(cache,never()).invalidate(1);
+		verify(events,never()).publishEvent(any(Object.class));
+		
+	}
+	@Test
+	void testUpdateEmployee_staleVersion() {
+		when(repo.updateByIdAndVersion(1, 2L, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210")).thenReturn(0);
+		when(repo.existsById(1)).thenReturn(true);
+
+		assertThrows(EmployeeVersionMismatchException.class, () -> service.updateEmployee(1, e, 2L));
+		verify(cache,never()).invalidate(1);
+	}
+	@Test
+	void testUpdateEmployee_matchingVersion() {
+		when(repo.updateByIdAndVersion(1, 2L, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210")).thenReturn(1);
+
+		Employee updated = service.updateEmployee(1, e, 2L);
+
+		assertEquals(3L, updated.getVersion());
+		verify(repo,never()).existsById(1);
+	}
+	@Test
+	void testPatchEmployee_sucess() {
+		EmployeePatch patch = new EmployeePatch(null, null, 9000.0, null, null);
+		when(repo.patchById(1, patch)).thenReturn(1);
+
+		service.patchEmployee(1, patch);
+
+		verify(repo,times(1)).patchById(1, patch);
+		verify(cache,times(1)).invalidate(1);
+		verify(events,times(1)).publishEvent(
+				EmployeeChangedEvent.patched(new Employee(1, null, null, 9000.0, null, null)));
+	}
+	@Test
+	void testPatchEmployee_failure() {
+		EmployeePatch patch = new EmployeePatch("Ravi", null, null, null, null);
+		when(repo.patchById(1, patch)).thenReturn(0);
+
+		assertThrows(EmployeeNotFoundException.class, () -> service.patchEmployee(1, patch));
+	}
+	@Test
+	void testPatchEmployee_empty() {
+		EmployeePatch patch = new EmployeePatch(null, null, null, null, null);
+
+		assertThrows(InvalidEmployeeRequestException.class, () -> service.patchEmployee(1, patch));
+		verify(repo,never()).patchById(1, patch);
+	}
+	@Test
+	void testFindEmployeeById_Success(){
+		when(repo.findById(1)).thenReturn(Optional.of(e));
+		
+		Employee result = service.findEmployeeById(1);
+		
+		assertNotNull(result);
+		assertEquals(1, result.getId());
+		assertEquals("Tulasi", result.getName());
+		verify(repo,times(1)).findById(1);
+	}
+	
+	@Test
+	void testFindEmployeeById_fromIndex() {
+		when(index.get(1)).thenReturn(e);
+
+		assertEquals(e, service.findEmployeeById(1));
+		verify(repo, never()).findById(any());
+	}
+
+	@Test
+	void testFindEmployeeById_missFillsIndex() {
+		when(index.changeCount()).thenReturn(7L);
+		when(repo.findById(1)).thenReturn(Optional.of(e));
+
+		service.findEmployeeById(1);
+		verify(index).fill(e, 7L);
+	}
+
+	@Test
+	void testFindEmployeeById_failure() {
+		when(repo.findById(1)).thenReturn(Optional.empty());
+		
+		EmployeeNotFoundException ex = assertThrows(EmployeeNotFoundException.class,()->{
+			service.findEmployeeById(1);
+		});
+		
+		assertTrue(ex.getMessage().contains("Employee not found with id:1"));
+		verify(repo,times(1)).findById(1);
+	}
+	
+	@Test
+	void testFindEmployeeById_cached() {
+		when(repo.findById(1)).thenReturn(Optional.of(e));
+
+		service.findEmployeeById(1);
+		Employee result = service.findEmployeeById(1);
+
+		assertEquals("Tulasi", result.getName());
+		verify(repo, times(1)).findById(1);
+		assertEquals(1, cache.stats().hitCount());
+	}
+
+	@Test
+	void testFindEmployeeById_missingIsCached() {
+		when(repo.findById(7)).thenReturn(Optional.empty());
+
+		assertThrows(EmployeeNotFoundException.class, () -> service.findEmployeeById(7));
+		assertThrows(EmployeeNotFoundException.class, () -> service.findEmployeeById(7));
+
+		verify(repo, times(1)).findById(7);
+	}
+
+	@Test
+	void testAddEmployee_dropsCachedMissAndLeavesFillToTheNextRead() {
+		when(repo.findById(1)).thenReturn(Optional.empty(), Optional.of(e));
+		when(repo.saveAndFlush(any(Employee.class))).thenReturn(e);
+
+		assertThrows(EmployeeNotFoundException.class, () -> service.findEmployeeById(1));
+		service.addEmployee(e);
+		assertEquals("Tulasi", service.findEmployeeById(1).getName());
+
+		verify(repo, times(2)).findById(1);
+		verify(cache, never()).put(any(Employee.class));
+	}
+
+	@Test
+	void testUpdateEmployee_invalidatesCache() {
+		when(repo.findById(1)).thenReturn(Optional.of(e));
+		when(repo.updateById(1, "Tulasi", "HR", 6000.0, "tulasi@example.com", "9876543210")).thenReturn(1);
+
+		service.findEmployeeById(1);
+		service.updateEmployee(1, e);
+		service.findEmployeeById(1);
+
+		verify(repo, times(2)).findById(1);
+		verify(cache, times(1)).invalidate(1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testUpsertEmployeeByEmail_created() {
+		when(repo.upsertByEmail(any(List.class))).thenAnswer(inv -> {
+			((List<Employee>) inv.getArgument(0)).get(0).setId(51);
+			return new boolean[] { true };
+		});
+		Employee body = new Employee(0, "Tulasi", "HR", 6000.0, null, "9876543210");
+
+		UpsertResult result = service.upsertEmployeeByEmail("tulasi@example.com", body);
+
+		assertTrue(result.created());
+		assertEquals(51, result.employee().getId());
+		assertEquals("tulasi@example.com", result.employee().getEmail());
+		verify(cache, times(1)).invalidate(51);
+		verify(events, times(1)).publishEvent(EmployeeChangedEvent.created(result.employee()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testUpsertEmployeeByEmail_updated() {
+		when(repo.upsertByEmail(any(List.class))).thenAnswer(inv -> {
+			Employee row = ((List<Employee>) inv.getArgument(0)).get(0);
+			row.setId(1);
+			row.setVersion(3);
+			return new boolean[] { false };
+		});
+
+		UpsertResult result = service.upsertEmployeeByEmail("tulasi@example.com", e);
+
+		assertFalse(result.created());
+		assertEquals(3, result.employee().getVersion());
+		verify(events, times(1)).publishEvent(EmployeeChangedEvent.updated(result.employee()));
+		verify(repo, never()).save(any(Employee.class));
+	}
+
+	@Test
+	void testUpsertEmployeeByEmail_bodyEmailMismatch() {
+		assertThrows(InvalidEmployeeRequestException.class,
+				() -> service.upsertEmployeeByEmail("someone.else@example.com", e));
+		verify(repo, never()).upsertByEmail(any());
+	}
+
+	@Test
+	void testFindEmployeesByIds_keepsRequestedOrder() {
+		Employee other = new Employee(2, "Krishna", "Dev", 8000.0, "krishna@gmail.com", "8888888888");
+		Employee third = new Employee(3, "Ravi", "Dev", 7000.0, "ravi@gmail.com", "7777777777");
+		cache.put(third);
+		when(repo.findAllById(List.of(2, 9, 1))).thenReturn(List.of(e, other));
+
+		List<Employee> result = service.findEmployeesByIds(List.of(2, 3, 9, 1, 2));
+
+		assertEquals(List.of(2, 3, 1), result.stream().map(Employee::getId).toList());
+		verify(repo, times(1)).findAllById(List.of(2, 9, 1));
+		// unknown id is now cached as missing
+		assertThrows(EmployeeNotFoundException.class, () -> service.findEmployeeById(9));
+		verify(repo, never()).findById(9);
+	}
+
+	@Test
+	void testFindEmployeesByIds_tooMany() {
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i <= EmployeeService.MAX_BATCH_IDS; i++) {
+			ids.add(i);
+		}
+
+		assertThrows(InvalidEmployeeRequestException.class, () -> service.findEmployeesByIds(ids));
+		verify(repo, never()).findAllById(any());
+	}
+
+	@Test
+	void testFindEmployeeById_coalesced() {
+		when(coalescer.isEnabled()).thenReturn(true);
+		when(coalescer.load(1)).thenReturn(Optional.of(e));
+
+		assertEquals("Tulasi", service.findEmployeeById(1).getName());
+
+		verify(repo, never()).findById(1);
+	}
+	@Test
+	void testFindEmployeeById_recentWriteSkipsCoalescer() {
+		lenient().when(coalescer.isEnabled()).thenReturn(true);
+		when(readYourWrites.recentlyWritten(1)).thenReturn(true);
+		when(repo.findById(1)).thenReturn(Optional.of(e));
+
+		assertEquals("Tulasi", service.findEmployeeById(1).getName());
+		verify(coalescer,never()).load(1);
+	}
+
+	@Test
+	void testGetAllEmployees_sucess() {
+		List<Employee> list = Arrays.asList(new Employee(1, "Tulasi", "HR", 6000.0, "tulasi@gmail.com", "9999999999"),
+				 new Employee(2, "Krishna", "Dev", 8000.0, "krishna@gmail.com", "8888888888"));
+			
+		
+		when(repo.findAll()).thenReturn(list);
+		
+		List<Employee> result = service.getAllEmployees();
+		
+		assertEquals(2, result.size());
+		verify(repo,times(1)).findAll();
+		
+		
+	}
+	@Test
+	void testGetAllEmployees_Failure() {
+		when(repo.findAll()).thenReturn(Collections.emptyList());
+		
+		EmployeeNotFoundException ex = assertThrows(EmployeeNotFoundException.class,()->{
+			service.getAllEmployees();
+		});
+		assertEquals("No employees found", ex.getMessage());
+		verify(repo,times(1)).findAll();
+	}
+	
+	@Test
+	void testGetAllEmployees_failure_databaseError() {
+	    when(repo.findAll()).thenThrow(new DataAccessResourceFailureException("Database connection failed"));
+
+	    DataAccessResourceFailureException ex = assertThrows(DataAccessResourceFailureException.class, () -> {
+	        service.getAllEmployees();
+	    });
+
+	    assertTrue(ex.getMessage().contains("Database connection failed"));
+	    verify(repo, times(1)).findAll();
+	}
+
+	@Test
+	void testGetEmployeesPage_hasNext() {
+		List<Employee> rows = Arrays.asList(new Employee(5, "Tulasi", "HR", 6000.0, "tulasi@gmail.com", "9999999999"),
+				new Employee(6, "Krishna", "Dev", 8000.0, "krishna@gmail.com", "8888888888"),
+				new Employee(7, "Ravi", "Dev", 7000.0, "ravi@gmail.com", "7777777777"));
+
+		when(repo.findByIdGreaterThanOrderByIdAsc(4, Limit.of(3))).thenReturn(rows);
+
+		EmployeePage page = service.getEmployeesPage(4, 2);
+
+		assertEquals(2, page.items().size());
+		assertEquals(6, page.nextCursor());
+	}
+
+	@Test
+	void testGetEmployeesPage_lastPage() {
+		when(repo.findByIdGreaterThanOrderByIdAsc(4, Limit.of(3))).thenReturn(List.of(e));
+
+		EmployeePage page = service.getEmployeesPage(4, 2);
+
+		assertEquals(1, page.items().size());
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void testGetEmployeesPage_limitIsCapped() {
+		when(repo.findByIdGreaterThanOrderByIdAsc(0, Limit.of(EmployeeService.MAX_PAGE_SIZE + 1)))
+				.thenReturn(Collections.emptyList());
+
+		EmployeePage page = service.getEmployeesPage(0, 1_000_000);
+
+		assertTrue(page.items().isEmpty());
+		verify(repo, times(1)).findByIdGreaterThanOrderByIdAsc(0, Limit.of(EmployeeService.MAX_PAGE_SIZE + 1));
+	}
+
+	@Test
+	void testGetEmployeeFieldsPage_idFirstAndNextCursor() {
+		List<Map<String, Object>> rows = List.of(Map.of("id", 5, "name", "Tulasi"), Map.of("id", 6, "name", "Ravi"));
+		when(repo.findFieldsByIdGreaterThan(List.of("id", "name"), 0, 2)).thenReturn(rows);
+
+		EmployeeFieldsPage page = service.getEmployeeFieldsPage(List.of("name", "id", " name"), 0, 1);
+
+		assertEquals(1, page.items().size());
+		assertEquals(5, page.nextCursor());
+	}
+	@Test
+	void testGetEmployeeFieldsPage_unknownField() {
+		assertThrows(InvalidEmployeeRequestException.class,
+				() -> service.getEmployeeFieldsPage(List.of("name", "version"), 0, 10));
+		verify(repo,never()).findFieldsByIdGreaterThan(any(), any(Integer.class), any(Integer.class));
+	}
+	@Test
+	@SuppressWarnings("unchecked")
+	void testSearchEmployees_hasNext() {
+		List<Employee> rows = Arrays.asList(new Employee(5, "Tulasi", "HR", 6000.0, "tulasi@gmail.com", "9999999999"),
+				new Employee(8, "Tarun", "HR", 8000.0, "tarun@gmail.com", "8888888888"));
+
+		when(repo.findBy(any(Specification.class), any(Function.class))).thenReturn(rows);
+
+		EmployeePage page = service.searchEmployees(new EmployeeSearch("HR", null, null, null, "T"), 0, 1);
+
+		assertEquals(1, page.items().size());
+		assertEquals(5, page.nextCursor());
+	}
+	@Test
+	void testSearchEmployees_invalidSalaryRange() {
+		EmployeeSearch search = new EmployeeSearch(null, 9000.0, 1000.0, null, null);
+
+		assertThrows(InvalidEmployeeRequestException.class, () -> service.searchEmployees(search, 0, 10));
+		verify(repo,never()).findAll();
+	}
+	@Test
+	void testExportEmployees_detachesEachRow() {
+		Employee other = new Employee(2, "Krishna", "Dev", 8000.0, "krishna@gmail.com", "8888888888");
+		when(repo.streamAllOrderById()).thenReturn(Stream.of(e, other));
+		List<String> names = new ArrayList<>();
+
+		long count = service.exportEmployees(emp -> names.add(emp.getName()));
+
+		assertEquals(2, count);
+		assertEquals(List.of("Tulasi", "Krishna"), names);
+		verify(entityManager, times(1)).detach(e);
+		verify(entityManager, times(1)).detach(other);
+	}
+
+	@Test
+	void testDeleteEmployee_sucess() {
+		when(repo.deleteEmployeeById(1)).thenReturn(1);
+		
+		service.deleteEmployee(1);
+		
+		verify(repo,never()).findById(1);
+		verify(repo,times(1)).deleteEmployeeById(1);
+		verify(cache,times(1)).invalidate(1);
+		verify(events,times(1)).publishEvent(EmployeeChangedEvent.deleted(1));
+	}
+	@Test
+	void testDeleteEmployee_failure() {
+		when(repo.deleteEmployeeById(1)).thenReturn(0);
+		
+		EmployeeNotFoundException ex = assertThrows(EmployeeNotFoundException.class,()->{
+			service.deleteEmployee(1);
+		});
+		
+		assertEquals("Employee not found with id1",ex.getMessage());
+		verify(repo,never()).findById(1);
+		verify(cache,never()).invalidate(1);
+	}
+	@Test
+	void testDeleteEmployee_versionOnMissingRow() {
+		when(repo.deleteEmployeeByIdAndVersion(1, 2L)).thenReturn(0);
+		when(repo.existsById(1)).thenReturn(false);
+
+		assertThrows(EmployeeNotFoundException.class, () -> service.deleteEmployee(1, 2L));
+	}
+
+}
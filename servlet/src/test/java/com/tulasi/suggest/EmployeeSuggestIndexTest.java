@@ -0,0 +1,79 @@
+package com.tulasi.suggest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tulasi.dto.SuggestRow;
+import com.tulasi.dto.Suggestion;
+import com.tulasi.entity.Employee;
+import com.tulasi.event.EmployeeChangedEvent;
+import com.tulasi.exception.InvalidEmployeeRequestException;
+import com.tulasi.repo.EmployeeRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeSuggestIndexTest {
+
+	private EmployeeRepo repo;
+	private SimpleMeterRegistry registry;
+	private EmployeeSuggestIndex index;
+
+	@BeforeEach
+	void setup() {
+		repo = mock(EmployeeRepo.class);
+		registry = new SimpleMeterRegistry();
+		index = new EmployeeSuggestIndex(repo, mock(PlatformTransactionManager.class), registry);
+		when(repo.streamSuggestRows()).thenReturn(Stream.of(
+				new SuggestRow(1, "Tulasi", "tulasi@example.com"),
+				new SuggestRow(2, "Ravi", null)));
+		index.build();
+	}
+
+	@Test
+	void testBuildIndexesNamesAndEmails() {
+		assertEquals(List.of(new Suggestion(1, "name", "Tulasi"), new Suggestion(1, "email", "tulasi@example.com")),
+				index.suggest("tu", 10));
+		assertEquals(3, index.size());
+		assertEquals(3, registry.get("employee.suggest.entries").gauge().value());
+		assertTrue(registry.get("employee.suggest.memory.per.entry").gauge().value() > 0);
+	}
+
+	@Test
+	void testFollowsWrites() {
+		index.onEmployeeChanged(EmployeeChangedEvent.created(
+				new Employee(3, "Tarun", "IT", 5000.0, "tarun@example.com", null)));
+		index.onEmployeeChanged(EmployeeChangedEvent.patched(
+				new Employee(1, "Anu", null, null, null, null)));
+		index.onEmployeeChanged(EmployeeChangedEvent.deleted(2));
+
+		assertEquals(List.of("Tarun", "tarun@example.com", "tulasi@example.com"), values(index.suggest("t", 10)));
+		assertEquals(List.of("Anu"), values(index.suggest("a", 10)));
+		assertEquals(List.of(), index.suggest("ravi", 10));
+	}
+
+	@Test
+	void testRejectsBlankQueryAndCapsLimit() {
+		assertThrows(InvalidEmployeeRequestException.class, () -> index.suggest(" ", 10));
+		for (int id = 10; id < 100; id++) {
+			index.onEmployeeChanged(EmployeeChangedEvent.created(
+					new Employee(id, "Name" + id, "IT", 5000.0, null, null)));
+		}
+		assertEquals(EmployeeSuggestIndex.MAX_LIMIT, index.suggest("name", 1000).size());
+		assertEquals(1, index.suggest("name", 0).size());
+	}
+
+	private static List<String> values(List<Suggestion> suggestions) {
+		return suggestions.stream().map(Suggestion::value).toList();
+	}
+
+}
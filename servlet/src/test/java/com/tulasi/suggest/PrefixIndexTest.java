@@ -0,0 +1,77 @@
+package com.tulasi.suggest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tulasi.dto.Suggestion;
+
+class PrefixIndexTest {
+
+	@Test
+	void testFindIsPrefixOnlyOrderedAndCaseInsensitive() {
+		PrefixIndex index = new PrefixIndex.Builder()
+				.add(3, PrefixIndex.NAME, "Ravi Kumar")
+				.add(3, PrefixIndex.EMAIL, "ravi@example.com")
+				.add(1, PrefixIndex.NAME, "Tulasi")
+				.add(1, PrefixIndex.EMAIL, "tulasi@example.com")
+				.add(2, PrefixIndex.NAME, "raghu")
+				.add(4, PrefixIndex.NAME, "Krishna Ravi")
+				.build();
+
+		assertEquals(List.of("raghu", "Ravi Kumar", "ravi@example.com"), values(index.find("RA", 10)));
+		assertEquals(List.of(new Suggestion(3, "name", "Ravi Kumar"), new Suggestion(3, "email", "ravi@example.com")),
+				index.find("ravi", 10));
+		assertEquals(List.of("raghu"), values(index.find("r", 1)));
+		assertEquals(List.of(), index.find("ravindra", 10));
+		assertEquals(List.of(), index.find("zz", 10));
+	}
+
+	@Test
+	void testWritesAreVisibleBeforeAndAfterCompaction() {
+		PrefixIndex.Builder builder = new PrefixIndex.Builder();
+		for (int id = 1; id <= 100; id++) {
+			builder.add(id, PrefixIndex.NAME, "emp" + id);
+		}
+		PrefixIndex index = builder.build();
+
+		index.put(5, PrefixIndex.NAME, "Zara");
+		index.put(200, PrefixIndex.NAME, "emp-new");
+		index.remove(7);
+		assertEquals(List.of("Zara"), values(index.find("z", 10)));
+		assertEquals(List.of("emp-new", "emp1", "emp10"), values(index.find("emp", 3)));
+		assertTrue(index.find("emp7", 10).stream().noneMatch(s -> s.id() == 7));
+		assertTrue(index.find("emp5", 10).stream().noneMatch(s -> s.id() == 5));
+
+		// enough writes to fold the pending entries into the sorted base
+		for (int i = 0; i < 2000; i++) {
+			index.put(1000 + i, PrefixIndex.EMAIL, "user" + i + "@example.com");
+		}
+		assertEquals(List.of("Zara"), values(index.find("Z", 10)));
+		assertEquals(List.of("emp-new", "emp1", "emp10"), values(index.find("emp", 3)));
+		assertEquals(2000, index.find("user", 5000).size());
+		assertEquals(100 - 2 + 2 + 2000, index.find("", 5000).size());
+	}
+
+	@Test
+	void testMemoryPerEntryIsTheValueBytesPlusFixedCost() {
+		PrefixIndex.Builder builder = new PrefixIndex.Builder();
+		for (int id = 1; id <= 10_000; id++) {
+			builder.add(id, PrefixIndex.NAME, "employee" + id);
+		}
+		PrefixIndex index = builder.build();
+
+		assertEquals(10_000, index.size());
+		double perEntry = index.memoryBytesPerEntry();
+		// 9-13 bytes of text, 4 offset, 4 id, 1 field
+		assertTrue(perEntry > 17 && perEntry < 23, "bytes per entry: " + perEntry);
+	}
+
+	private static List<String> values(List<Suggestion> suggestions) {
+		return suggestions.stream().map(Suggestion::value).toList();
+	}
+
+}